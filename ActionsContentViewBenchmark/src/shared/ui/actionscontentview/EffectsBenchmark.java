@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of applying every sample effect for one frame, evaluated and baked.
+ * @author steven
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EffectsBenchmark {
+  private static final int WIDTH = 432;
+  private static final int HEIGHT = 800;
+  private static final int PARENT_WIDTH = 480;
+  private static final int PARENT_HEIGHT = 800;
+
+  /**
+   * Step of factor between operations, so every operation applies effect at new factor.
+   */
+  private static final float FACTOR_STEP = 1f / 97;
+
+  @Param({
+    SampleEffects.ALPHA_CONTENT, SampleEffects.BOUNCE_CONTENT, SampleEffects.DURATION_CONTENT,
+    SampleEffects.OVERSHOT_CONTENT, SampleEffects.PARALAX_ACTIONS, SampleEffects.REPLACE_ACTIONS,
+    SampleEffects.REPLACE_CONTENT,
+  })
+  public String effect;
+
+  @Param({ "false", "true" })
+  public boolean baked;
+
+  private final EffectsController mController = new EffectsController();
+  private float mFactor;
+
+  @Setup
+  public void setUp() {
+    mController.setEffects(SampleEffects.create(effect));
+    mController.initialize(WIDTH, HEIGHT, PARENT_WIDTH, PARENT_HEIGHT);
+    mController.setBaked(baked);
+    mFactor = 0f;
+  }
+
+  @Benchmark
+  public float apply() {
+    mFactor += FACTOR_STEP;
+    if (mFactor > 1f)
+      mFactor -= 1f;
+
+    mController.apply(mFactor, EffectsController.EFFECT_OPEN);
+    return mController.getEffectsAlpha();
+  }
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.view.animation.Animation;
+import android.view.animation.Interpolator;
+import android.view.animation.Transformation;
+
+/**
+ * Effects of example application (res/anim of ActionsContentViewExample) built from
+ * effects of library, so they can be applied without animation framework.
+ * Interpolators follow formulas of Android ones.
+ * @author steven
+ *
+ */
+final class SampleEffects {
+  public static final String ALPHA_CONTENT = "alpha_content";
+  public static final String BOUNCE_CONTENT = "bounce_content";
+  public static final String DURATION_CONTENT = "duration_content";
+  public static final String OVERSHOT_CONTENT = "overshot_content";
+  public static final String PARALAX_ACTIONS = "paralax_actions";
+  public static final String REPLACE_ACTIONS = "replace_actions";
+  public static final String REPLACE_CONTENT = "replace_content";
+
+  public static final String[] NAMES = {
+    ALPHA_CONTENT, BOUNCE_CONTENT, DURATION_CONTENT, OVERSHOT_CONTENT,
+    PARALAX_ACTIONS, REPLACE_ACTIONS, REPLACE_CONTENT,
+  };
+
+  private static final Interpolator ACCELERATE = new Interpolator() {
+    @Override
+    public float getInterpolation(float input) {
+      return input * input;
+    }
+  };
+
+  private static final Interpolator ACCELERATE_DECELERATE = new Interpolator() {
+    @Override
+    public float getInterpolation(float input) {
+      return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+    }
+  };
+
+  private static final Interpolator BOUNCE = new Interpolator() {
+    private float bounce(float t) {
+      return t * t * 8.0f;
+    }
+
+    @Override
+    public float getInterpolation(float t) {
+      t *= 1.1226f;
+      if (t < 0.3535f)
+        return bounce(t);
+      else if (t < 0.7408f)
+        return bounce(t - 0.54719f) + 0.7f;
+      else if (t < 0.9644f)
+        return bounce(t - 0.8526f) + 0.9f;
+      else
+        return bounce(t - 1.0435f) + 0.95f;
+    }
+  };
+
+  private static final Interpolator OVERSHOOT = new Interpolator() {
+    private static final float TENSION = 2.0f;
+
+    @Override
+    public float getInterpolation(float t) {
+      t -= 1.0f;
+      return t * t * ((TENSION + 1) * t + TENSION) + 1.0f;
+    }
+  };
+
+  private SampleEffects() {
+  }
+
+  /**
+   * Creates sample effect.
+   * @param name - one of {@link #NAMES}.
+   * @return new effect, it should be initialized before applying.
+   */
+  public static Effect create(String name) {
+    if (ALPHA_CONTENT.equals(name)) {
+      final EffectSet set = new EffectSet();
+      set.addEffect(translateSelf(0f, -1f, null));
+      set.addEffect(new AlphaEffect(1f, 0.15f));
+      return set;
+    }
+    if (BOUNCE_CONTENT.equals(name)) {
+      final EffectSet set = new EffectSet();
+      set.addEffect(translateSelf(0f, -1f, ACCELERATE_DECELERATE));
+      set.addEffect(translateSelf(0f, 1f, BOUNCE));
+      return set;
+    }
+    if (DURATION_CONTENT.equals(name)) {
+      final ScaleEffect scale = new ScaleEffect(1f, 0f, 1f, 1f,
+          Animation.RELATIVE_TO_SELF, 1f, Animation.ABSOLUTE, 0f);
+      scale.setInterpolator(ACCELERATE);
+      final EffectSet set = new EffectSet();
+      set.addEffect(translateSelf(0f, -1f, ACCELERATE));
+      set.addEffect(new TimedEffect(scale, 200, 400, 600));
+      return set;
+    }
+    if (OVERSHOT_CONTENT.equals(name)) {
+      final EffectSet set = new EffectSet();
+      set.addEffect(translateSelf(0f, -1f, null));
+      set.addEffect(new TimedEffect(translateSelf(0f, 1f, OVERSHOOT), 500, 2500, 3000));
+      return set;
+    }
+    if (PARALAX_ACTIONS.equals(name)) {
+      final TranslateEffect translate = new TranslateEffect(0f, -200f, 0f, 0f);
+      translate.setInterpolator(ACCELERATE_DECELERATE);
+      return translate;
+    }
+    if (REPLACE_ACTIONS.equals(name))
+      return replace(-100f);
+    if (REPLACE_CONTENT.equals(name))
+      return replace(100f);
+
+    throw new IllegalArgumentException("Unknown effect: " + name);
+  }
+
+  private static TranslateEffect translateSelf(float fromX, float toX, Interpolator interpolator) {
+    final TranslateEffect translate = new TranslateEffect(Animation.RELATIVE_TO_SELF, fromX, Animation.RELATIVE_TO_SELF, toX,
+        Animation.ABSOLUTE, 0f, Animation.ABSOLUTE, 0f);
+    translate.setInterpolator(interpolator);
+    return translate;
+  }
+
+  private static Effect replace(float toX) {
+    final TranslateEffect translate = new TranslateEffect(0f, toX, 0f, 0f);
+    translate.setInterpolator(ACCELERATE_DECELERATE);
+    final ScaleEffect scale = new ScaleEffect(1f, 0.5f, 1f, 0.5f,
+        Animation.RELATIVE_TO_SELF, 0.25f, Animation.RELATIVE_TO_SELF, 0.5f);
+    scale.setInterpolator(ACCELERATE_DECELERATE);
+
+    final EffectSet set = new EffectSet();
+    set.addEffect(translate);
+    set.addEffect(scale);
+    return set;
+  }
+
+  /**
+   * Applies effect only within part of total time, like animation with start offset
+   * and duration inside of animation set.
+   */
+  private static class TimedEffect implements Effect {
+    private final Effect mEffect;
+    private final long mStartOffset;
+    private final long mDuration;
+    private final long mTotalTime;
+
+    public TimedEffect(Effect effect, long startOffset, long duration, long totalTime) {
+      mEffect = effect;
+      mStartOffset = startOffset;
+      mDuration = duration;
+      mTotalTime = totalTime;
+    }
+
+    @Override
+    public void initialize(int width, int height, int parentWidth, int parentHeight) {
+      mEffect.initialize(width, height, parentWidth, parentHeight);
+    }
+
+    @Override
+    public void apply(float factor, Transformation t) {
+      final long time = (int) (mTotalTime * factor);
+      if (time < mStartOffset || time > mStartOffset + mDuration)
+        return;
+
+      mEffect.apply((float) (time - mStartOffset) / mDuration, t);
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of movement math done for every content move: scroll factor, clamping
+ * of scroll distance and resolution of effects flags.
+ * @author steven
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawerMotionBenchmark {
+  private static final int RIGHT_BOUND = 600;
+
+  private int mPosition = 0;
+  private int mDx = -7;
+  private int mFlags = 0;
+
+  @Benchmark
+  public float scrollFactor() {
+    mPosition = mPosition <= -RIGHT_BOUND ? 0 : mPosition - 1;
+    return DrawerMotion.getScrollFactor(mPosition, RIGHT_BOUND);
+  }
+
+  @Benchmark
+  public int clampScroll() {
+    // content bounces between bounds, so both clamped and free moves are measured
+    final int dx = DrawerMotion.clampScroll(mPosition, mDx, RIGHT_BOUND);
+    mPosition += dx;
+    if (dx != mDx)
+      mDx = -mDx;
+    return dx;
+  }
+
+  @Benchmark
+  public boolean effectsFlags() {
+    final int flags = mFlags++;
+    return DrawerMotion.isEffectsEnabled(flags & DrawerMotion.EFFECTS_ALL, (flags & 0x10) != 0, (flags & 0x20) != 0);
+  }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of moving content by finger: swipe distance accumulation, clamping
+ * and scrolling of {@link DrawerStateMachine}.
+ * @author steven
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DrawerStateMachineBenchmark {
+  private static final int RIGHT_BOUND = 600;
+  private static final float SPRING_OMEGA = 30f;
+
+  private DrawerStateMachine mDrawer;
+  private float mDistance = -7.5f;
+  private int mPosition;
+
+  @Setup
+  public void setUp() {
+    mDrawer = new DrawerStateMachine(new Host(), new ContentScroller(null), new ContentScroller(null), SPRING_OMEGA);
+    mDrawer.init(0);
+    mDrawer.onDown();
+  }
+
+  @Benchmark
+  public int swipe() {
+    // content bounces between bounds, so both clamped and free moves are measured
+    final int dx = mDrawer.onSwipe(mDistance);
+    if (dx == 0)
+      mDistance = -mDistance;
+    return dx + mPosition;
+  }
+
+  /**
+   * Host which only keeps last position content was moved to.
+   */
+  private class Host implements DrawerStateMachine.Host {
+    @Override
+    public int getRightBound() {
+      return RIGHT_BOUND;
+    }
+
+    @Override
+    public boolean isLaidOut() {
+      return true;
+    }
+
+    @Override
+    public int getEffects() {
+      return DrawerMotion.EFFECTS_ALL;
+    }
+
+    @Override
+    public boolean isSpringSettle() {
+      return true;
+    }
+
+    @Override
+    public int getSettleDuration() {
+      return 250;
+    }
+
+    @Override
+    public void onPositionChanged(int position) {
+      mPosition = position;
+    }
+
+    @Override
+    public void onDragStarted() {
+    }
+
+    @Override
+    public void onSettleStarted(boolean isContentShown, long startTime) {
+    }
+
+    @Override
+    public void onScrollFinished() {
+    }
+
+    @Override
+    public void onSettleFinished(boolean isContentShown) {
+    }
+
+    @Override
+    public void postFrame() {
+    }
+
+    @Override
+    public void cancelFrame() {
+    }
+  }
+}
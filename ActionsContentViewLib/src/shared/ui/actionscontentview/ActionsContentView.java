@@ -15,23 +15,36 @@
  ******************************************************************************/
 package shared.ui.actionscontentview;
 
+import java.io.PrintWriter;
+
+import shared.ui.actionscontentview.core.ContentScroller;
+import shared.ui.actionscontentview.core.DrawerMotion;
+import shared.ui.actionscontentview.core.DrawerStateMachine;
+import shared.ui.actionscontentview.core.ScrollInterpolator;
+import shared.ui.actionscontentview.core.SwipeTracker;
+
 import android.annotation.SuppressLint;
+import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
 import android.graphics.Rect;
+import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.util.Log;
-import android.view.GestureDetector;
+import android.view.Display;
 import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+import android.view.WindowManager;
 import android.view.animation.AnimationUtils;
 import android.view.animation.Interpolator;
 import android.widget.LinearLayout;
-import android.widget.Scroller;
 
 public class ActionsContentView extends ViewGroup {
   private static final String TAG = ActionsContentView.class.getSimpleName();
@@ -43,16 +56,64 @@ public class ActionsContentView extends ViewGroup {
     public void onContentStateInAction(ActionsContentView v, boolean isContentShowing);
   }
 
-  private static final int FLING_MIN = 1000;
+  public interface OnFrameStatsListener {
+    /**
+     * Called after every frame while frame stats are enabled.
+     * @param v - view stats are collected for.
+     * @param stats - stats of frame. Object is reused, so it is valid during this call only.
+     */
+    public void onFrameStats(ActionsContentView v, FrameStats stats);
+  }
+
+  public interface OnDrawerMetricsListener {
+    /**
+     * Called after every swipe gesture and programmatic transition of content.
+     * @param v - view metrics are collected for.
+     * @param metrics - metrics of transition. Object is reused, so it is valid during this call only.
+     */
+    public void onDrawerMetrics(ActionsContentView v, DrawerMetrics metrics);
+  }
+
+  /**
+   * Frame budget used until display refresh rate is known.
+   */
+  private static final long DEFAULT_FRAME_BUDGET = 1000000000L / 60;
+
+  /**
+   * Finger position is resampled that long before frame time, so it is
+   * interpolated between real samples most of the time.
+   */
+  private static final long RESAMPLE_LATENCY_MS = 5;
+  /**
+   * Max time finger position is extrapolated for while resampling.
+   */
+  private static final long RESAMPLE_MAX_PREDICTION_MS = 8;
+  /**
+   * Finger position is predicted that long after frame time.
+   */
+  private static final long PREDICTION_MS = 8;
+  /**
+   * Max time finger position is extrapolated for while predicting.
+   */
+  private static final long PREDICTION_MAX_MS = 16;
+  /**
+   * Natural frequency of settle spring in radians per second.
+   */
+  private static final float SPRING_OMEGA = 30f;
+
+  /**
+   * Weight of new value in average touch lag.
+   */
+  private static final float TOUCH_LAG_SMOOTHING = 0.1f;
 
   /**
    * Spacing will be calculated as offset from right bound of view.
    */
-  public static final int SPACING_RIGHT_OFFSET = 0;
+  public static final int SPACING_RIGHT_OFFSET = DrawerMotion.SPACING_RIGHT_OFFSET;
   /**
    * Spacing will be calculated as right bound of actions bar container.
    */
-  public static final int SPACING_ACTIONS_WIDTH = 1;
+  public static final int SPACING_ACTIONS_WIDTH = DrawerMotion.SPACING_ACTIONS_WIDTH;
 
   /**
    * Fade is disabled.
@@ -80,17 +141,50 @@ public class ActionsContentView extends ViewGroup {
    */
   public static final int SWIPING_EDGE = 1;
 
-  public static final int EFFECTS_NONE = 0;
-  public static final int EFFECTS_SCROLL_OPENING = 1 << 0;
-  public static final int EFFECTS_SCROLL_CLOSING = 1 << 1;
-  public static final int EFFECTS_SCROLL = EFFECTS_SCROLL_OPENING | EFFECTS_SCROLL_CLOSING;
-  public static final int EFFECTS_FLING_OPENING = 1 << 2;
-  public static final int EFFECTS_FLING_CLOSING = 1 << 3;
-  public static final int EFFECTS_FLING = EFFECTS_FLING_OPENING | EFFECTS_FLING_CLOSING;
-  public static final int EFFECTS_ALL = EFFECTS_SCROLL | EFFECTS_FLING;
+  /**
+   * Content container is moved by scrolling its content.
+   */
+  public static final int MOVEMENT_SCROLL = 0;
+  /**
+   * Content container is moved by translation property, so its children are not redrawn
+   * while moving. Available from Android 3.0, scrolling is used on older versions.
+   */
+  public static final int MOVEMENT_TRANSLATION = 1;
+
+  /**
+   * Content follows every touch event as it arrives.
+   */
+  public static final int TOUCH_RESAMPLING_NONE = 0;
+  /**
+   * Content follows finger position resampled to display frame time.
+   */
+  public static final int TOUCH_RESAMPLING_FRAME = 1;
+  /**
+   * Content follows finger position predicted for short time after display frame time.
+   */
+  public static final int TOUCH_RESAMPLING_PREDICT = 2;
+
+  /**
+   * Content settles to bound for fling duration.
+   */
+  public static final int SETTLE_DURATION = 0;
+  /**
+   * Content settles to bound by spring seeded with finger velocity.
+   * Fling duration is used as max duration of settling.
+   */
+  public static final int SETTLE_SPRING = 1;
+
+  public static final int EFFECTS_NONE = DrawerMotion.EFFECTS_NONE;
+  public static final int EFFECTS_SCROLL_OPENING = DrawerMotion.EFFECTS_SCROLL_OPENING;
+  public static final int EFFECTS_SCROLL_CLOSING = DrawerMotion.EFFECTS_SCROLL_CLOSING;
+  public static final int EFFECTS_SCROLL = DrawerMotion.EFFECTS_SCROLL;
+  public static final int EFFECTS_FLING_OPENING = DrawerMotion.EFFECTS_FLING_OPENING;
+  public static final int EFFECTS_FLING_CLOSING = DrawerMotion.EFFECTS_FLING_CLOSING;
+  public static final int EFFECTS_FLING = DrawerMotion.EFFECTS_FLING;
+  public static final int EFFECTS_ALL = DrawerMotion.EFFECTS_ALL;
 
   private final ContentScrollController mScrollController;
-  private final GestureDetector mGestureDetector;
+  private final SwipeDetector mSwipeDetector;
 
   private final View viewShadow;
   private final ActionsLayout viewActionsContainer;
@@ -142,6 +236,98 @@ public class ActionsContentView extends ViewGroup {
    */
   private int mSwipeEdgeWidth;
 
+  /**
+   * Type of content container movement.
+   */
+  private int mMovementType = MOVEMENT_SCROLL;
+
+  /**
+   * Type of settling to bound.
+   */
+  private int mSettleType = SETTLE_SPRING;
+
+  /**
+   * Indicates whether layout of containers should be frozen while content is moving.
+   */
+  private boolean isLayoutFreezeEnabled = false;
+  /**
+   * Indicates whether layout of containers is frozen because content is moving.
+   */
+  private boolean isMovementLayoutFrozen = false;
+
+  /**
+   * Indicates whether actions container is not drawn while content fully covers it.
+   */
+  private boolean isOccludedActionsSkipped = false;
+  /**
+   * Indicates whether layout requests of actions container are deferred while it is not drawn.
+   */
+  private boolean isOccludedActionsLayoutDeferred = false;
+  /**
+   * Indicates whether actions container is covered by content and is not drawn now.
+   */
+  private boolean isActionsOccluded = false;
+
+  /**
+   * Clock frames of auto-scrolling are stepped by, null to use display frames.
+   */
+  private VirtualFrameClock mFrameClock;
+
+  /**
+   * Type of finger position resampling while swiping.
+   */
+  private int mTouchResampling = TOUCH_RESAMPLING_NONE;
+  /**
+   * Average time in milliseconds between finger sample content follows and pre-draw pass
+   * content position is applied at.
+   */
+  private float mTouchLag = 0f;
+  /**
+   * Indicates whether content was moved to new finger sample since scroll factor was applied.
+   */
+  private boolean isTouchSampleApplied = false;
+
+  /**
+   * Values of last processed touch event used to skip its second delivery.
+   */
+  private int mLastTouchAction = -1;
+  private long mLastTouchEventTime;
+  private long mLastTouchDownTime;
+  private boolean isLastTouchHandled = false;
+  /**
+   * Counters of touch events delivered to this view and processed by it.
+   */
+  private int mTouchEventsReceived = 0;
+  private int mTouchEventsProcessed = 0;
+
+  /**
+   * Indicates whether scroll factor was changed and effects should be updated before next drawing.
+   */
+  private boolean isScrollFactorDirty = false;
+
+  /**
+   * Runs pre-draw work before drawing pass of display frames.
+   */
+  private final ViewTreeObserver.OnPreDrawListener mPreDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+    @Override
+    public boolean onPreDraw() {
+      // traversal callback of clock does this work while clock is set
+      if (mFrameClock == null)
+        doPreDraw();
+      return true;
+    }
+  };
+
+  /**
+   * Runs pre-draw work in traversal phase of frames stepped by clock.
+   */
+  private final VirtualFrameClock.FrameCallback mClockTraversalCallback = new VirtualFrameClock.FrameCallback() {
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      doPreDraw();
+    }
+  };
+
   /**
    * Indicates whether refresh of content position should be done on next layout calculation.
    */
@@ -151,6 +337,75 @@ public class ActionsContentView extends ViewGroup {
 
   private OnActionsContentListener mOnActionsContentListener;
 
+  /**
+   * Stats of current frame, null if stats are disabled.
+   */
+  private FrameStats mFrameStats;
+  private OnFrameStatsListener mOnFrameStatsListener;
+  private boolean isFrameEndPosted = false;
+
+  /**
+   * Recorder of processed touch events, null if they are not recorded.
+   */
+  private GestureRecorder mGestureRecorder;
+  /**
+   * Finishes frame stats and metrics once drawing pass is done.
+   */
+  private final Runnable mFrameEndRunnable = new Runnable() {
+    @Override
+    public void run() {
+      if (!isFrameEndPosted)
+        return;
+
+      isFrameEndPosted = false;
+      final long now = System.nanoTime();
+      // frame is finished before listeners are called, so their allocations are not counted
+      if (mFrameStats != null)
+        mFrameStats.finishFrame(now);
+
+      if (isMetricsActive) {
+        if (mFrameStartTime > 0)
+          mDrawerMetrics.addFrame(now - mFrameStartTime);
+        mFrameStartTime = 0;
+        if (isMetricsFinishing)
+          reportMetrics();
+      }
+
+      if (mFrameStats == null)
+        return;
+
+      if (mOnFrameStatsListener != null)
+        mOnFrameStatsListener.onFrameStats(ActionsContentView.this, mFrameStats);
+      mFrameStats.startFrame();
+    }
+  };
+
+  /**
+   * Runs frame end work in last phase of frames stepped by clock.
+   */
+  private final VirtualFrameClock.FrameCallback mClockFrameEndCallback = new VirtualFrameClock.FrameCallback() {
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      mFrameEndRunnable.run();
+    }
+  };
+
+  private final DrawerMetrics mDrawerMetrics = new DrawerMetrics();
+  private OnDrawerMetricsListener mOnDrawerMetricsListener;
+  /**
+   * Indicates whether metrics of transition are collected now.
+   */
+  private boolean isMetricsActive = false;
+  /**
+   * Indicates whether transition is finished and metrics will be reported after current frame.
+   */
+  private boolean isMetricsFinishing = false;
+  /**
+   * Time of first work done for current frame, 0 if there was no work yet.
+   */
+  private long mFrameStartTime = 0;
+  private long mFrameBudget = DEFAULT_FRAME_BUDGET;
+
   public ActionsContentView(Context context) {
     this(context, null);
   }
@@ -187,6 +442,10 @@ public class ActionsContentView extends ViewGroup {
 
     final int flingDurationDefault = context.getResources().getInteger(R.integer.default_actionscontentview_fling_duration);
     mFlingDuration = a.getInteger(R.styleable.ActionsContentView_fling_duration, flingDurationDefault);
+    setSettleType(a.getInteger(R.styleable.ActionsContentView_settle_type, SETTLE_SPRING));
+    isLayoutFreezeEnabled = a.getBoolean(R.styleable.ActionsContentView_layout_freeze, false);
+    isOccludedActionsSkipped = a.getBoolean(R.styleable.ActionsContentView_skip_occluded_actions, false);
+    isOccludedActionsLayoutDeferred = a.getBoolean(R.styleable.ActionsContentView_defer_occluded_actions_layout, false);
 
     mSwipeType = a.getInteger(R.styleable.ActionsContentView_swiping_type, SWIPING_EDGE);
     final int swipingEdgeWidthDefault = context.getResources().getDimensionPixelSize(R.dimen.default_actionscontentview_swiping_edge_width);
@@ -198,6 +457,9 @@ public class ActionsContentView extends ViewGroup {
     mEffects = a.getInt(R.styleable.ActionsContentView_effects, EFFECTS_ALL);
 
     final int effectsInterpolatorRes = a.getResourceId(R.styleable.ActionsContentView_effects_interpolator, 0);
+    final boolean effectsBaked = a.getBoolean(R.styleable.ActionsContentView_effects_baked, false);
+    final int movementType = a.getInteger(R.styleable.ActionsContentView_movement_type, MOVEMENT_SCROLL);
+    final int touchResampling = a.getInteger(R.styleable.ActionsContentView_touch_resampling, TOUCH_RESAMPLING_NONE);
 
     a.recycle();
 
@@ -213,6 +475,8 @@ public class ActionsContentView extends ViewGroup {
       Log.d(TAG, "  fade type: " + mFadeType);
       Log.d(TAG, "  fade max value: " + mFadeValue);
       Log.d(TAG, "  fling duration: " + mFlingDuration);
+      Log.d(TAG, "  settle type: " + mSettleType);
+      Log.d(TAG, "  layout freeze: " + isLayoutFreezeEnabled);
       Log.d(TAG, "  swiping type: " + mSwipeType);
       Log.d(TAG, "  swiping edge width: " + mSwipeEdgeWidth);
       Log.d(TAG, "  swiping enabled: " + isSwipingEnabled);
@@ -220,20 +484,31 @@ public class ActionsContentView extends ViewGroup {
       Log.d(TAG, "  effect actions: " + effectActionsRes);
       Log.d(TAG, "  effect content: " + effectContentRes);
       Log.d(TAG, "  effects interpolator: " + effectsInterpolatorRes);
+      Log.d(TAG, "  effects baked: " + effectsBaked);
+      Log.d(TAG, "  movement type: " + movementType);
+      Log.d(TAG, "  touch resampling: " + touchResampling);
     }
 
-    final Scroller effectsScroller;
+    final ContentScroller effectsScroller;
     if (effectsInterpolatorRes > 0) {
       final Interpolator interpolator = AnimationUtils.loadInterpolator(getContext(), effectsInterpolatorRes);
-      effectsScroller = new Scroller(context, interpolator);
+      effectsScroller = new ContentScroller(new ScrollInterpolator() {
+        @Override
+        public float getInterpolation(float input) {
+          return interpolator.getInterpolation(input);
+        }
+      });
     } else {
-      effectsScroller = new Scroller(context);
+      effectsScroller = new ContentScroller(null);
     }
 
-    mScrollController = new ContentScrollController(new Scroller(context), effectsScroller);
+    mScrollController = new ContentScrollController(new ContentScroller(null), effectsScroller);
+
+    if (movementType == MOVEMENT_TRANSLATION && Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+      mMovementType = MOVEMENT_TRANSLATION;
 
-    mGestureDetector = new GestureDetector(context, mScrollController);
-    mGestureDetector.setIsLongpressEnabled(true);
+    mSwipeDetector = new SwipeDetector(context, mScrollController);
+    setTouchResampling(touchResampling);
 
     final LayoutInflater inflater = LayoutInflater.from(context);
     viewActionsContainer = new ActionsLayout(context);
@@ -271,6 +546,8 @@ public class ActionsContentView extends ViewGroup {
     if ( effectContentRes > 0 ) {
       viewContentContainer.getController().setEffects(effectContentRes);
     }
+    viewActionsContainer.getController().setEffectsBaked(effectsBaked);
+    viewContentContainer.getController().setEffectsBaked(effectsBaked);
   }
 
   public void setOnActionsContentListener(OnActionsContentListener listener) {
@@ -281,6 +558,249 @@ public class ActionsContentView extends ViewGroup {
     return mOnActionsContentListener;
   }
 
+  /**
+   * Enables collecting of work done by view for every frame. It is meant for debugging,
+   * stats are disabled by default. Enabled stats turn on allocation counting of VM
+   * by {@link android.os.Debug#startAllocCounting()}.
+   * @param enabled
+   */
+  public void setFrameStatsEnabled(boolean enabled) {
+    if (enabled == (mFrameStats != null))
+      return;
+
+    if (mFrameStats != null)
+      mFrameStats.stopAllocationCounting();
+    mFrameStats = enabled ? new FrameStats() : null;
+    if (mFrameStats != null)
+      mFrameStats.startAllocationCounting();
+    viewActionsContainer.getController().setFrameStats(mFrameStats);
+    viewContentContainer.getController().setFrameStats(mFrameStats);
+  }
+
+  public boolean isFrameStatsEnabled() {
+    return mFrameStats != null;
+  }
+
+  /**
+   * Returns stats of current frame and totals.
+   * @return stats or null if they are disabled.
+   */
+  public FrameStats getFrameStats() {
+    return mFrameStats;
+  }
+
+  public void setOnFrameStatsListener(OnFrameStatsListener listener) {
+    mOnFrameStatsListener = listener;
+  }
+
+  public OnFrameStatsListener getOnFrameStatsListener() {
+    return mOnFrameStatsListener;
+  }
+
+  /**
+   * Sets listener notified with metrics of every transition. Metrics are collected
+   * only while listener is set.
+   * @param listener
+   */
+  public void setOnDrawerMetricsListener(OnDrawerMetricsListener listener) {
+    mOnDrawerMetricsListener = listener;
+    if (listener == null) {
+      isMetricsActive = false;
+      isMetricsFinishing = false;
+      mFrameStartTime = 0;
+    }
+  }
+
+  public OnDrawerMetricsListener getOnDrawerMetricsListener() {
+    return mOnDrawerMetricsListener;
+  }
+
+  /**
+   * Sets recorder of touch events processed by view. Trace can be replayed by {@link GestureReplayer}.
+   * @param recorder - recorder or null to stop recording.
+   */
+  public void setGestureRecorder(GestureRecorder recorder) {
+    mGestureRecorder = recorder;
+  }
+
+  public GestureRecorder getGestureRecorder() {
+    return mGestureRecorder;
+  }
+
+  /**
+   * Returns count of touch events delivered to this view, including second deliveries
+   * of the same event to {@link #onInterceptTouchEvent(MotionEvent)} and {@link #onTouchEvent(MotionEvent)}.
+   * @return
+   */
+  public int getTouchEventsReceived() {
+    return mTouchEventsReceived;
+  }
+
+  /**
+   * Returns count of touch events passed to swipe detection. Difference with
+   * {@link #getTouchEventsReceived()} is count of duplicate deliveries skipped.
+   * @return
+   */
+  public int getTouchEventsProcessed() {
+    return mTouchEventsProcessed;
+  }
+
+  /**
+   * Prints state of view and frame stats.
+   * @param pw - writer to print to.
+   */
+  public void dump(PrintWriter pw) {
+    pw.print(TAG); pw.println(":");
+    pw.print("  content shown: "); pw.print(isContentShown());
+    pw.print(" scroll factor: "); pw.print(mScrollController.getScrollFactor());
+    pw.print(" moving: "); pw.println(isContentMoving());
+    pw.print("  movement type: "); pw.print(mMovementType);
+    pw.print(" settle type: "); pw.print(mSettleType);
+    pw.print(" layout freeze: "); pw.println(isLayoutFreezeEnabled);
+    pw.print("  touch events received: "); pw.print(mTouchEventsReceived);
+    pw.print(" processed: "); pw.print(mTouchEventsProcessed);
+    pw.print(" duplicates: "); pw.println(mTouchEventsReceived - mTouchEventsProcessed);
+    pw.print("  resampling: "); pw.print(mTouchResampling);
+    pw.print(" input to pre-draw lag: "); pw.print(mTouchLag); pw.println("ms");
+
+    if (mFrameStats != null)
+      mFrameStats.dump(pw, "  ");
+    else
+      pw.println("  frame stats disabled");
+  }
+
+  private boolean isActionsLayoutFrozen() {
+    return isMovementLayoutFrozen || (isActionsOccluded && isOccludedActionsLayoutDeferred);
+  }
+
+  /**
+   * Indicates whether content fully covers actions container, so it doesn't need drawing.
+   * @return
+   */
+  private boolean computeActionsOccluded() {
+    if (!isOccludedActionsSkipped || mActionsSpacing != 0 || isContentMoving() || !isContentShown())
+      return false;
+
+    if (mScrollController.getPosition() != 0)
+      return false;
+
+    return !viewContentContainer.getController().isTransformed();
+  }
+
+  private void setActionsOccluded(boolean occluded) {
+    if (isActionsOccluded == occluded)
+      return;
+
+    isActionsOccluded = occluded;
+    final BaseContainerController controller = viewActionsContainer.getController();
+    if (!occluded && controller.isLayoutFrozen()) {
+      // deferred layout is done right away even if content movement keeps layout frozen
+      controller.setLayoutFrozen(false);
+    }
+    controller.setLayoutFrozen(isActionsLayoutFrozen());
+
+    // display list of view should be recorded again with or without actions container
+    invalidate();
+  }
+
+  /**
+   * Starts collecting metrics of transition if listener is set and transition is not tracked yet.
+   */
+  private void startMetrics() {
+    if (mOnDrawerMetricsListener == null)
+      return;
+
+    // previous transition was not reported yet
+    if (isMetricsFinishing)
+      reportMetrics();
+
+    if (isMetricsActive)
+      return;
+
+    isMetricsActive = true;
+    mFrameStartTime = 0;
+    mDrawerMetrics.start(mFrameBudget);
+  }
+
+  /**
+   * Marks transition as finished. Metrics are reported after current frame is drawn.
+   */
+  private void finishMetrics() {
+    if (!isMetricsActive || isMetricsFinishing)
+      return;
+
+    isMetricsFinishing = true;
+    if (mDrawerMetrics.mSettleStartTime >= 0)
+      mDrawerMetrics.mSettleDuration = (mScrollController.now() - mDrawerMetrics.mSettleStartTime) / 1000000;
+    mDrawerMetrics.isContentShown = isContentShown();
+    postFrameEnd();
+  }
+
+  private void reportMetrics() {
+    isMetricsActive = false;
+    isMetricsFinishing = false;
+    if (mOnDrawerMetricsListener != null)
+      mOnDrawerMetricsListener.onDrawerMetrics(this, mDrawerMetrics);
+  }
+
+  /**
+   * Remembers time of first work done for current frame.
+   */
+  private void markFrameStart() {
+    if (isMetricsActive && mFrameStartTime == 0)
+      mFrameStartTime = System.nanoTime();
+  }
+
+  private void postFrameEnd() {
+    if (isFrameEndPosted)
+      return;
+
+    isFrameEndPosted = true;
+    if (mFrameClock != null)
+      mFrameClock.postFrameCallback(VirtualFrameClock.CALLBACK_FRAME_END, mClockFrameEndCallback);
+    else
+      post(mFrameEndRunnable);
+  }
+
+  /**
+   * Updates effects and fade once per frame no matter how many times content was moved.
+   */
+  private void doPreDraw() {
+    markFrameStart();
+    if (isScrollFactorDirty)
+      applyScrollFactor();
+
+    if (isOccludedActionsSkipped)
+      setActionsOccluded(computeActionsOccluded());
+
+    if (mFrameStats != null)
+      mFrameStats.isAnimating |= isContentMoving();
+
+    // frame end work is done after drawing pass is finished
+    if (mFrameStats != null || isMetricsActive)
+      postFrameEnd();
+  }
+
+  /**
+   * Indicates whether content is swiped or settling now.
+   * @return
+   */
+  boolean isContentMoving() {
+    return mSwipeDetector.isSwiping() || mScrollController.isScrolling();
+  }
+
+  boolean isContentSwiping() {
+    return mSwipeDetector.isSwiping();
+  }
+
+  /**
+   * Returns position of content.
+   * @return position in pixels, 0 if content is shown and negative while actions are shown.
+   */
+  int getContentPosition() {
+    return mScrollController.getPosition();
+  }
+
   /**
    * This method is not supported and throws an UnsupportedOperationException when called.
    *
@@ -394,7 +914,7 @@ public class ActionsContentView extends ViewGroup {
     final SavedState ss = (SavedState)state;
     super.onRestoreInstanceState(ss.getSuperState());
 
-    mScrollController.isContentShown = ss.isContentShown;
+    mScrollController.setContentShown(ss.isContentShown);
 
     mSpacingType = ss.mSpacingType;
     mSpacing = ss.mSpacing;
@@ -534,6 +1054,118 @@ public class ActionsContentView extends ViewGroup {
     return mFlingDuration;
   }
 
+  /**
+   * Sets type of settling to bound. Spring is not used for effects
+   * scrolling if effects interpolator is set.
+   * @param type - {@link #SETTLE_DURATION} or {@link #SETTLE_SPRING}.
+   */
+  public void setSettleType(int type) {
+    if (type != SETTLE_DURATION && type != SETTLE_SPRING)
+      return;
+
+    mSettleType = type;
+  }
+
+  public int getSettleType() {
+    return mSettleType;
+  }
+
+  /**
+   * Sets clock auto-scrolling reads time from. Frames of auto-scrolling are run by
+   * {@link VirtualFrameClock#stepFrame(long)} only, so content movement can be stepped
+   * frame by frame in tests and benchmarks. Effects and fade are applied and frame stats
+   * and metrics are finished by frames of clock too, instead of pre-draw pass and posted
+   * message. Settling is not passed to view property animators while clock is set.
+   * @param clock - clock or null to use display frames.
+   */
+  public void setFrameClock(VirtualFrameClock clock) {
+    if (clock == mFrameClock)
+      return;
+
+    if (mFrameClock != null) {
+      mFrameClock.removeFrameCallback(VirtualFrameClock.CALLBACK_TRAVERSAL, mClockTraversalCallback);
+      mFrameClock.removeFrameCallback(VirtualFrameClock.CALLBACK_FRAME_END, mClockFrameEndCallback);
+    } else {
+      removeCallbacks(mFrameEndRunnable);
+    }
+
+    mFrameClock = clock;
+    mScrollController.setFrameClock(clock);
+
+    // pending work is moved to new source of frames
+    if (isScrollFactorDirty && clock != null)
+      clock.postFrameCallback(VirtualFrameClock.CALLBACK_TRAVERSAL, mClockTraversalCallback);
+    if (isFrameEndPosted) {
+      isFrameEndPosted = false;
+      postFrameEnd();
+    }
+  }
+
+  public VirtualFrameClock getFrameClock() {
+    return mFrameClock;
+  }
+
+  /**
+   * Sets whether layout of containers should be frozen while content is swiped or settling.
+   * Layout requests from containers and their descendants are collected and replayed once
+   * when content stops. Views which should be laid out right away can be added by
+   * {@link ContainerController#addLayoutFreezeException(View)}.
+   * @param enabled
+   */
+  public void setLayoutFreezeEnabled(boolean enabled) {
+    isLayoutFreezeEnabled = enabled;
+    if (!enabled)
+      setLayoutFrozen(false);
+  }
+
+  public boolean isLayoutFreezeEnabled() {
+    return isLayoutFreezeEnabled;
+  }
+
+  /**
+   * Sets whether actions container should not be drawn while content fully covers it:
+   * content is shown, actions spacing is 0 and content is neither transformed nor translucent.
+   * Content should be opaque, otherwise actions container won't be visible through it.
+   * Drawing is restored as soon as content starts moving.
+   * @param skipped
+   */
+  public void setOccludedActionsSkipped(boolean skipped) {
+    isOccludedActionsSkipped = skipped;
+    if (!skipped)
+      setActionsOccluded(false);
+    else
+      invalidate();
+  }
+
+  public boolean isOccludedActionsSkipped() {
+    return isOccludedActionsSkipped;
+  }
+
+  /**
+   * Sets whether layout requests of actions container should be deferred while it is not drawn
+   * because content covers it (see {@link #setOccludedActionsSkipped(boolean)}).
+   * Deferred layout is done once content starts moving.
+   * @param deferred
+   */
+  public void setOccludedActionsLayoutDeferred(boolean deferred) {
+    isOccludedActionsLayoutDeferred = deferred;
+    viewActionsContainer.getController().setLayoutFrozen(isActionsLayoutFrozen());
+  }
+
+  public boolean isOccludedActionsLayoutDeferred() {
+    return isOccludedActionsLayoutDeferred;
+  }
+
+  private void setLayoutFrozen(boolean frozen) {
+    isMovementLayoutFrozen = frozen;
+    viewActionsContainer.getController().setLayoutFrozen(isActionsLayoutFrozen());
+    viewContentContainer.getController().setLayoutFrozen(frozen);
+
+    // refresh of content position was skipped while layout was frozen
+    if (!frozen && mForceRefresh)
+      requestLayout();
+  }
+
   public void setFadeType(int type) {
     if (type != FADE_NONE && type != FADE_ACTIONS && type != FADE_CONTENT && type != FADE_BOTH)
       return;
@@ -587,20 +1219,53 @@ public class ActionsContentView extends ViewGroup {
     return mSwipeEdgeWidth;
   }
 
+  public void setMovementType(int type) {
+    if (type != MOVEMENT_SCROLL && type != MOVEMENT_TRANSLATION)
+      return;
+
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB)
+      type = MOVEMENT_SCROLL;
+
+    if (mMovementType == type)
+      return;
+
+    mScrollController.setMovementType(type);
+  }
+
+  public int getMovementType() {
+    return mMovementType;
+  }
+
+  public void setTouchResampling(int type) {
+    if (type != TOUCH_RESAMPLING_NONE && type != TOUCH_RESAMPLING_FRAME && type != TOUCH_RESAMPLING_PREDICT)
+      return;
+
+    mTouchResampling = type;
+    mSwipeDetector.setResampling(type != TOUCH_RESAMPLING_NONE);
+  }
+
+  public int getTouchResampling() {
+    return mTouchResampling;
+  }
+
+  /**
+   * Returns average input-to-pre-draw latency measured while swiping: time between
+   * finger sample content position is computed from and pre-draw pass this position
+   * is applied at. Only frames content was moved to new finger sample at are measured.
+   * Time until frame is presented on display is not included. Predicted positions
+   * make this value smaller and can make it negative.
+   * @return lag in milliseconds.
+   */
+  public float getTouchLag() {
+    return mTouchLag;
+  }
+
   @Override
   public boolean onTouchEvent(MotionEvent ev) {
     if (!isSwipingEnabled)
       return false;
 
-    mGestureDetector.onTouchEvent(ev);
-
-    final int action = ev.getAction();
-    if (action == MotionEvent.ACTION_UP) {
-      if (mScrollController.onUp(ev))
-        return true;
-    }
-
-    return mScrollController.isHandled();
+    return processTouchEvent(ev);
   }
 
   @Override
@@ -608,19 +1273,44 @@ public class ActionsContentView extends ViewGroup {
     if (!isSwipingEnabled)
       return false;
 
-    mGestureDetector.onTouchEvent(ev);
+    // whether we should handle all following events by our view
+    // and don't allow children to get them
+    return processTouchEvent(ev);
+  }
 
+  /**
+   * Passes event to swipe detector once. The same event can be delivered to both
+   * {@link #onInterceptTouchEvent(MotionEvent)} and {@link #onTouchEvent(MotionEvent)},
+   * so result of first processing is returned for second delivery.
+   * @param ev - event to process.
+   * @return true if event is a part of swipe.
+   */
+  private boolean processTouchEvent(MotionEvent ev) {
+    ++mTouchEventsReceived;
+
+    // framework can pass a copy of event, so it is identified by its values
     final int action = ev.getAction();
-    if (action == MotionEvent.ACTION_UP) {
-      if (mScrollController.onUp(ev))
-        return true;
-    }
+    final long eventTime = ev.getEventTime();
+    final long downTime = ev.getDownTime();
+    if (action == mLastTouchAction && eventTime == mLastTouchEventTime && downTime == mLastTouchDownTime)
+      return isLastTouchHandled;
 
-    // whether we should handle all following events by our view
-    // and don't allow children to get them
-    return mScrollController.isHandled();
+    ++mTouchEventsProcessed;
+    if (mGestureRecorder != null)
+      mGestureRecorder.record(ev);
+
+    mLastTouchAction = action;
+    mLastTouchEventTime = eventTime;
+    mLastTouchDownTime = downTime;
+    isLastTouchHandled = mSwipeDetector.onTouchEvent(ev);
+
+    if (DEBUG && (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL))
+      Log.d(TAG, "Touch events received: " + mTouchEventsReceived + ", processed: " + mTouchEventsProcessed);
+
+    return isLastTouchHandled;
   }
 
+
   @Override
   protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
     final int width = MeasureSpec.getSize(widthMeasureSpec);
@@ -629,6 +1319,10 @@ public class ActionsContentView extends ViewGroup {
     if (DEBUG)
       Log.d(TAG, "width: " + width + " height: " + height);
 
+    if (mFrameStats != null)
+      ++mFrameStats.mMeasures;
+    markFrameStart();
+
     final int childrenCount = getChildCount();
     for (int i=0; i<childrenCount; ++i) {
       final View v = getChildAt(i);
@@ -658,6 +1352,14 @@ public class ActionsContentView extends ViewGroup {
       Log.d(TAG, "layout: " + layout.toShortString());
     }
 
+    if (mFrameStats != null) {
+      ++mFrameStats.mLayouts;
+      if (isContentMoving()) {
+        mFrameStats.isAnimating = true;
+        mFrameStats.isLayoutDuringAnimation = true;
+      }
+    }
+
     // putting every child view to top-left corner
     final int childrenCount = getChildCount();
     for (int i=0; i<childrenCount; ++i) {
@@ -670,12 +1372,22 @@ public class ActionsContentView extends ViewGroup {
       }
     }
 
-    if (mForceRefresh) {
+    // content position is refreshed once content stops
+    if (mForceRefresh && !viewContentContainer.getController().isLayoutFrozen()) {
       mForceRefresh = false;
       mScrollController.init();
     }
   }
 
+  @Override
+  protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+    // actions container is fully covered by content
+    if (isActionsOccluded && child == viewActionsContainer)
+      return false;
+
+    return super.drawChild(canvas, child, drawingTime);
+  }
+
   @Override
   protected void onSizeChanged(int w, int h, int oldw, int oldh) {
     super.onSizeChanged(w, h, oldw, oldh);
@@ -686,13 +1398,81 @@ public class ActionsContentView extends ViewGroup {
     }
   }
 
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    getViewTreeObserver().addOnPreDrawListener(mPreDrawListener);
+
+    final WindowManager windowManager = (WindowManager) getContext().getSystemService(Context.WINDOW_SERVICE);
+    final Display display = windowManager.getDefaultDisplay();
+    final float refreshRate = display.getRefreshRate();
+    mFrameBudget = refreshRate > 0f ? (long) (1000000000L / refreshRate) : DEFAULT_FRAME_BUDGET;
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    getViewTreeObserver().removeOnPreDrawListener(mPreDrawListener);
+    super.onDetachedFromWindow();
+  }
+
+  /**
+   * Marks scroll factor as changed. Effects and fade are updated just before next drawing.
+   */
   private void updateScrollFactor() {
+    if (mFrameStats != null)
+      ++mFrameStats.mScrollFactorUpdates;
+    markFrameStart();
+
+    // content starts moving, so actions container can be revealed in this frame
+    if (isActionsOccluded)
+      setActionsOccluded(false);
+
+    if (isScrollFactorDirty)
+      return;
+
+    isScrollFactorDirty = true;
+    if (mFrameClock != null)
+      mFrameClock.postFrameCallback(VirtualFrameClock.CALLBACK_TRAVERSAL, mClockTraversalCallback);
+    // makes sure there will be drawing pass even if nothing else was invalidated
+    invalidate();
+  }
+
+  /**
+   * Notifies containers that scrolling is finished. Pending scroll factor is applied first,
+   * so containers get final values before releasing resources used while scrolling.
+   */
+  private void notifyScrollFinished() {
+    if (isScrollFactorDirty)
+      applyScrollFactor();
+
+    setLayoutFrozen(false);
+
+    viewActionsContainer.getController().onScrollFinished();
+    viewContentContainer.getController().onScrollFinished();
+    finishMetrics();
+  }
+
+  private void applyScrollFactor() {
     if (viewActionsContainer == null || viewContentContainer == null)
       return;
 
+    isScrollFactorDirty = false;
+    if (mFrameStats != null)
+      ++mFrameStats.mScrollFactorApplies;
+
+    // fade-only and settling frames don't follow finger samples
+    if (isTouchSampleApplied) {
+      isTouchSampleApplied = false;
+      final long lag = SystemClock.uptimeMillis() - mSwipeDetector.getAppliedTime();
+      mTouchLag += (lag - mTouchLag) * TOUCH_LAG_SMOOTHING;
+    }
+
     final float scrollFactor = mScrollController.getScrollFactor();
     final boolean isOpening = mScrollController.isOpening();
     final boolean enableEffects = mScrollController.isEffectsEnabled();
+    final long frameTime = mScrollController.getFrameTime();
+    viewActionsContainer.getController().setFrameTime(frameTime);
+    viewContentContainer.getController().setFrameTime(frameTime);
 
     final int actionsFadeFactor;
     if ((mFadeType & FADE_ACTIONS) == FADE_ACTIONS) {
@@ -709,6 +1489,11 @@ public class ActionsContentView extends ViewGroup {
       contentFadeFactor = 0;
     }
     viewContentContainer.getController().onScroll(1f - scrollFactor, contentFadeFactor, isOpening, enableEffects);
+
+    if (isMetricsActive) {
+      mDrawerMetrics.isEffectsActive |= enableEffects;
+      mDrawerMetrics.isFadeActive |= actionsFadeFactor > 0 || contentFadeFactor > 0;
+    }
   }
 
   public static class SavedState extends BaseSavedState {
@@ -821,35 +1606,22 @@ public class ActionsContentView extends ViewGroup {
 
   /**
    * Used to handle scrolling events and scroll content container
-   * on top of actions one.
+   * on top of actions one. Movement state is kept by {@link DrawerStateMachine},
+   * this controller passes touch events and frames to it and applies it to views.
    * @author steven
    *
    */
-  private class ContentScrollController implements GestureDetector.OnGestureListener, Runnable {
+  private class ContentScrollController implements SwipeTracker.OnSwipeListener, FrameDriver.Callback,
+      DrawerStateMachine.Host {
+    private final DrawerStateMachine mDrawer;
     /**
-     * Used to auto-scroll to closest bound on touch up event.
+     * Schedules frames of auto-scrolling.
      */
-    private final Scroller mScroller;
-    /**
-     * Used to fling to after fling touch event.
-     */
-    private final Scroller mEffectsScroller;
-
-    // using Boolean object to initialize while first scroll event
-    private Boolean mHandleEvent = null;
+    private FrameDriver mFrameDriver;
 
-    /**
-     * Indicates whether we need initialize position of view after measuring is finished.
-     */
-    private boolean isContentShown = true;
-
-    private boolean isFlinging = false;
-
-    private boolean isEffectsEnabled = false;
-
-    public ContentScrollController(Scroller scroller, Scroller effectsScroller) {
-      mScroller = scroller;
-      mEffectsScroller = effectsScroller;
+    public ContentScrollController(ContentScroller scroller, ContentScroller effectsScroller) {
+      mDrawer = new DrawerStateMachine(this, scroller, effectsScroller, SPRING_OMEGA);
+      mFrameDriver = FrameDriver.create(ActionsContentView.this, this);
     }
 
     /**
@@ -859,345 +1631,285 @@ public class ActionsContentView extends ViewGroup {
       if (DEBUG)
         Log.d(TAG, "Scroller: init");
 
-      if (isContentShown)
-        showContent(0);
-      else
-        hideContent(0);
-
+      mDrawer.init(now());
       updateScrollFactor();
     }
 
-    /**
-     * Returns handling lock value. It indicates whether all events
-     * should be marked as handled.
-     * @return
-     */
-    public boolean isHandled() {
-      return mHandleEvent != null && mHandleEvent;
-    }
-
-    public boolean isSwipeFinished() {
-      if (!mScroller.isFinished()) {
-        return false;
-      }
-
-      if (!mEffectsScroller.isFinished()) {
-        return false;
-      }
-
-      final int x = viewContentContainer.getScrollX();
-      if (isContentShown && x != 0)
-        return false;
-
-      if (!isContentShown && x != -getRightBound())
-        return false;
-
-      return true;
-    }
-
     public boolean isOpening() {
-      if (!mScroller.isFinished()) {
-        return mScroller.getStartX() > mScroller.getFinalX();
-      }
-
-      if (!mEffectsScroller.isFinished()) {
-        return mEffectsScroller.getStartX() > mEffectsScroller.getFinalX();
-      }
-
-      return !isContentShown;
+      return mDrawer.isOpening();
     }
 
     public boolean isEffectsEnabled() {
-      return isEffectsEnabled;
+      return mDrawer.isEffectsEnabled();
     }
 
-    @Override
-    public boolean onDown(MotionEvent e) {
-      mHandleEvent = null;
-      reset();
-      return false;
+    /**
+     * Returns current time in time base of frames.
+     * @return time in nanoseconds.
+     */
+    public long now() {
+      return mFrameDriver.now();
     }
 
-    public boolean onUp(MotionEvent e) {
-      if (isSwipeFinished())
-        return false;
+    /**
+     * Replaces source of frames. Scheduled frame is moved to new source.
+     * @param clock - clock to step frames by or null to use display frames.
+     */
+    public void setFrameClock(VirtualFrameClock clock) {
+      mFrameDriver.cancelFrame();
+      mFrameDriver = clock != null ? FrameDriver.create(clock, this) : FrameDriver.create(ActionsContentView.this, this);
+      if (isScrolling() || mSwipeDetector.hasPendingSamples())
+        mFrameDriver.postFrame();
+    }
 
-      mHandleEvent = null;
-      completeScrolling();
-      return true;
+    /**
+     * Returns time of frame current position was computed for.
+     * @return frame time in nanoseconds or 0 if content isn't auto-scrolling.
+     */
+    public long getFrameTime() {
+      return mDrawer.getFrameTime();
     }
 
     @Override
-    public boolean onSingleTapUp(MotionEvent e) {
-      return false;
+    public void onDown() {
+      mDrawer.onDown();
+
+      // if content is not shown we handle all horizontal swipes
+      // it content shown and there is edge mode we should check start
+      // swiping area first
+      if (mSwipeType == SWIPING_ALL) {
+        mSwipeDetector.setSwipeArea(Integer.MIN_VALUE, Integer.MAX_VALUE);
+      } else if (isContentShown()) {
+        mSwipeDetector.setSwipeArea(Integer.MIN_VALUE, mSwipeEdgeWidth);
+      } else {
+        final int contentLeftBound = viewContentContainer.getLeft() - getPosition() + mShadowWidth;
+        if (DEBUG)
+          Log.d(TAG, "Content left bound: " + contentLeftBound);
+        mSwipeDetector.setSwipeArea(contentLeftBound, Integer.MAX_VALUE);
+      }
     }
 
     @Override
-    public void onShowPress(MotionEvent e) {
-      // No-op
+    public boolean onUp() {
+      // release velocity is too slow for fling but spring still continues with it
+      return mDrawer.onUp(-mSwipeDetector.getVelocityX(), now());
     }
 
     @Override
-    public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX,
-        float distanceY) {
-
-      isFlinging = false;
-      isEffectsEnabled = false;
-
-      reset();
-
-      // if there is first scroll event after touch down
-      if (mHandleEvent == null) {
-        if (Math.abs(distanceX) < Math.abs(distanceY)) {
-          // if first event is more scroll by Y axis than X one
-          // ignore all events until event up
-          mHandleEvent = Boolean.FALSE;
-        } else {
-          final int contentLeftBound = viewContentContainer.getLeft() - viewContentContainer.getScrollX() + mShadowWidth;
-          final int firstTouchX = (int) e1.getX();
-
-          if (DEBUG) {
-            Log.d(TAG, "Scroller: first touch: " + firstTouchX + ", " + e1.getY());
-            Log.d(TAG, "Content left bound: " + contentLeftBound);
-          }
-
-          // if content is not shown we handle all horizontal swipes
-          // it content shown and there is edge mode we should check start
-          // swiping area first
-          if (mSwipeType == SWIPING_ALL
-              || (isContentShown() && firstTouchX <= mSwipeEdgeWidth
-              || (!isContentShown() && firstTouchX >= contentLeftBound))) {
-            // handle all events of scrolling by X axis
-            mHandleEvent = Boolean.TRUE;
-            scrollBy((int) distanceX);
-          } else {
-            mHandleEvent = Boolean.FALSE;
-          }
-        }
-      } else if (mHandleEvent) {
-        // it is not first event we should handle as scrolling by X axis
-        scrollBy((int) distanceX);
-      }
-
-      return mHandleEvent;
+    public void onSwipe(float distanceX) {
+      if (mDrawer.onSwipe(distanceX) != 0)
+        isTouchSampleApplied = true;
     }
 
     @Override
-    public void onLongPress(MotionEvent e) {
-      // No-op
+    public void onSwipeSampled() {
+      mFrameDriver.postFrame();
     }
 
     @Override
-    public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX,
-        float velocityY) {
-
-      if (!mHandleEvent) {
-        return false;
-      }
-
-      final float absVelocityX = Math.abs(velocityX);
-      if (absVelocityX <= Math.abs(velocityY))
-        return false;
-
-      if (absVelocityX < FLING_MIN)
-        return false;
-
-      isFlinging = true;
-      if (velocityX < 0)
-        showContent(mFlingDuration);
-      else
-        hideContent(mFlingDuration);
-
-      return true;
+    public boolean onFling(float velocityX) {
+      return mDrawer.onFling(velocityX, now());
     }
 
     public boolean isContentShown() {
-      return isContentShown;
+      return mDrawer.isContentShown();
+    }
+
+    /**
+     * Sets restored state of content. Content is moved to it by {@link #init()}.
+     * @param shown
+     */
+    public void setContentShown(boolean shown) {
+      mDrawer.setContentShown(shown);
     }
 
     public void hideContent(int duration) {
+      hideContent(duration, 0f);
+    }
+
+    /**
+     * Hides content.
+     * @param duration - duration of scrolling in milliseconds.
+     * @param velocity - initial velocity of content position in pixels per second.
+     */
+    public void hideContent(int duration, float velocity) {
       if (DEBUG)
         Log.d(TAG, "Scroller: hide content by " + duration + "ms");
 
-      isContentShown = false;
-      if (viewContentContainer.getMeasuredWidth() == 0 || viewContentContainer.getMeasuredHeight() == 0) {
-        return;
-      }
-
-      scroll(false, duration);
+      mDrawer.hideContent(duration, velocity, now());
     }
 
     public void showContent(int duration) {
+      showContent(duration, 0f);
+    }
+
+    /**
+     * Shows content.
+     * @param duration - duration of scrolling in milliseconds.
+     * @param velocity - initial velocity of content position in pixels per second.
+     */
+    public void showContent(int duration, float velocity) {
       if (DEBUG)
         Log.d(TAG, "Scroller: show content by " + duration + "ms");
 
-      isContentShown = true;
-      if (viewContentContainer.getMeasuredWidth() == 0 || viewContentContainer.getMeasuredHeight() == 0) {
-        return;
-      }
-
-      scroll(true, duration);
+      mDrawer.showContent(duration, velocity, now());
     }
 
     public float getScrollFactor() {
-      return 1f + (float) viewContentContainer.getScrollX() / (float) getRightBound();
+      return DrawerMotion.getScrollFactor(getPosition(), getRightBound());
     }
 
     /**
-     * Resets scroller controller. Stops flinging on current position.
+     * Indicates whether content is auto-scrolling now.
+     * @return
      */
-    public void reset() {
-      if (DEBUG)
-        Log.d(TAG, "Scroller: reset");
+    public boolean isScrolling() {
+      return mDrawer.isScrolling();
+    }
 
-      if (!mScroller.isFinished()) {
-        mScroller.forceFinished(true);
-      }
-      if (!mEffectsScroller.isFinished()) {
-        mEffectsScroller.forceFinished(true);
-      }
+    @Override
+    public int getRightBound() {
+      return DrawerMotion.getRightBound(mSpacingType, mSpacing, mActionsSpacing, getWidth());
     }
 
-    /**
-     * Starts auto-scrolling to bound which is closer to current position.
-     */
-    private void completeScrolling() {
-      // preventing override of fling effect
-      if (!mScroller.isFinished() || !mEffectsScroller.isFinished())
-        return;
+    @Override
+    public boolean isLaidOut() {
+      return viewContentContainer.getMeasuredWidth() != 0 && viewContentContainer.getMeasuredHeight() != 0;
+    }
 
-      final int startX = viewContentContainer.getScrollX();
+    @Override
+    public int getEffects() {
+      return mEffects;
+    }
 
-      final int rightBound = getRightBound();
-      final int middle = -rightBound / 2;
-      if (startX > middle) {
-        showContent(mFlingDuration);
-      } else {
-        hideContent(mFlingDuration);
-      }
+    @Override
+    public boolean isSpringSettle() {
+      return mSettleType == SETTLE_SPRING;
     }
 
-    private void scroll(boolean showContent, int duration) {
-      reset();
+    @Override
+    public int getSettleDuration() {
+      return mFlingDuration;
+    }
 
-      final int startX = viewContentContainer.getScrollX();
-      final int dx = showContent ? -startX : -getRightBound() - startX;
-      if (DEBUG)
-        Log.d(TAG, "start scroller at " + startX + " for " + dx + " by " + duration);
+    /**
+     * Moves content container to position.
+     * @param position - position of content container, see {@link #getPosition()}.
+     */
+    @Override
+    public void onPositionChanged(int position) {
+      if (mMovementType == MOVEMENT_TRANSLATION) {
+        viewContentContainer.getController().setMovementOffset(-position);
+        // there is no scroll change to notify us, so update effects directly
+        updateScrollFactor();
+      } else {
+        viewContentContainer.scrollTo(position, 0);
+      }
+    }
 
-      if (duration <= 0) {
-        viewContentContainer.scrollBy(dx, 0);
-        return;
+    @Override
+    public void onDragStarted() {
+      if (isLayoutFreezeEnabled)
+        setLayoutFrozen(true);
+
+      startMetrics();
+      if (isMetricsActive && !mDrawerMetrics.isGesture) {
+        mDrawerMetrics.isGesture = true;
+        mDrawerMetrics.mTouchToMovementTime = SystemClock.uptimeMillis() - mSwipeDetector.getDownTime();
       }
+    }
 
-      isEffectsEnabled = startEffects(dx < 0, isFlinging);
-      if (isEffectsEnabled)
-        mEffectsScroller.startScroll(startX, 0, dx, 0, duration);
-      else
-        mScroller.startScroll(startX, 0, dx, 0, duration);
+    @Override
+    public void onSettleStarted(boolean isContentShown, long startTime) {
+      if (isLayoutFreezeEnabled)
+        setLayoutFrozen(true);
+
+      startMetrics();
+      if (isMetricsActive && mDrawerMetrics.mSettleStartTime < 0)
+        mDrawerMetrics.mSettleStartTime = startTime;
 
       if (mOnActionsContentListener != null)
         mOnActionsContentListener.onContentStateInAction(ActionsContentView.this, isContentShown);
+    }
 
-      viewContentContainer.post(this);
+    @Override
+    public void onScrollFinished() {
+      notifyScrollFinished();
+    }
+
+    @Override
+    public void onSettleFinished(boolean isContentShown) {
+      if (mOnActionsContentListener != null)
+        mOnActionsContentListener.onContentStateChanged(ActionsContentView.this, isContentShown);
+    }
+
+    @Override
+    public void postFrame() {
+      mFrameDriver.postFrame();
+    }
+
+    @Override
+    public void cancelFrame() {
+      mFrameDriver.cancelFrame();
     }
 
     /**
-     * Scrolling content view according by given value.
-     * @param dx
+     * Returns position of content container. Position is negative when actions are shown.
+     * @return
      */
-    private void scrollBy(int dx) {
-      final int x = viewContentContainer.getScrollX();
-
-      isEffectsEnabled = startEffects(!isContentShown, false);
-
-      final int scrollBy;
-      if (dx < 0) { // scrolling right
-        final int rightBound = getRightBound();
-        if (x + dx < -rightBound)
-          scrollBy = -rightBound - x;
-        else
-          scrollBy = dx;
-      } else { // scrolling left
-        // don't scroll if we are at left bound
-        if (x == 0)
-          return;
-
-        if (x + dx > 0)
-          scrollBy = -x;
-        else
-          scrollBy = dx;
-      }
+    private int getPosition() {
+      return mDrawer.getPosition();
+    }
 
-      if (DEBUG)
-        Log.d(TAG, "scroll from " + x + " by " + dx + " [" + scrollBy + "]");
+    /**
+     * Changes type of content container movement keeping current position.
+     * @param type - movement type.
+     */
+    public void setMovementType(int type) {
+      final int x = getPosition();
+      if (mMovementType == MOVEMENT_TRANSLATION) {
+        viewContentContainer.getController().setMovementOffset(0f);
+      } else {
+        viewContentContainer.scrollTo(0, 0);
+      }
 
-      viewContentContainer.scrollBy(scrollBy, 0);
+      mMovementType = type;
+      onPositionChanged(x);
+      updateScrollFactor();
     }
 
     /**
      * Processes auto-scrolling to bound which is closer to current position.
+     * Position is computed for time of display frame it will be shown at.
      */
     @Override
-    public void run() {
-      final Scroller scroller = isEffectsEnabled() ? mEffectsScroller : mScroller;
-      if (scroller.isFinished()) {
-        if (DEBUG)
-          Log.d(TAG, "scroller is finished, done with fling");
-        if (mOnActionsContentListener != null)
-          mOnActionsContentListener.onContentStateChanged(ActionsContentView.this, isContentShown);
+    public void doFrame(long frameTimeNanos) {
+      if (mSwipeDetector.isSwiping() && mSwipeDetector.isResampling()) {
+        resampleSwipe(frameTimeNanos);
         return;
       }
 
-
-      final boolean more = scroller.computeScrollOffset();
-      final int x = scroller.getCurrX();
-      viewContentContainer.scrollTo(x, 0);
-
-      if (more) {
-        viewContentContainer.post(this);
-      } else {
-        if (mOnActionsContentListener != null)
-          mOnActionsContentListener.onContentStateChanged(ActionsContentView.this, isContentShown);
-      }
+      mDrawer.doFrame(frameTimeNanos);
     }
 
     /**
-     * Returns right bound (limit) for scroller.
-     * @return right bound (limit) for scroller.
+     * Moves content to finger position resampled for frame time.
+     * @param frameTimeNanos - time of frame in nanoseconds.
      */
-    private int getRightBound() {
-      if (mSpacingType == SPACING_ACTIONS_WIDTH) {
-        return mSpacing - mActionsSpacing;
-      } else { // all other situations are handled as SPACING_RIGHT_OFFSET
-        return getWidth() - mSpacing - mActionsSpacing;
-      }
-    }
+    private void resampleSwipe(long frameTimeNanos) {
+      final long frameTime = frameTimeNanos / 1000000;
+      final float distanceX;
+      if (mTouchResampling == TOUCH_RESAMPLING_PREDICT)
+        distanceX = mSwipeDetector.resampleSwipe(frameTime + PREDICTION_MS, PREDICTION_MAX_MS);
+      else
+        distanceX = mSwipeDetector.resampleSwipe(frameTime - RESAMPLE_LATENCY_MS, RESAMPLE_MAX_PREDICTION_MS);
 
-    private boolean startEffects(boolean isOpening, boolean isFlinging) {
-      final boolean enableEffects;
-
-      if (mEffects == EFFECTS_NONE) {
-        enableEffects = false;
-      } else if (!isFlinging && (mEffects & EFFECTS_SCROLL) > 0) {
-        if (isOpening && (mEffects & EFFECTS_SCROLL_OPENING) == EFFECTS_SCROLL_OPENING)
-          enableEffects = true;
-        else if (!isOpening && (mEffects & EFFECTS_SCROLL_CLOSING) == EFFECTS_SCROLL_CLOSING)
-          enableEffects = true;
-        else
-          enableEffects = false;
-      } else if (isFlinging && (mEffects & EFFECTS_FLING) > 0) {
-        if (isOpening && (mEffects & EFFECTS_FLING_OPENING) == EFFECTS_FLING_OPENING)
-          enableEffects = true;
-        else if (!isOpening && (mEffects & EFFECTS_FLING_CLOSING) == EFFECTS_FLING_CLOSING)
-          enableEffects = true;
-        else
-          enableEffects = false;
-      } else {
-        enableEffects = false;
-      }
+      if (distanceX != 0f)
+        onSwipe(distanceX);
 
-      return enableEffects;
+      // resampled position is behind the finger, so catch up at next frame
+      if (mSwipeDetector.hasPendingSamples())
+        mFrameDriver.postFrame();
     }
   };
 }
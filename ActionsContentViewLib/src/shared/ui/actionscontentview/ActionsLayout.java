@@ -17,9 +17,6 @@ package shared.ui.actionscontentview;
 
 import android.content.Context;
 import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Matrix;
-import android.graphics.Paint;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.widget.FrameLayout;
@@ -28,8 +25,6 @@ class ActionsLayout extends FrameLayout {
 
   private BaseContainerController mController = new BaseContainerController(this);
 
-  private final Paint mFadePaint = new Paint();
-
   public ActionsLayout(Context context) {
     this(context, null);
   }
@@ -58,24 +53,21 @@ class ActionsLayout extends FrameLayout {
   }
 
   @Override
-  protected void dispatchDraw(Canvas canvas) {
-    final int saveCount = canvas.save();
-    final Matrix m = mController.getEffectsMatrix();
-    if (!m.isIdentity())
-      canvas.concat(m);
+  public void requestLayout() {
+    // controller is not created yet when request comes from super constructor
+    if (mController == null || mController.onRequestLayout())
+      super.requestLayout();
+  }
 
-    final float alpha = mController.getEffectsAlpha();
-    if (alpha != 1f)
-      canvas.saveLayerAlpha(0, 0, canvas.getWidth(), canvas.getHeight(), (int)(255 * alpha), Canvas.HAS_ALPHA_LAYER_SAVE_FLAG);
+  @Override
+  public boolean hasOverlappingRendering() {
+    return mController.hasOverlappingRendering();
+  }
 
+  @Override
+  protected void dispatchDraw(Canvas canvas) {
+    final int saveCount = mController.beforeDispatchDraw(canvas);
     super.dispatchDraw(canvas);
-
-    final int fadeFactor = mController.getFadeFactor();
-    if (fadeFactor > 0) {
-      mFadePaint.setColor(Color.argb(fadeFactor, 0, 0, 0));
-      canvas.drawRect(0, 0, getWidth(), getHeight(), mFadePaint);
-    }
-
-    canvas.restoreToCount(saveCount);
+    mController.afterDispatchDraw(canvas, saveCount);
   }
 }
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.view.animation.Transformation;
+
+/**
+ * Effect that changes transparency of container.
+ * @author steven
+ *
+ */
+public class AlphaEffect extends BaseEffect {
+
+  private final float mFromAlpha;
+  private final float mToAlpha;
+
+  /**
+   * @param fromAlpha - start alpha. Can be in range from 0f to 1f.
+   * @param toAlpha - end alpha. Can be in range from 0f to 1f.
+   */
+  public AlphaEffect(float fromAlpha, float toAlpha) {
+    mFromAlpha = fromAlpha;
+    mToAlpha = toAlpha;
+  }
+
+  @Override
+  public void apply(float factor, Transformation t) {
+    final float value = getInterpolation(factor);
+    final float alpha = mFromAlpha + (mToAlpha - mFromAlpha) * value;
+    t.setAlpha(t.getAlpha() * alpha);
+  }
+}
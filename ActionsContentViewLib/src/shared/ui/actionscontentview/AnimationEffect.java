@@ -0,0 +1,456 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import android.graphics.Matrix;
+import android.util.Log;
+import android.view.animation.AlphaAnimation;
+import android.view.animation.Animation;
+import android.view.animation.AnimationSet;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+import android.view.animation.RotateAnimation;
+import android.view.animation.ScaleAnimation;
+import android.view.animation.Transformation;
+import android.view.animation.TranslateAnimation;
+
+/**
+ * Adapts {@link Animation} loaded from resources to {@link Effect}.
+ * <p>
+ * Nested animation sets are flattened into parallel arrays of start offsets, durations,
+ * interpolators and transformation kinds when effect is built, so applying effect is
+ * a single loop without allocations.
+ * <p>
+ * Start and end values of every animation are read once size of container is known through
+ * public {@link Animation#getTransformation(long, Transformation)} with linear interpolator,
+ * so no reflection is used while swiping. Animations other than translate, scale,
+ * rotate and alpha ones are sampled into {@link EffectTimeline}. Values are read from copy
+ * of animation made when effect is built, so duration, start time, repeat count and listeners
+ * of animation passed by caller are left untouched.
+ * <p>
+ * Once initialized, effect doesn't depend on animation anymore and can be shared
+ * between containers of the same size, see {@link EffectsCache}.
+ * @author steven
+ *
+ */
+class AnimationEffect implements Effect {
+  private static final String TAG = AnimationEffect.class.getSimpleName();
+
+  private static final int KIND_TRANSLATE = 0;
+  private static final int KIND_SCALE = 1;
+  private static final int KIND_ROTATE = 2;
+  private static final int KIND_ALPHA = 3;
+  private static final int KIND_SAMPLED = 4;
+
+  /**
+   * Duration used to read values of animation. Large enough to probe
+   * {@link #ROTATE_STEP} with millisecond precision.
+   */
+  private static final long PROBE_DURATION = 1 << 20;
+  /**
+   * Factor rotation is read at to count full turns. Rotations up to 1024 half
+   * turns are resolved exactly.
+   */
+  private static final float ROTATE_STEP = 1f / 1024;
+  /**
+   * Count of intervals unknown animations are sampled to.
+   */
+  private static final int SAMPLE_RESOLUTION = 32;
+
+  private static final float EPSILON = 0.0001f;
+
+  private static final Interpolator LINEAR_INTERPOLATOR = new LinearInterpolator();
+
+  private final Animation mAnimation;
+  /**
+   * Copy of animation which is initialized and probed instead of one passed by caller.
+   */
+  private final Animation mProbeAnimation;
+  private final long mTotalTime;
+
+  private final Animation[] mAnimations;
+  private final int[] mKinds;
+  private final long[] mStartOffsets;
+  private final long[] mDurations;
+  private final Interpolator[] mInterpolators;
+
+  // values of every animation resolved for container size
+  private final float[] mFromX;
+  private final float[] mToX;
+  private final float[] mFromY;
+  private final float[] mToY;
+  private final float[] mPivotX;
+  private final float[] mPivotY;
+  private final EffectTimeline[] mTimelines;
+
+  private final Matrix mMatrix = new Matrix();
+  private final float[] mValues = new float[EffectTimeline.MATRIX_VALUES_COUNT];
+
+  private boolean isInitialized = false;
+
+  public AnimationEffect(Animation animation) {
+    mAnimation = animation;
+    mProbeAnimation = copy(animation);
+    mTotalTime = animation.computeDurationHint();
+
+    final ArrayList<Animation> animations = new ArrayList<Animation>();
+    flatten(mProbeAnimation, animations);
+
+    final int count = animations.size();
+    mAnimations = animations.toArray(new Animation[count]);
+    mKinds = new int[count];
+    mStartOffsets = new long[count];
+    mDurations = new long[count];
+    mInterpolators = new Interpolator[count];
+
+    mFromX = new float[count];
+    mToX = new float[count];
+    mFromY = new float[count];
+    mToY = new float[count];
+    mPivotX = new float[count];
+    mPivotY = new float[count];
+    mTimelines = new EffectTimeline[count];
+
+    for (int i=0; i<count; ++i) {
+      final Animation a = mAnimations[i];
+      if (a instanceof TranslateAnimation)
+        mKinds[i] = KIND_TRANSLATE;
+      else if (a instanceof ScaleAnimation)
+        mKinds[i] = KIND_SCALE;
+      else if (a instanceof RotateAnimation)
+        mKinds[i] = KIND_ROTATE;
+      else if (a instanceof AlphaAnimation)
+        mKinds[i] = KIND_ALPHA;
+      else
+        mKinds[i] = KIND_SAMPLED;
+    }
+    readTimings();
+  }
+
+  /**
+   * Creates effect sharing parsed animation with given one. It should be initialized
+   * with its own size.
+   * @param effect - effect to share animation with.
+   */
+  public AnimationEffect(AnimationEffect effect) {
+    mAnimation = effect.mAnimation;
+    mProbeAnimation = effect.mProbeAnimation;
+    mTotalTime = effect.mTotalTime;
+
+    // structure of animation never changes after parsing
+    mAnimations = effect.mAnimations;
+    mKinds = effect.mKinds;
+
+    final int count = mAnimations.length;
+    mStartOffsets = new long[count];
+    mDurations = new long[count];
+    mInterpolators = new Interpolator[count];
+
+    mFromX = new float[count];
+    mToX = new float[count];
+    mFromY = new float[count];
+    mToY = new float[count];
+    mPivotX = new float[count];
+    mPivotY = new float[count];
+    mTimelines = new EffectTimeline[count];
+
+    readTimings();
+  }
+
+  /**
+   * Copies animation with its children. {@link Animation#clone()} is protected, so it is
+   * called through reflection, once when effect is built.
+   * @return copy of animation or animation itself if it can't be copied.
+   */
+  private static Animation copy(Animation animation) {
+    try {
+      final Method clone = Animation.class.getDeclaredMethod("clone");
+      clone.setAccessible(true);
+      return (Animation) clone.invoke(animation);
+    } catch (Exception e) {
+      Log.w(TAG, "Animation can't be copied, it will be probed directly", e);
+      return animation;
+    }
+  }
+
+  private static void flatten(Animation animation, List<Animation> out) {
+    if (animation instanceof AnimationSet) {
+      final List<Animation> animations = ((AnimationSet) animation).getAnimations();
+      final int count = animations.size();
+      for (int i=0; i<count; ++i)
+        flatten(animations.get(i), out);
+    } else {
+      out.add(animation);
+    }
+  }
+
+  public Animation getAnimation() {
+    return mAnimation;
+  }
+
+  public long getTotalTime() {
+    return mTotalTime;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    mProbeAnimation.initialize(width, height, parentWidth, parentHeight);
+    // animation set shares its duration, start offset and interpolator
+    // with children while initializing
+    readTimings();
+
+    final Transformation probe = new Transformation();
+    final int count = mAnimations.length;
+    for (int i=0; i<count; ++i)
+      resolve(i, probe);
+
+    isInitialized = true;
+  }
+
+  @Override
+  public void apply(float factor, Transformation t) {
+    if (!isInitialized)
+      return;
+
+    final Matrix matrix = t.getMatrix();
+    final long totalTime = mTotalTime;
+
+    final int count = mKinds.length;
+    for (int i=0; i<count; ++i) {
+      final float animationFactor;
+
+      final long animationDuration = mDurations[i];
+      if (animationDuration == 0 || totalTime == 0) {
+        animationFactor = factor;
+      } else {
+        final long effectTime = (int) (totalTime * factor);
+
+        final long animationStartOffset = mStartOffsets[i];
+        final long animationEndTime = animationStartOffset + animationDuration;
+
+        if (effectTime < animationStartOffset || effectTime > animationEndTime)
+          continue;
+
+        animationFactor = (float)(effectTime - animationStartOffset) / (float)animationDuration;
+      }
+
+      final Interpolator interpolator = mInterpolators[i];
+      final float value = interpolator == null ? animationFactor : interpolator.getInterpolation(animationFactor);
+
+      switch (mKinds[i]) {
+      case KIND_TRANSLATE:
+        matrix.postTranslate(mFromX[i] + (mToX[i] - mFromX[i]) * value,
+            mFromY[i] + (mToY[i] - mFromY[i]) * value);
+        break;
+      case KIND_SCALE:
+        matrix.postScale(mFromX[i] + (mToX[i] - mFromX[i]) * value,
+            mFromY[i] + (mToY[i] - mFromY[i]) * value, mPivotX[i], mPivotY[i]);
+        break;
+      case KIND_ROTATE:
+        matrix.postRotate(mFromX[i] + (mToX[i] - mFromX[i]) * value, mPivotX[i], mPivotY[i]);
+        break;
+      case KIND_ALPHA:
+        t.setAlpha(t.getAlpha() * (mFromX[i] + (mToX[i] - mFromX[i]) * value));
+        break;
+      default:
+        final float alpha = mTimelines[i].apply(value, mMatrix, mValues);
+        matrix.postConcat(mMatrix);
+        t.setAlpha(t.getAlpha() * alpha);
+        break;
+      }
+    }
+  }
+
+  private void readTimings() {
+    final int count = mAnimations.length;
+    for (int i=0; i<count; ++i) {
+      final Animation a = mAnimations[i];
+      mStartOffsets[i] = a.getStartOffset();
+      mDurations[i] = a.getDuration();
+      mInterpolators[i] = a.getInterpolator();
+    }
+  }
+
+  private void resolve(int index, Transformation probe) {
+    final Animation a = mAnimations[index];
+    final Interpolator interpolator = a.getInterpolator();
+    final long startOffset = a.getStartOffset();
+    final long duration = a.getDuration();
+
+    a.setInterpolator(LINEAR_INTERPOLATOR);
+    a.setStartOffset(0);
+    a.setDuration(PROBE_DURATION);
+    a.setStartTime(0);
+    try {
+      switch (mKinds[index]) {
+      case KIND_TRANSLATE:
+        resolveTranslate(index, a, probe);
+        break;
+      case KIND_SCALE:
+        resolveScale(index, a, probe);
+        break;
+      case KIND_ROTATE:
+        resolveRotate(index, a, probe);
+        break;
+      case KIND_ALPHA:
+        resolveAlpha(index, a, probe);
+        break;
+      default:
+        resolveSampled(index, a, probe);
+        break;
+      }
+    } finally {
+      a.setInterpolator(interpolator);
+      a.setStartOffset(startOffset);
+      a.setDuration(duration);
+      a.setStartTime(Animation.START_ON_FIRST_FRAME);
+    }
+  }
+
+  private static void probe(Animation a, float factor, Transformation probe) {
+    probe.clear();
+    a.getTransformation((long) (PROBE_DURATION * factor), probe);
+  }
+
+  private void resolveTranslate(int i, Animation a, Transformation probe) {
+    final float[] values = mValues;
+
+    probe(a, 0f, probe);
+    probe.getMatrix().getValues(values);
+    mFromX[i] = values[Matrix.MTRANS_X];
+    mFromY[i] = values[Matrix.MTRANS_Y];
+
+    probe(a, 1f, probe);
+    probe.getMatrix().getValues(values);
+    mToX[i] = values[Matrix.MTRANS_X];
+    mToY[i] = values[Matrix.MTRANS_Y];
+  }
+
+  private void resolveScale(int i, Animation a, Transformation probe) {
+    final float[] values = mValues;
+
+    probe(a, 0f, probe);
+    probe.getMatrix().getValues(values);
+    final float fromX = values[Matrix.MSCALE_X];
+    final float fromY = values[Matrix.MSCALE_Y];
+    final float fromTransX = values[Matrix.MTRANS_X];
+    final float fromTransY = values[Matrix.MTRANS_Y];
+
+    probe(a, 1f, probe);
+    probe.getMatrix().getValues(values);
+    final float toX = values[Matrix.MSCALE_X];
+    final float toY = values[Matrix.MSCALE_Y];
+    final float toTransX = values[Matrix.MTRANS_X];
+    final float toTransY = values[Matrix.MTRANS_Y];
+
+    mFromX[i] = fromX;
+    mToX[i] = toX;
+    mFromY[i] = fromY;
+    mToY[i] = toY;
+    // translation of scaling around pivot is: pivot * (1 - scale)
+    mPivotX[i] = resolvePivot(fromX, fromTransX, toX, toTransX);
+    mPivotY[i] = resolvePivot(fromY, fromTransY, toY, toTransY);
+  }
+
+  private static float resolvePivot(float fromScale, float fromTrans, float toScale, float toTrans) {
+    final float fromDelta = 1f - fromScale;
+    final float toDelta = 1f - toScale;
+    if (Math.abs(toDelta) >= Math.abs(fromDelta)) {
+      return Math.abs(toDelta) < EPSILON ? 0f : toTrans / toDelta;
+    } else {
+      return fromTrans / fromDelta;
+    }
+  }
+
+  private void resolveRotate(int i, Animation a, Transformation probe) {
+    final float fromDegrees = probeRotation(a, 0f, probe);
+    final float toDegrees = probeRotation(a, 1f, probe);
+
+    // rotation is linear in degrees, so short step is never wrapped and gives
+    // count of full turns lost by atan2 at the end point
+    final float stepDegrees = wrapDegrees(probeRotation(a, ROTATE_STEP, probe) - fromDegrees);
+    final float endDelta = toDegrees - fromDegrees;
+    final float turns = Math.round((stepDegrees / ROTATE_STEP - endDelta) / 360f);
+    final float span = endDelta + 360f * turns;
+
+    mFromX[i] = fromDegrees;
+    mToX[i] = fromDegrees + span;
+
+    // pivot is resolved where rotation is closest to half turn
+    final float lo = Math.min(fromDegrees, fromDegrees + span);
+    final float hi = Math.max(fromDegrees, fromDegrees + span);
+    final float halfTurn = 180f + 360f * (float) Math.ceil((lo - 180f) / 360f);
+    final float factor;
+    if (halfTurn <= hi && Math.abs(span) > EPSILON)
+      factor = (halfTurn - fromDegrees) / span;
+    else
+      factor = Math.abs(wrapDegrees(toDegrees - 180f)) < Math.abs(wrapDegrees(fromDegrees - 180f)) ? 1f : 0f;
+
+    probe(a, factor, probe);
+    final float[] values = mValues;
+    probe.getMatrix().getValues(values);
+    final float cos = values[Matrix.MSCALE_X];
+    final float sin = values[Matrix.MSKEW_Y];
+    // translation of rotation around pivot is: (I - R) * pivot
+    final float det = 2f * (1f - cos);
+    if (det > EPSILON) {
+      final float transX = values[Matrix.MTRANS_X];
+      final float transY = values[Matrix.MTRANS_Y];
+      mPivotX[i] = ((1f - cos) * transX - sin * transY) / det;
+      mPivotY[i] = (sin * transX + (1f - cos) * transY) / det;
+    } else {
+      mPivotX[i] = mPivotY[i] = 0f;
+    }
+  }
+
+  private float probeRotation(Animation a, float factor, Transformation probe) {
+    probe(a, factor, probe);
+    final float[] values = mValues;
+    probe.getMatrix().getValues(values);
+    return (float) Math.toDegrees(Math.atan2(values[Matrix.MSKEW_Y], values[Matrix.MSCALE_X]));
+  }
+
+  private static float wrapDegrees(float degrees) {
+    degrees %= 360f;
+    if (degrees > 180f)
+      degrees -= 360f;
+    else if (degrees <= -180f)
+      degrees += 360f;
+    return degrees;
+  }
+
+  private void resolveAlpha(int i, Animation a, Transformation probe) {
+    probe(a, 0f, probe);
+    mFromX[i] = probe.getAlpha();
+    probe(a, 1f, probe);
+    mToX[i] = probe.getAlpha();
+  }
+
+  private void resolveSampled(int i, Animation a, Transformation probe) {
+    EffectTimeline timeline = mTimelines[i];
+    if (timeline == null)
+      timeline = mTimelines[i] = new EffectTimeline(SAMPLE_RESOLUTION);
+
+    for (int s=0; s<=SAMPLE_RESOLUTION; ++s) {
+      probe(a, (float) s / SAMPLE_RESOLUTION, probe);
+      timeline.setSample(s, probe.getMatrix(), probe.getAlpha(), mValues);
+    }
+  }
+}
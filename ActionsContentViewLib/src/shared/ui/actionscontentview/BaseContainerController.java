@@ -15,18 +15,167 @@
  ******************************************************************************/
 package shared.ui.actionscontentview;
 
-import shared.ui.actionscontentview.EffectsController.Effect;
+import java.util.ArrayList;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.PorterDuff;
+import android.graphics.PorterDuffColorFilter;
+import android.graphics.Rect;
+import android.os.Build;
 import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import android.view.animation.Animation;
 
 public class BaseContainerController implements ContainerController {
 
+  private static final Matrix IDENTITY_MATRIX = new Matrix();
+  private static final float EPSILON = 0.0001f;
+
+  /**
+   * Indexes of view properties matrix is decomposed to.
+   */
+  private static final int PROPERTY_TRANSLATION_X = 0;
+  private static final int PROPERTY_TRANSLATION_Y = 1;
+  private static final int PROPERTY_ROTATION = 2;
+  private static final int PROPERTY_SCALE_X = 3;
+  private static final int PROPERTY_SCALE_Y = 4;
+  private static final int PROPERTIES_COUNT = 5;
+
+  /**
+   * Strategies automatic alpha strategy is chosen from.
+   */
+  private static final int[] ALPHA_CANDIDATES = { ALPHA_LAYER, ALPHA_HARDWARE_LAYER };
+  /**
+   * Count of swiping frames with non-opaque alpha every candidate is measured for.
+   */
+  private static final int ALPHA_MEASURE_FRAMES = 30;
+
+  /**
+   * Color filters that draw fade over layer pixels, created lazily for every fade value.
+   */
+  private static final PorterDuffColorFilter[] FADE_FILTERS = new PorterDuffColorFilter[256];
+
   private final View view;
   private final EffectsController mEffectsController = new EffectsController();
+  private final LegacyEffect[] mLegacyEffects = new LegacyEffect[EffectsController.EFFECTS_COUNT];
+  private final float[] mValues = new float[EffectTimeline.MATRIX_VALUES_COUNT];
+  private final float[] mProperties = new float[PROPERTIES_COUNT];
+
+  private final Paint mFadePaint = new Paint();
+  private final Paint mLayerPaint = new Paint();
+  private final Rect mLayerRect = new Rect();
 
   private boolean mIgnoreTouchEvents = false;
   private int mFadeFactor = 0;
+  /**
+   * Time of animation frame effects are applied for.
+   */
+  private long mFrameTime = 0;
+  /**
+   * Offset container is moved by through translation property.
+   */
+  private float mMovementOffset = 0f;
+  /**
+   * Translation of effects applied through translation property.
+   */
+  private float mEffectsTranslationX = 0f;
+  /**
+   * Views which are laid out right away while layout is frozen.
+   */
+  private final ArrayList<View> mLayoutFreezeExceptions = new ArrayList<View>();
+  /**
+   * Indicates whether layout requests are deferred until layout is unfrozen.
+   */
+  private boolean isLayoutFrozen = false;
+  /**
+   * Indicates whether layout was requested while it was frozen.
+   */
+  private boolean isLayoutRequestDeferred = false;
+  private ViewTreeObserver mFreezeObserver;
+  /**
+   * Lays out exception views requested layout while layout is frozen just before drawing.
+   */
+  private final ViewTreeObserver.OnPreDrawListener mFreezePreDrawListener = new ViewTreeObserver.OnPreDrawListener() {
+    @Override
+    public boolean onPreDraw() {
+      layoutFreezeExceptions();
+      return true;
+    }
+  };
+
+  /**
+   * Stats of current frame, null if stats are disabled.
+   */
+  private FrameStats mFrameStats;
+  /**
+   * Time drawing of container was started at, used by stats only.
+   */
+  private long mDrawStartTime;
+
+  /**
+   * Indicates whether effects matrix should be applied through view properties when possible.
+   */
+  private boolean isUsingRenderProperties = Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB;
+  /**
+   * Indicates whether effects matrix is currently applied through view properties.
+   */
+  private boolean isMatrixOnProperties = false;
+
+  /**
+   * Strategy of applying effects alpha.
+   */
+  private int mAlphaStrategy = ALPHA_AUTO;
+  /**
+   * Strategy chosen for {@link #ALPHA_AUTO} by measurements, {@link #ALPHA_AUTO} while
+   * candidates are measured.
+   */
+  private int mAutoAlphaStrategy = ALPHA_AUTO;
+  /**
+   * Index of candidate used while current swipe.
+   */
+  private int mAlphaCandidate = 0;
+  /**
+   * Drawing time of container and count of frames measured for every candidate.
+   */
+  private final long[] mAlphaDrawTimes = new long[ALPHA_CANDIDATES.length];
+  private final int[] mAlphaFrames = new int[ALPHA_CANDIDATES.length];
+  /**
+   * Indicates whether effects alpha is currently applied through view alpha.
+   */
+  private boolean isAlphaOnProperties = false;
+  /**
+   * Indicates whether hardware layer was enabled for current swiping.
+   */
+  private boolean isSwipingLayerEnabled = false;
+  /**
+   * Layer type of view before hardware layer was enabled for swiping.
+   */
+  private int mSwipingLayerPrevType;
+  /**
+   * Hint whether layout has overlapping content, see {@link View#hasOverlappingRendering()}.
+   */
+  private boolean hasOverlappingRendering = true;
+
+  /**
+   * Indicates whether fade should be composed together with layout layer when possible.
+   */
+  private boolean isFadeCombined = true;
+  /**
+   * Indicates whether fade is currently applied through paint of hardware layer.
+   */
+  private boolean isFadeOnLayerPaint = false;
+  /**
+   * Indicates whether fade was composed with alpha layer while drawing.
+   */
+  private boolean isFadeOnCanvasLayer = false;
 
   public BaseContainerController(View view) {
     this.view = view;
@@ -43,36 +192,386 @@ public class BaseContainerController implements ContainerController {
   }
 
   void initializeEffects() {
-    mEffectsController.initialize(view);
+    final ViewGroup parent = (ViewGroup) view.getParent();
+    if (parent == null)
+      return;
+
+    final int width = view.getWidth();
+    final int height = view.getHeight();
+    final int parentWidth = parent.getWidth();
+    final int parentHeight = parent.getHeight();
+
+    // effects from resources are compiled once per size and shared
+    for (int i=0; i<EffectsController.EFFECTS_COUNT; ++i) {
+      final int id = mEffectsController.getEffectId(i);
+      if (id != 0)
+        mEffectsController.setCompiledEffect(i, EffectsCache.obtainCompiled(view.getContext(), id, width, height, parentWidth, parentHeight));
+    }
+    mEffectsController.initialize(width, height, parentWidth, parentHeight);
   }
 
   Matrix getEffectsMatrix() {
     return mEffectsController.getEffectsMatrix();
   }
 
+  /**
+   * Returns part of effects matrix that should be applied to canvas while drawing.
+   * @return effects matrix or identity one if effects are applied through view properties.
+   */
+  Matrix getEffectsCanvasMatrix() {
+    return isMatrixOnProperties ? IDENTITY_MATRIX : mEffectsController.getEffectsMatrix();
+  }
+
+  /**
+   * Indicates whether container is drawn transformed or translucent by effects or view properties.
+   * @return
+   */
+  boolean isTransformed() {
+    if (!getEffectsCanvasMatrix().isIdentity() || getEffectsCanvasAlpha() != 1f)
+      return true;
+
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+      return isTransformedByProperties();
+    return false;
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private boolean isTransformedByProperties() {
+    return view.getAlpha() != 1f || !view.getMatrix().isIdentity();
+  }
+
   float getEffectsAlpha() {
     return mEffectsController.getEffectsAlpha();
   }
 
   @Override
   public void setEffects(Animation effects) {
+    mEffectsController.setEffects(new AnimationEffect(effects));
+  }
+
+  @Override
+  public void setEffects(Effect effects) {
     mEffectsController.setEffects(effects);
   }
 
   @Override
   public void setEffects(int resId) {
-    mEffectsController.setEffects(view.getContext(), resId);
+    final Context context = view.getContext();
+    final String resourceType = context.getResources().getResourceTypeName(resId);
+
+    if ( !resourceType.equals("array") ) {
+      final Effect effect = EffectsCache.obtainParsed(context, resId);
+      mEffectsController.setEffect(EffectsController.EFFECT_OPEN, effect, resId);
+      mEffectsController.setEffect(EffectsController.EFFECT_CLOSE, effect, resId);
+      return;
+    }
+
+    final TypedArray effects = context.getResources().obtainTypedArray(resId);
+
+    final int count = effects.length();
+    final int size = Math.min(EffectsController.EFFECTS_COUNT, count);
+    for ( int i=0; i<size; ++i ) {
+      final int id = effects.getResourceId(i, -1);
+      if (id > 0)
+        mEffectsController.setEffect(i, EffectsCache.obtainParsed(context, id), id);
+    }
+    effects.recycle();
+  }
+
+  /**
+   * Getter for effects in legacy form. Only effects built from animations are returned.
+   * @return animations used as open and close effects.
+   */
+  @Deprecated
+  @Override
+  public LegacyEffect[] getEffects() {
+    final Effect[] effects = mEffectsController.getContainerEffects();
+    for (int i=0; i<EffectsController.EFFECTS_COUNT; ++i) {
+      final Effect effect = effects[i];
+      if (!(effect instanceof AnimationEffect)) {
+        mLegacyEffects[i] = null;
+        continue;
+      }
+
+      final Animation anim = ((AnimationEffect) effect).getAnimation();
+      if (mLegacyEffects[i] == null || mLegacyEffects[i].anim != anim)
+        mLegacyEffects[i] = i > 0 && effect == effects[i - 1] ? mLegacyEffects[i - 1] : new LegacyEffect(anim);
+    }
+    return mLegacyEffects;
+  }
+
+  @Override
+  public Effect[] getContainerEffects() {
+    return mEffectsController.getContainerEffects();
+  }
+
+  @Override
+  public void setEffectsBaked(boolean baked) {
+    mEffectsController.setBaked(baked);
+  }
+
+  @Override
+  public boolean isEffectsBaked() {
+    return mEffectsController.isBaked();
+  }
+
+  @Override
+  public void setUseRenderProperties(boolean use) {
+    use &= Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB;
+    if (isUsingRenderProperties == use)
+      return;
+
+    isUsingRenderProperties = use;
+    if (!use && isMatrixOnProperties) {
+      isMatrixOnProperties = false;
+      resetProperties();
+      view.postInvalidate();
+    }
+  }
+
+  @Override
+  public boolean isUsingRenderProperties() {
+    return isUsingRenderProperties;
+  }
+
+  @Override
+  public void setAlphaStrategy(int strategy) {
+    if (strategy != ALPHA_AUTO && strategy != ALPHA_LAYER
+        && strategy != ALPHA_VIEW && strategy != ALPHA_HARDWARE_LAYER)
+      return;
+
+    if (strategy == ALPHA_AUTO && mAlphaStrategy != ALPHA_AUTO)
+      resetAlphaMeasurements();
+    mAlphaStrategy = strategy;
+  }
+
+  @Override
+  public int getAlphaStrategy() {
+    return mAlphaStrategy;
+  }
+
+  @Override
+  public int getResolvedAlphaStrategy() {
+    return resolveAlphaStrategy();
   }
 
   @Override
-  public Effect[] getEffects() {
-    return mEffectsController.getEffects();
+  public void setOverlappingRendering(boolean overlapping) {
+    hasOverlappingRendering = overlapping;
+  }
+
+  @Override
+  public boolean hasOverlappingRendering() {
+    return hasOverlappingRendering;
+  }
+
+  @Override
+  public void setFadeCombined(boolean combined) {
+    if (isFadeCombined == combined)
+      return;
+
+    isFadeCombined = combined;
+    if (!combined && isFadeOnLayerPaint) {
+      isFadeOnLayerPaint = false;
+      clearLayerPaint();
+      view.postInvalidate();
+    }
+  }
+
+  @Override
+  public boolean isFadeCombined() {
+    return isFadeCombined;
+  }
+
+  @Override
+  public void addLayoutFreezeException(View view) {
+    if (!mLayoutFreezeExceptions.contains(view))
+      mLayoutFreezeExceptions.add(view);
+  }
+
+  @Override
+  public void removeLayoutFreezeException(View view) {
+    mLayoutFreezeExceptions.remove(view);
+  }
+
+  /**
+   * Freezes or unfreezes layout of container. Layout requests of frozen container and its
+   * descendants are collected and replayed once layout is unfrozen.
+   * @param frozen
+   */
+  void setLayoutFrozen(boolean frozen) {
+    if (isLayoutFrozen == frozen)
+      return;
+
+    isLayoutFrozen = frozen;
+    if (frozen) {
+      mFreezeObserver = view.getViewTreeObserver();
+      mFreezeObserver.addOnPreDrawListener(mFreezePreDrawListener);
+      return;
+    }
+
+    if (mFreezeObserver != null && mFreezeObserver.isAlive())
+      mFreezeObserver.removeOnPreDrawListener(mFreezePreDrawListener);
+    mFreezeObserver = null;
+
+    if (isLayoutRequestDeferred) {
+      isLayoutRequestDeferred = false;
+      view.requestLayout();
+    }
+  }
+
+  boolean isLayoutFrozen() {
+    return isLayoutFrozen;
+  }
+
+  /**
+   * Called by container on every layout request.
+   * @return true if request should be passed to parent, false if it is deferred.
+   */
+  boolean onRequestLayout() {
+    if (!isLayoutFrozen)
+      return true;
+
+    isLayoutRequestDeferred = true;
+    for (int i=0; i<mLayoutFreezeExceptions.size(); ++i) {
+      if (mLayoutFreezeExceptions.get(i).isLayoutRequested()) {
+        // layout of exception is done before drawing, so make sure there is one
+        view.invalidate();
+        break;
+      }
+    }
+    return false;
+  }
+
+  private void layoutFreezeExceptions() {
+    for (int i=0; i<mLayoutFreezeExceptions.size(); ++i) {
+      final View v = mLayoutFreezeExceptions.get(i);
+      if (!v.isLayoutRequested() || v.getWidth() == 0 || v.getHeight() == 0)
+        continue;
+
+      v.measure(MeasureSpec.makeMeasureSpec(v.getWidth(), MeasureSpec.EXACTLY),
+          MeasureSpec.makeMeasureSpec(v.getHeight(), MeasureSpec.EXACTLY));
+      v.layout(v.getLeft(), v.getTop(), v.getRight(), v.getBottom());
+    }
+  }
+
+  /**
+   * Returns strategy to apply effects alpha with.
+   * <p>
+   * Automatic strategy is chosen by drawing time of container measured per swiping frame:
+   * every swipe uses one of candidates until all of them are measured, see {@link #nextAlphaCandidate()}.
+   * Layer bounded to visible part of view is used if view isn't hardware accelerated.
+   * @return
+   */
+  private int resolveAlphaStrategy() {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.HONEYCOMB)
+      return ALPHA_LAYER;
+
+    if (mAlphaStrategy != ALPHA_AUTO)
+      return mAlphaStrategy;
+
+    if (!isHardwareAccelerated())
+      return ALPHA_LAYER;
+
+    if (mAutoAlphaStrategy != ALPHA_AUTO)
+      return mAutoAlphaStrategy;
+
+    return ALPHA_CANDIDATES[mAlphaCandidate];
+  }
+
+  /**
+   * Indicates whether candidates of automatic alpha strategy are measured now.
+   * @return
+   */
+  private boolean isMeasuringAlpha() {
+    return mAlphaStrategy == ALPHA_AUTO && mAutoAlphaStrategy == ALPHA_AUTO
+        && Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB && isHardwareAccelerated();
+  }
+
+  /**
+   * Chooses candidate for next swipe: one measured for less frames, or chooses automatic
+   * strategy with lower drawing time per frame once all of them are measured.
+   */
+  private void nextAlphaCandidate() {
+    final int count = ALPHA_CANDIDATES.length;
+    int next = 0;
+    for (int i=1; i<count; ++i) {
+      if (mAlphaFrames[i] < mAlphaFrames[next])
+        next = i;
+    }
+    if (mAlphaFrames[next] < ALPHA_MEASURE_FRAMES) {
+      mAlphaCandidate = next;
+      return;
+    }
+
+    int best = 0;
+    for (int i=1; i<count; ++i) {
+      // compares average drawing times without division
+      if (mAlphaDrawTimes[i] * mAlphaFrames[best] < mAlphaDrawTimes[best] * mAlphaFrames[i])
+        best = i;
+    }
+    mAutoAlphaStrategy = ALPHA_CANDIDATES[best];
+  }
+
+  private void resetAlphaMeasurements() {
+    mAutoAlphaStrategy = ALPHA_AUTO;
+    mAlphaCandidate = 0;
+    for (int i=0; i<ALPHA_CANDIDATES.length; ++i) {
+      mAlphaDrawTimes[i] = 0;
+      mAlphaFrames[i] = 0;
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private boolean isHardwareAccelerated() {
+    return view.isHardwareAccelerated();
   }
 
   int getFadeFactor() {
     return mFadeFactor;
   }
 
+  /**
+   * Moves container by translation property. Effects translation is added to this offset.
+   * @param offset - offset in pixels.
+   */
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  void setMovementOffset(float offset) {
+    if (mMovementOffset == offset)
+      return;
+
+    mMovementOffset = offset;
+    view.setTranslationX(mEffectsTranslationX + offset);
+  }
+
+  float getMovementOffset() {
+    return mMovementOffset;
+  }
+
+  /**
+   * Sets stats to count work of container in.
+   * @param stats - stats of current frame or null if stats are disabled.
+   */
+  void setFrameStats(FrameStats stats) {
+    mFrameStats = stats;
+  }
+
+  /**
+   * Sets time of animation frame next scroll is performed for.
+   * @param frameTime - frame time in nanoseconds or 0 if container is not animating.
+   */
+  void setFrameTime(long frameTime) {
+    mFrameTime = frameTime;
+  }
+
+  /**
+   * Returns time of animation frame effects were applied for.
+   * @return frame time in nanoseconds or 0 if container is not animating.
+   */
+  long getFrameTime() {
+    return mFrameTime;
+  }
+
   /**
    * Indicates that scrolling was performed.
    * @param factor - factor of scrolling. Can be in range from 0f to 1f.
@@ -82,14 +581,300 @@ public class BaseContainerController implements ContainerController {
     mFadeFactor = fadeFactor;
 
     final boolean updateEffects;
-    if (enableEffects)
+    if (enableEffects) {
+      final FrameStats stats = mFrameStats;
+      final long startTime = stats != null ? System.nanoTime() : 0;
+      final int startAllocations = stats != null ? FrameStats.getThreadAllocations() : 0;
       updateEffects = mEffectsController.apply(factor, isOpening ? EffectsController.EFFECT_OPEN : EffectsController.EFFECT_CLOSE);
-    else {
+      if (updateEffects && stats != null)
+        stats.addEffectEvaluation(System.nanoTime() - startTime, FrameStats.getThreadAllocations() - startAllocations);
+    } else {
       mEffectsController.reset();
       updateEffects = false;
     }
 
-    if (updateEffects || mFadeFactor > 0)
+    final boolean wasMatrixOnProperties = isMatrixOnProperties;
+    if (isUsingRenderProperties && (updateEffects || wasMatrixOnProperties)) {
+      isMatrixOnProperties = applyProperties(mEffectsController.getEffectsMatrix());
+      if (wasMatrixOnProperties && !isMatrixOnProperties)
+        resetProperties();
+    }
+
+    final boolean wasAlphaOnProperties = isAlphaOnProperties;
+    final float alpha = mEffectsController.getEffectsAlpha();
+    if (updateEffects || wasAlphaOnProperties)
+      isAlphaOnProperties = applyAlpha(alpha);
+    if (alpha != 1f && isMeasuringAlpha())
+      ++mAlphaFrames[mAlphaCandidate];
+
+    final boolean wasFadeOnLayerPaint = isFadeOnLayerPaint;
+    if (mFadeFactor > 0 || wasFadeOnLayerPaint)
+      isFadeOnLayerPaint = applyLayerFade(mFadeFactor);
+
+    // view properties and layer paint don't require drawing of container again
+    final boolean redrawEffects = updateEffects
+        && (!isMatrixOnProperties || (!isAlphaOnProperties && alpha != 1f));
+    final boolean redrawFade = mFadeFactor > 0 && !isFadeOnLayerPaint;
+    if (redrawEffects || redrawFade
+        || wasMatrixOnProperties != isMatrixOnProperties
+        || wasAlphaOnProperties != isAlphaOnProperties
+        || wasFadeOnLayerPaint != isFadeOnLayerPaint)
+      // scrolling is applied just before drawing, so invalidate to draw changes at current frame
+      view.invalidate();
+  }
+
+  /**
+   * Indicates that swiping is finished and container won't be moved until next one.
+   */
+  void onScrollFinished() {
+    if (isFadeOnLayerPaint) {
+      // fade will be drawn over container while it is not moving
+      isFadeOnLayerPaint = false;
+      clearLayerPaint();
       view.postInvalidate();
+    }
+
+    if (isSwipingLayerEnabled)
+      disableSwipingLayer();
+
+    if (isMeasuringAlpha())
+      nextAlphaCandidate();
+  }
+
+  /**
+   * Prepares canvas to draw children of container with effects applied.
+   * @param canvas - canvas to draw at.
+   * @return save count to pass to {@link #afterDispatchDraw(Canvas, int)}.
+   */
+  int beforeDispatchDraw(Canvas canvas) {
+    final int saveCount = canvas.save();
+    if (mFrameStats != null)
+      ++mFrameStats.mDraws;
+    if (mFrameStats != null || isMeasuringAlpha())
+      mDrawStartTime = System.nanoTime();
+
+    final Matrix m = getEffectsCanvasMatrix();
+    if (!m.isIdentity())
+      canvas.concat(m);
+
+    isFadeOnCanvasLayer = false;
+
+    final float alpha = getEffectsCanvasAlpha();
+    if (alpha != 1f) {
+      if (mFrameStats != null)
+        ++mFrameStats.mLayerSaves;
+
+      // layer is bounded to visible part of view only
+      final Rect r = mLayerRect;
+      final int left = view.getScrollX();
+      final int top = view.getScrollY();
+      if (!canvas.getClipBounds(r) || !r.intersect(left, top, left + view.getWidth(), top + view.getHeight()))
+        r.set(left, top, left + view.getWidth(), top + view.getHeight());
+
+      if (isFadeCombined && mFadeFactor > 0 && !isFadeOnLayerPaint) {
+        // fade is applied while composing layer instead of filling it once more
+        isFadeOnCanvasLayer = true;
+        mLayerPaint.setAlpha((int)(255 * alpha));
+        mLayerPaint.setColorFilter(getFadeFilter(mFadeFactor));
+        canvas.saveLayer(r.left, r.top, r.right, r.bottom, mLayerPaint, Canvas.HAS_ALPHA_LAYER_SAVE_FLAG);
+      } else {
+        canvas.saveLayerAlpha(r.left, r.top, r.right, r.bottom, (int)(255 * alpha), Canvas.HAS_ALPHA_LAYER_SAVE_FLAG);
+      }
+    }
+
+    return saveCount;
+  }
+
+  /**
+   * Draws fade of container and restores canvas.
+   * @param canvas - canvas to draw at.
+   * @param saveCount - save count returned by {@link #beforeDispatchDraw(Canvas)}.
+   */
+  void afterDispatchDraw(Canvas canvas, int saveCount) {
+    if (mFadeFactor > 0 && !isFadeOnLayerPaint && !isFadeOnCanvasLayer) {
+      mFadePaint.setColor(Color.argb(mFadeFactor, 0, 0, 0));
+      canvas.drawRect(0, 0, view.getWidth(), view.getHeight(), mFadePaint);
+    }
+
+    canvas.restoreToCount(saveCount);
+
+    if (mDrawStartTime > 0) {
+      final long drawTime = System.nanoTime() - mDrawStartTime;
+      if (mFrameStats != null)
+        mFrameStats.mDrawTime += drawTime;
+      // drawing with effects alpha is counted for strategy it was drawn with
+      if (mEffectsController.getEffectsAlpha() != 1f && isMeasuringAlpha())
+        mAlphaDrawTimes[mAlphaCandidate] += drawTime;
+    }
+    mDrawStartTime = 0;
+  }
+
+  /**
+   * Returns part of effects alpha that should be applied to canvas while drawing.
+   * @return effects alpha or 1f if it is applied through view alpha.
+   */
+  private float getEffectsCanvasAlpha() {
+    return isAlphaOnProperties ? 1f : mEffectsController.getEffectsAlpha();
+  }
+
+  /**
+   * Applies alpha through view alpha if strategy allows it.
+   * @param alpha - alpha to apply.
+   * @return true if non-opaque alpha was applied to view, false otherwise.
+   */
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private boolean applyAlpha(float alpha) {
+    final int strategy = resolveAlphaStrategy();
+    if (strategy == ALPHA_LAYER || alpha == 1f) {
+      // opaque view needs no alpha property, so it isn't set again on every scroll
+      if (isAlphaOnProperties)
+        view.setAlpha(1f);
+      return false;
+    }
+
+    if (strategy == ALPHA_HARDWARE_LAYER && !isSwipingLayerEnabled)
+      enableSwipingLayer();
+
+    view.setAlpha(alpha);
+    return true;
+  }
+
+  /**
+   * Applies fade through paint of hardware layer used while swiping, so fade doesn't
+   * require container to be drawn again. Android 4.2 and up only.
+   * @param fadeFactor - fade to apply.
+   * @return true if fade was applied, false otherwise.
+   */
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+  private boolean applyLayerFade(int fadeFactor) {
+    if (!isFadeCombined || Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1)
+      return false;
+
+    if (fadeFactor <= 0) {
+      if (isFadeOnLayerPaint)
+        clearLayerPaint();
+      return false;
+    }
+
+    if (!isSwipingLayerEnabled) {
+      if (resolveAlphaStrategy() != ALPHA_HARDWARE_LAYER)
+        return false;
+      enableSwipingLayer();
+    }
+
+    mLayerPaint.setAlpha(255);
+    mLayerPaint.setColorFilter(getFadeFilter(fadeFactor));
+    view.setLayerPaint(mLayerPaint);
+    return true;
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+  private void clearLayerPaint() {
+    mLayerPaint.setColorFilter(null);
+    view.setLayerPaint(null);
+  }
+
+  /**
+   * Returns color filter that draws black color with given alpha over pixels.
+   * @param fadeFactor - alpha of fade.
+   * @return
+   */
+  private static PorterDuffColorFilter getFadeFilter(int fadeFactor) {
+    if (fadeFactor > 255)
+      fadeFactor = 255;
+
+    PorterDuffColorFilter filter = FADE_FILTERS[fadeFactor];
+    if (filter == null) {
+      filter = new PorterDuffColorFilter(Color.argb(fadeFactor, 0, 0, 0), PorterDuff.Mode.SRC_OVER);
+      FADE_FILTERS[fadeFactor] = filter;
+    }
+    return filter;
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private void enableSwipingLayer() {
+    isSwipingLayerEnabled = true;
+    mSwipingLayerPrevType = view.getLayerType();
+    if (mSwipingLayerPrevType != View.LAYER_TYPE_HARDWARE)
+      view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private void disableSwipingLayer() {
+    isSwipingLayerEnabled = false;
+    if (mSwipingLayerPrevType != View.LAYER_TYPE_HARDWARE)
+      view.setLayerType(mSwipingLayerPrevType, null);
+  }
+
+  /**
+   * Applies matrix through view properties if it can be decomposed into
+   * translation, scale and rotation.
+   * @param m - matrix to apply.
+   * @return true if matrix was applied, false otherwise.
+   */
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private boolean applyProperties(Matrix m) {
+    final float[] p = mProperties;
+    if (!decomposeProperties(m, p))
+      return false;
+
+    // effects are applied to scrolled canvas while view properties are
+    // applied before scrolling, so pivot is moved to scrolled origin
+    view.setPivotX(-view.getScrollX());
+    view.setPivotY(-view.getScrollY());
+    mEffectsTranslationX = p[PROPERTY_TRANSLATION_X];
+    view.setTranslationX(mEffectsTranslationX + mMovementOffset);
+    view.setTranslationY(p[PROPERTY_TRANSLATION_Y]);
+    view.setRotation(p[PROPERTY_ROTATION]);
+    view.setScaleX(p[PROPERTY_SCALE_X]);
+    view.setScaleY(p[PROPERTY_SCALE_Y]);
+    return true;
+  }
+
+  /**
+   * Decomposes matrix into translation, scale and rotation.
+   * @param m - matrix to decompose.
+   * @param p - array to write properties to.
+   * @return true if matrix was decomposed, false otherwise.
+   */
+  private boolean decomposeProperties(Matrix m, float[] p) {
+    final float[] v = mValues;
+    m.getValues(v);
+
+    if (v[Matrix.MPERSP_0] != 0f || v[Matrix.MPERSP_1] != 0f || v[Matrix.MPERSP_2] != 1f)
+      return false;
+
+    final float a = v[Matrix.MSCALE_X];
+    final float b = v[Matrix.MSKEW_X];
+    final float c = v[Matrix.MSKEW_Y];
+    final float d = v[Matrix.MSCALE_Y];
+
+    // matrix is treated as rotate(scale(x, y)), so columns should be orthogonal
+    final float scaleX = (float) Math.sqrt(a * a + c * c);
+    if (scaleX < EPSILON)
+      return false;
+
+    final float cos = a / scaleX;
+    final float sin = c / scaleX;
+    final float scaleY = (a * d - b * c) / scaleX;
+    if (Math.abs(b + scaleY * sin) > EPSILON || Math.abs(d - scaleY * cos) > EPSILON)
+      return false;
+
+    p[PROPERTY_TRANSLATION_X] = v[Matrix.MTRANS_X];
+    p[PROPERTY_TRANSLATION_Y] = v[Matrix.MTRANS_Y];
+    p[PROPERTY_ROTATION] = (float) Math.toDegrees(Math.atan2(sin, cos));
+    p[PROPERTY_SCALE_X] = scaleX;
+    p[PROPERTY_SCALE_Y] = scaleY;
+    return true;
+  }
+
+  @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+  private void resetProperties() {
+    mEffectsTranslationX = 0f;
+    view.setTranslationX(mMovementOffset);
+    view.setTranslationY(0f);
+    view.setRotation(0f);
+    view.setScaleX(1f);
+    view.setScaleY(1f);
   }
 }
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.view.animation.Animation;
+import android.view.animation.Interpolator;
+
+/**
+ * Base class for effects changing linearly from start to end value.
+ * Factor of effect is passed through interpolator before applying.
+ * @author steven
+ *
+ */
+public abstract class BaseEffect implements Effect {
+
+  private Interpolator mInterpolator;
+
+  /**
+   * Setter for interpolator.
+   * @param interpolator - interpolator to apply to effect factor. Linear interpolation is used if null.
+   */
+  public void setInterpolator(Interpolator interpolator) {
+    mInterpolator = interpolator;
+  }
+
+  /**
+   * Getter for interpolator.
+   * @return interpolator that is applied to effect factor.
+   */
+  public Interpolator getInterpolator() {
+    return mInterpolator;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    // No-op
+  }
+
+  /**
+   * Returns interpolated value of effect factor.
+   * @param factor - factor of effect. Can be in range from 0f to 1f.
+   * @return
+   */
+  protected float getInterpolation(float factor) {
+    return mInterpolator == null ? factor : mInterpolator.getInterpolation(factor);
+  }
+
+  /**
+   * Converts value according to its type.
+   * @param type - one of {@link Animation#ABSOLUTE}, {@link Animation#RELATIVE_TO_SELF} or {@link Animation#RELATIVE_TO_PARENT}.
+   * @param value - value to convert.
+   * @param size - size of container.
+   * @param parentSize - size of container parent.
+   * @return value in pixels.
+   */
+  protected static float resolveSize(int type, float value, int size, int parentSize) {
+    switch (type) {
+    case Animation.RELATIVE_TO_SELF:
+      return size * value;
+    case Animation.RELATIVE_TO_PARENT:
+      return parentSize * value;
+    default:
+      return value;
+    }
+  }
+}
@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.io.PrintWriter;
+
+/**
+ * Replays {@link GestureTrace} and collects cost of every event, content position after every
+ * event and count of transitions between hidden, shown, swiping and settling states.
+ * <p>
+ * Frames are stepped by {@link VirtualFrameClock} between events according to their times.
+ * Cost of event is time of its handling plus time of frames stepped after it until next event:
+ * auto-scrolling, applying of effects and frame end work, which are done in frames rather than
+ * while event is handled.
+ * @author steven
+ *
+ */
+public abstract class BaseGestureReplayer {
+  static final long NANOS_PER_MS = 1000000;
+
+  private static final int STATE_HIDDEN = 0;
+  private static final int STATE_SHOWN = 1;
+  private static final int STATE_SWIPING = 2;
+  private static final int STATE_SETTLING = 3;
+
+  /**
+   * Maximum count of frames stepped after last event.
+   */
+  private static final int MAX_TRAILING_FRAMES = 600;
+
+  protected final GestureTrace mTrace;
+
+  private final long[] mHandlingTimes;
+  private final long[] mFrameTimes;
+  private final int[] mPositions;
+  private int mFinalPosition;
+  private int mFrames;
+  private int mStateTransitions;
+  private int mState;
+
+  protected BaseGestureReplayer(GestureTrace trace) {
+    mTrace = trace;
+
+    final int count = trace.getEventCount();
+    mHandlingTimes = new long[count];
+    mFrameTimes = new long[count];
+    mPositions = new int[count];
+  }
+
+  public GestureTrace getTrace() {
+    return mTrace;
+  }
+
+  public int getEventCount() {
+    return mTrace.getEventCount();
+  }
+
+  /**
+   * Returns time of event handling during last replay.
+   * @param index - index of event.
+   * @return time in nanoseconds.
+   */
+  public long getHandlingTime(int index) {
+    return mHandlingTimes[index];
+  }
+
+  /**
+   * Returns time of frames stepped after event until next one during last replay.
+   * @param index - index of event.
+   * @return time in nanoseconds.
+   */
+  public long getFrameTime(int index) {
+    return mFrameTimes[index];
+  }
+
+  /**
+   * Returns cost of event during last replay: time of its handling and frames stepped after it.
+   * @param index - index of event.
+   * @return time in nanoseconds.
+   */
+  public long getCost(int index) {
+    return mHandlingTimes[index] + mFrameTimes[index];
+  }
+
+  /**
+   * Returns content position after event was handled during last replay.
+   * @param index - index of event.
+   * @return position in pixels, 0 if content is shown.
+   */
+  public int getPosition(int index) {
+    return mPositions[index];
+  }
+
+  /**
+   * Returns content position after all frames of last replay were stepped.
+   * @return position in pixels, 0 if content is shown.
+   */
+  public int getFinalPosition() {
+    return mFinalPosition;
+  }
+
+  /**
+   * Returns count of frames stepped during last replay.
+   * @return
+   */
+  public int getFrameCount() {
+    return mFrames;
+  }
+
+  /**
+   * Returns count of transitions between hidden, shown, swiping and settling states
+   * during last replay.
+   * @return
+   */
+  public int getStateTransitions() {
+    return mStateTransitions;
+  }
+
+  public long getTotalHandlingTime() {
+    long total = 0;
+    for (int i=0; i<mHandlingTimes.length; ++i)
+      total += mHandlingTimes[i];
+    return total;
+  }
+
+  public long getMaxHandlingTime() {
+    long max = 0;
+    for (int i=0; i<mHandlingTimes.length; ++i)
+      max = Math.max(max, mHandlingTimes[i]);
+    return max;
+  }
+
+  public long getTotalCost() {
+    long total = 0;
+    for (int i=0; i<mHandlingTimes.length; ++i)
+      total += getCost(i);
+    return total;
+  }
+
+  public long getMaxCost() {
+    long max = 0;
+    for (int i=0; i<mHandlingTimes.length; ++i)
+      max = Math.max(max, getCost(i));
+    return max;
+  }
+
+  /**
+   * Prints summary of last replay.
+   * @param pw - writer to print to.
+   */
+  public void dump(PrintWriter pw) {
+    final int count = mHandlingTimes.length;
+    pw.print("events: "); pw.print(count);
+    pw.print(" frames: "); pw.print(mFrames);
+    pw.print(" state transitions: "); pw.println(mStateTransitions);
+    pw.print("handling time: total="); pw.print(getTotalHandlingTime() / 1000000f);
+    pw.print("ms average="); pw.print(count > 0 ? getTotalHandlingTime() / count : 0);
+    pw.print("ns max="); pw.print(getMaxHandlingTime());
+    pw.println("ns");
+    pw.print("cost with frames: total="); pw.print(getTotalCost() / 1000000f);
+    pw.print("ms average="); pw.print(count > 0 ? getTotalCost() / count : 0);
+    pw.print("ns max="); pw.print(getMaxCost());
+    pw.println("ns");
+    pw.print("final position: "); pw.println(mFinalPosition);
+  }
+
+  /**
+   * Passes all events of trace to {@link #dispatchEvent(int)} and steps frames between them.
+   * @param clock - clock frames of replayed drawer are stepped by.
+   */
+  protected final void replay(VirtualFrameClock clock) {
+    final int count = mTrace.getEventCount();
+    if (count > 0)
+      clock.setTime(mTrace.getEvent(0).getEventTime() * NANOS_PER_MS);
+
+    mFrames = 0;
+    mStateTransitions = 0;
+    mState = getState();
+    for (int i=0; i<count; ++i) {
+      // frames before next event are caused by previous ones
+      final long frameTime = stepFrames(clock, mTrace.getEvent(i).getEventTime() * NANOS_PER_MS);
+      if (i > 0)
+        mFrameTimes[i - 1] += frameTime;
+      mFrameTimes[i] = 0;
+
+      final long start = System.nanoTime();
+      dispatchEvent(i);
+      mHandlingTimes[i] = System.nanoTime() - start;
+
+      mPositions[i] = getContentPosition();
+      updateState();
+    }
+
+    if (count > 0) {
+      for (int f=0; f<MAX_TRAILING_FRAMES && clock.hasPendingFrames(); ++f)
+        mFrameTimes[count - 1] += stepFrame(clock);
+    }
+    mFinalPosition = getContentPosition();
+  }
+
+  /**
+   * Passes event to drawer.
+   * @param index - index of event in trace.
+   */
+  protected abstract void dispatchEvent(int index);
+
+  protected abstract int getContentPosition();
+
+  protected abstract boolean isContentSwiping();
+
+  protected abstract boolean isContentMoving();
+
+  protected abstract boolean isContentShown();
+
+  /**
+   * Steps frames of clock until given time.
+   * @return time spent on stepped frames in nanoseconds.
+   */
+  private long stepFrames(VirtualFrameClock clock, long time) {
+    long frameTime = 0;
+    while (clock.getTime() + VirtualFrameClock.FRAME_INTERVAL <= time)
+      frameTime += stepFrame(clock);
+    if (clock.getTime() < time)
+      clock.setTime(time);
+    return frameTime;
+  }
+
+  private long stepFrame(VirtualFrameClock clock) {
+    final long start = System.nanoTime();
+    if (clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL))
+      ++mFrames;
+    final long time = System.nanoTime() - start;
+    updateState();
+    return time;
+  }
+
+  private void updateState() {
+    final int state = getState();
+    if (state != mState) {
+      ++mStateTransitions;
+      mState = state;
+    }
+  }
+
+  private int getState() {
+    if (isContentSwiping())
+      return STATE_SWIPING;
+    if (isContentMoving())
+      return STATE_SETTLING;
+    return isContentShown() ? STATE_SHOWN : STATE_HIDDEN;
+  }
+}
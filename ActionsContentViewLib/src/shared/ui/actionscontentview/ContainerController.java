@@ -15,11 +15,33 @@
  ******************************************************************************/
 package shared.ui.actionscontentview;
 
-import shared.ui.actionscontentview.EffectsController.Effect;
+import android.view.View;
 import android.view.animation.Animation;
 
 public interface ContainerController {
 
+  /**
+   * Alpha strategy is chosen by measured cost: while layout is hardware accelerated, swipes
+   * alternate between {@link #ALPHA_LAYER} and {@link #ALPHA_HARDWARE_LAYER} until both were
+   * measured for a number of frames, then one with lower drawing time of layout per frame is used.
+   * {@link #ALPHA_LAYER} is used if layout isn't hardware accelerated.
+   */
+  public static final int ALPHA_AUTO = 0;
+  /**
+   * Effects alpha is applied through offscreen layer bounded to visible part of layout.
+   */
+  public static final int ALPHA_LAYER = 1;
+  /**
+   * Effects alpha is applied through alpha of layout, see {@link #setOverlappingRendering(boolean)}.
+   * Android 3.0 and up only.
+   */
+  public static final int ALPHA_VIEW = 2;
+  /**
+   * Effects alpha is applied through alpha of layout drawn to hardware layer while swiping.
+   * Android 3.0 and up only.
+   */
+  public static final int ALPHA_HARDWARE_LAYER = 3;
+
   /**
    * Setter for ignore touch events key.
    * @param ignore
@@ -44,9 +66,129 @@ public interface ContainerController {
    */
   public void setEffects(Animation effects);
 
+  /**
+   * Setter for effects.
+   * @param effects - effect will be used for current layout while swipping.
+   */
+  public void setEffects(Effect effects);
+
+  /**
+   * Getter for effects.
+   * @return animations that are used as effects for current layout while swipping
+   * when opening and closing. Effects not built from animations are returned as null.
+   * @deprecated use {@link #getContainerEffects()} instead.
+   */
+  @Deprecated
+  public LegacyEffect[] getEffects();
+
   /**
    * Getter for effects.
-   * @return animation that is used as effect for current layout while swipping.
+   * @return effects that are used for current layout while swipping when opening and closing.
    */
-  public Effect[] getEffects();
+  public Effect[] getContainerEffects();
+
+  /**
+   * Setter for baked effects mode. Effects will be sampled into fixed-resolution
+   * timelines once size of layout is known and every swiping frame will interpolate
+   * between two closest samples instead of evaluating animations.
+   * @param baked
+   */
+  public void setEffectsBaked(boolean baked);
+
+  /**
+   * Getter for baked effects mode.
+   * @return
+   */
+  public boolean isEffectsBaked();
+
+  /**
+   * Setter for render properties mode. Effects matrix will be applied through
+   * translation, scale, rotation and pivot properties of layout if it can be
+   * decomposed into them, so layout doesn't need to be drawn again while swiping.
+   * Other matrices are applied to canvas while drawing. Enabled by default
+   * for Android 3.0 and up, ignored for earlier versions.
+   * @param use
+   */
+  public void setUseRenderProperties(boolean use);
+
+  /**
+   * Getter for render properties mode.
+   * @return
+   */
+  public boolean isUsingRenderProperties();
+
+  /**
+   * Setter for alpha strategy. {@link #ALPHA_AUTO} is used by default.
+   * @param strategy - one of {@link #ALPHA_AUTO}, {@link #ALPHA_LAYER},
+   * {@link #ALPHA_VIEW} or {@link #ALPHA_HARDWARE_LAYER}.
+   */
+  public void setAlphaStrategy(int strategy);
+
+  /**
+   * Getter for alpha strategy.
+   * @return
+   */
+  public int getAlphaStrategy();
+
+  /**
+   * Returns strategy effects alpha is applied with now.
+   * @return {@link #ALPHA_LAYER}, {@link #ALPHA_VIEW} or {@link #ALPHA_HARDWARE_LAYER}.
+   */
+  public int getResolvedAlphaStrategy();
+
+  /**
+   * Setter for overlapping rendering hint. If layout content doesn't overlap,
+   * alpha can be applied to every drawing operation without offscreen buffer.
+   * It is used by {@link #ALPHA_VIEW} strategy on Android 4.1 and up.
+   * @param overlapping
+   */
+  public void setOverlappingRendering(boolean overlapping);
+
+  /**
+   * Getter for overlapping rendering hint.
+   * @return
+   */
+  public boolean hasOverlappingRendering();
+
+  /**
+   * Setter for combined fade mode. Fade will be applied together with layer of layout
+   * if one is used for effects alpha or swiping instead of filling layout once more.
+   * Enabled by default.
+   * @param combined
+   */
+  public void setFadeCombined(boolean combined);
+
+  /**
+   * Getter for combined fade mode.
+   * @return
+   */
+  public boolean isFadeCombined();
+
+  /**
+   * Adds view which is laid out right away while layout of container is frozen.
+   * The view keeps its current size and position, so only its children are laid out.
+   * @param view - descendant view of container.
+   */
+  public void addLayoutFreezeException(View view);
+
+  /**
+   * Removes view added by {@link #addLayoutFreezeException(View)}.
+   * @param view
+   */
+  public void removeLayoutFreezeException(View view);
+
+  /**
+   * Animation used as effect, returned by {@link ContainerController#getEffects()}.
+   * @deprecated use {@link Effect} returned by {@link ContainerController#getContainerEffects()} instead.
+   */
+  @Deprecated
+  public static class LegacyEffect {
+    public final Animation anim;
+    public final long totalTime;
+
+    public LegacyEffect(Animation anim) {
+      this.anim = anim;
+      totalTime = anim.computeDurationHint();
+    }
+  }
 }
@@ -18,9 +18,6 @@ package shared.ui.actionscontentview;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Matrix;
-import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.RectF;
 import android.os.Build;
@@ -38,7 +35,6 @@ class ContentLayout extends LinearLayout {
 
   private final Rect mHitRect = new Rect();
   private final RectF mEffectedHitRect = new RectF();
-  private final Paint mFadePaint = new Paint();
 
   private OnSwipeListener mOnSwipeListener;
 
@@ -86,7 +82,8 @@ class ContentLayout extends LinearLayout {
 
     // applying effects
     mEffectedHitRect.set(mHitRect);
-    mController.getEffectsMatrix().mapRect(mEffectedHitRect);
+    // hit rect already includes effects applied through view properties
+    mController.getEffectsCanvasMatrix().mapRect(mEffectedHitRect);
 
     if (mEffectedHitRect.contains((int)event.getX(), (int)event.getY())) {
       return true;
@@ -103,25 +100,21 @@ class ContentLayout extends LinearLayout {
   }
 
   @Override
-  protected void dispatchDraw(Canvas canvas) {
-    final int saveCount = canvas.save();
-
-    final Matrix m = mController.getEffectsMatrix();
-    if (!m.isIdentity())
-      canvas.concat(m);
+  public void requestLayout() {
+    // controller is not created yet when request comes from super constructor
+    if (mController == null || mController.onRequestLayout())
+      super.requestLayout();
+  }
 
-    final float alpha = mController.getEffectsAlpha();
-    if (alpha != 1f)
-      canvas.saveLayerAlpha(0, 0, canvas.getWidth(), canvas.getHeight(), (int)(255 * alpha), Canvas.HAS_ALPHA_LAYER_SAVE_FLAG);
+  @Override
+  public boolean hasOverlappingRendering() {
+    return mController.hasOverlappingRendering();
+  }
 
+  @Override
+  protected void dispatchDraw(Canvas canvas) {
+    final int saveCount = mController.beforeDispatchDraw(canvas);
     super.dispatchDraw(canvas);
-
-    final int fadeFactor = mController.getFadeFactor();
-    if (fadeFactor > 0f) {
-      mFadePaint.setColor(Color.argb(fadeFactor, 0, 0, 0));
-      canvas.drawRect(0, 0, getWidth(), getHeight(), mFadePaint);
-    }
-
-    canvas.restoreToCount(saveCount);
+    mController.afterDispatchDraw(canvas, saveCount);
   }
 }
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+/**
+ * Performance metrics of one transition of {@link ActionsContentView}: swipe gesture
+ * with following settling or programmatic showing and hiding of content.
+ * Object is reused for every transition.
+ * @author steven
+ *
+ */
+public final class DrawerMetrics {
+  boolean isGesture;
+  boolean isContentShown;
+  long mTouchToMovementTime;
+  int mFrames;
+  int mFramesOverBudget;
+  long mMaxFrameTime;
+  long mFrameBudget;
+  /**
+   * Time settling was started at in time base of frames, -1 if there was no settling.
+   */
+  long mSettleStartTime;
+  long mSettleDuration;
+  boolean isEffectsActive;
+  boolean isFadeActive;
+
+  DrawerMetrics() {
+  }
+
+  /**
+   * Indicates whether transition was started by touch.
+   * @return
+   */
+  public boolean isGesture() {
+    return isGesture;
+  }
+
+  /**
+   * Indicates whether content is shown after transition.
+   * @return
+   */
+  public boolean isContentShown() {
+    return isContentShown;
+  }
+
+  /**
+   * Returns time from touch down to first movement of content.
+   * @return time in milliseconds or -1 if transition wasn't started by touch.
+   */
+  public long getTouchToMovementTime() {
+    return mTouchToMovementTime;
+  }
+
+  /**
+   * Returns count of frames drawn during transition.
+   * @return
+   */
+  public int getFrames() {
+    return mFrames;
+  }
+
+  /**
+   * Returns count of frames which took longer than frame budget.
+   * Frame time is measured from first work done for frame till end of its drawing.
+   * @return
+   */
+  public int getFramesOverBudget() {
+    return mFramesOverBudget;
+  }
+
+  /**
+   * Returns longest frame time.
+   * @return time in nanoseconds.
+   */
+  public long getMaxFrameTime() {
+    return mMaxFrameTime;
+  }
+
+  /**
+   * Returns frame budget based on display refresh rate.
+   * @return time in nanoseconds.
+   */
+  public long getFrameBudget() {
+    return mFrameBudget;
+  }
+
+  /**
+   * Returns duration of settling to bound.
+   * @return time in milliseconds or 0 if there was no settling.
+   */
+  public long getSettleDuration() {
+    return mSettleDuration;
+  }
+
+  /**
+   * Indicates whether effects were applied during transition.
+   * @return
+   */
+  public boolean isEffectsActive() {
+    return isEffectsActive;
+  }
+
+  /**
+   * Indicates whether fade was applied during transition.
+   * @return
+   */
+  public boolean isFadeActive() {
+    return isFadeActive;
+  }
+
+  void start(long frameBudget) {
+    isGesture = false;
+    mFrameBudget = frameBudget;
+    mTouchToMovementTime = -1;
+    mFrames = 0;
+    mFramesOverBudget = 0;
+    mMaxFrameTime = 0;
+    mSettleStartTime = -1;
+    mSettleDuration = 0;
+    isEffectsActive = false;
+    isFadeActive = false;
+  }
+
+  /**
+   * Adds frame to metrics.
+   * @param frameTime - time of frame in nanoseconds.
+   */
+  void addFrame(long frameTime) {
+    ++mFrames;
+    if (frameTime > mFrameBudget)
+      ++mFramesOverBudget;
+    if (frameTime > mMaxFrameTime)
+      mMaxFrameTime = frameTime;
+  }
+}
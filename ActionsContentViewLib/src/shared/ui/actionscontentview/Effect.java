@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.view.animation.Transformation;
+
+/**
+ * Effect applied to container while swiping.
+ * @author steven
+ *
+ */
+public interface Effect {
+
+  /**
+   * Initializes effect with size of container and its parent.
+   * Called once size of container is known.
+   * @param width - width of container.
+   * @param height - height of container.
+   * @param parentWidth - width of container parent.
+   * @param parentHeight - height of container parent.
+   */
+  public void initialize(int width, int height, int parentWidth, int parentHeight);
+
+  /**
+   * Applies effect to transformation. Matrix of effect should be post-concatenated
+   * to transformation matrix and alpha of effect should be multiplied by transformation alpha.
+   * @param factor - factor of effect. Can be in range from 0f to 1f.
+   * @param t - transformation to apply effect to.
+   */
+  public void apply(float factor, Transformation t);
+}
@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.util.ArrayList;
+
+import android.view.animation.Transformation;
+
+/**
+ * Group of effects applied one by one in order they were added.
+ * @author steven
+ *
+ */
+public class EffectSet implements Effect {
+
+  private final ArrayList<Effect> mEffects = new ArrayList<Effect>();
+
+  public void addEffect(Effect effect) {
+    mEffects.add(effect);
+  }
+
+  public int getEffectsCount() {
+    return mEffects.size();
+  }
+
+  public Effect getEffect(int index) {
+    return mEffects.get(index);
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    final int count = mEffects.size();
+    for (int i=0; i<count; ++i)
+      mEffects.get(i).initialize(width, height, parentWidth, parentHeight);
+  }
+
+  @Override
+  public void apply(float factor, Transformation t) {
+    final int count = mEffects.size();
+    for (int i=0; i<count; ++i)
+      mEffects.get(i).apply(factor, t);
+  }
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.graphics.Matrix;
+
+/**
+ * Fixed-resolution table of matrix values and alpha sampled from an effect.
+ * Values between two samples are linearly interpolated.
+ * @author steven
+ *
+ */
+class EffectTimeline {
+  /**
+   * Count of values stored for matrix.
+   */
+  static final int MATRIX_VALUES_COUNT = 9;
+
+  /**
+   * Count of values stored for every sample: matrix values and alpha.
+   */
+  private static final int STRIDE = MATRIX_VALUES_COUNT + 1;
+
+  private final int mResolution;
+  private final float[] mSamples;
+
+  /**
+   * @param resolution - count of intervals timeline is split to. There will be resolution + 1 samples.
+   */
+  public EffectTimeline(int resolution) {
+    if (resolution <= 0)
+      throw new IllegalArgumentException("Resolution should be positive: " + resolution);
+
+    mResolution = resolution;
+    mSamples = new float[(resolution + 1) * STRIDE];
+  }
+
+  public int getResolution() {
+    return mResolution;
+  }
+
+  /**
+   * Stores sample.
+   * @param index - index of sample. Can be in range from 0 to resolution.
+   * @param matrix - matrix of effect at sample factor.
+   * @param alpha - alpha of effect at sample factor.
+   * @param values - temporary array to read matrix values to. Should have at least 9 items.
+   */
+  public void setSample(int index, Matrix matrix, float alpha, float[] values) {
+    matrix.getValues(values);
+
+    final int offset = index * STRIDE;
+    System.arraycopy(values, 0, mSamples, offset, MATRIX_VALUES_COUNT);
+    mSamples[offset + MATRIX_VALUES_COUNT] = alpha;
+  }
+
+  /**
+   * Interpolates samples closest to factor.
+   * @param factor - factor of effect. Can be in range from 0f to 1f.
+   * @param outMatrix - matrix to write interpolated values to.
+   * @param values - temporary array to interpolate matrix values at. Should have at least 9 items.
+   * @return interpolated alpha.
+   */
+  public float apply(float factor, Matrix outMatrix, float[] values) {
+    final float position;
+    if (factor <= 0f)
+      position = 0f;
+    else if (factor >= 1f)
+      position = mResolution;
+    else
+      position = factor * mResolution;
+
+    int index = (int) position;
+    if (index >= mResolution)
+      index = mResolution - 1;
+
+    final float fraction = position - index;
+    final int from = index * STRIDE;
+    final int to = from + STRIDE;
+
+    for (int i=0; i<MATRIX_VALUES_COUNT; ++i) {
+      final float value = mSamples[from + i];
+      values[i] = value + (mSamples[to + i] - value) * fraction;
+    }
+    outMatrix.setValues(values);
+
+    final float alpha = mSamples[from + MATRIX_VALUES_COUNT];
+    return alpha + (mSamples[to + MATRIX_VALUES_COUNT] - alpha) * fraction;
+  }
+}
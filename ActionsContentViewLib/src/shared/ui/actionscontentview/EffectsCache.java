@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import android.annotation.TargetApi;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.content.res.Resources;
+import android.content.res.Resources.Theme;
+import android.os.Build;
+import android.util.Log;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+
+/**
+ * Process-wide cache of effects loaded from resources.
+ * <p>
+ * Parsed effects are cached by resource id and theme, and compiled ones also by
+ * container size and parent size. Themes are held weakly, entries of released
+ * themes are never matched again and are evicted in turn. Compiled effects are
+ * never initialized again, so they can be shared between containers of the same size. Both caches are
+ * bounded and evict least recently used entries. Entries are released on memory trim.
+ * @author steven
+ *
+ */
+final class EffectsCache {
+  private static final String TAG = EffectsCache.class.getSimpleName();
+  private static final boolean DEBUG = false;
+
+  /**
+   * Max count of parsed effects to keep.
+   */
+  private static final int MAX_PARSED = 16;
+  /**
+   * Max count of compiled effects to keep.
+   */
+  private static final int MAX_COMPILED = 32;
+
+  private static final LruMap<Key, AnimationEffect> sParsed = new LruMap<Key, AnimationEffect>(MAX_PARSED);
+  private static final LruMap<Key, AnimationEffect> sCompiled = new LruMap<Key, AnimationEffect>(MAX_COMPILED);
+
+  /**
+   * Key used for lookups to avoid allocations when entry is cached.
+   */
+  private static final Key sLookupKey = new Key();
+
+  private static boolean isTrimCallbacksRegistered = false;
+
+  private EffectsCache() {
+  }
+
+  /**
+   * Returns effect parsed from resources. Returned effect is not initialized and
+   * must be initialized only through {@link #obtainCompiled(Context, int, int, int, int, int)}.
+   * @param context
+   * @param resId - id of animation resource.
+   * @return
+   */
+  public static synchronized AnimationEffect obtainParsed(Context context, int resId) {
+    registerTrimCallbacks(context);
+
+    final Key key = sLookupKey.set(context, resId, 0, 0, 0, 0);
+    AnimationEffect effect = sParsed.get(key);
+    if (effect == null) {
+      if (DEBUG)
+        Log.d(TAG, "Parsing effect: " + resId);
+
+      final Animation anim = AnimationUtils.loadAnimation(context, resId);
+      effect = new AnimationEffect(anim);
+      sParsed.put(new Key(key), effect);
+    }
+    key.release();
+    return effect;
+  }
+
+  /**
+   * Returns effect compiled for given size. Returned effect is initialized
+   * and must not be initialized again.
+   * @param context
+   * @param resId - id of animation resource.
+   * @param width - width of container.
+   * @param height - height of container.
+   * @param parentWidth - width of container parent.
+   * @param parentHeight - height of container parent.
+   * @return
+   */
+  public static synchronized AnimationEffect obtainCompiled(Context context, int resId,
+      int width, int height, int parentWidth, int parentHeight) {
+    final Key key = sLookupKey.set(context, resId, width, height, parentWidth, parentHeight);
+    AnimationEffect effect = sCompiled.get(key);
+    if (effect == null) {
+      final Key compiledKey = new Key(key);
+
+      if (DEBUG)
+        Log.d(TAG, "Compiling effect: " + resId + " for " + width + "x" + height + " in " + parentWidth + "x" + parentHeight);
+
+      effect = new AnimationEffect(obtainParsed(context, resId));
+      effect.initialize(width, height, parentWidth, parentHeight);
+      sCompiled.put(compiledKey, effect);
+    }
+    key.release();
+    return effect;
+  }
+
+  /**
+   * Releases all cached effects.
+   */
+  public static synchronized void clear() {
+    sParsed.clear();
+    sCompiled.clear();
+  }
+
+  /**
+   * Releases compiled effects only. They can be compiled again from parsed ones.
+   */
+  private static synchronized void clearCompiled() {
+    sCompiled.clear();
+  }
+
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+  private static void registerTrimCallbacks(Context context) {
+    if (isTrimCallbacksRegistered)
+      return;
+
+    isTrimCallbacksRegistered = true;
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+      return;
+
+    // application context is null while application itself is being created
+    final Context appContext = context.getApplicationContext();
+    (appContext != null ? appContext : context).registerComponentCallbacks(new ComponentCallbacks2() {
+      @Override
+      public void onTrimMemory(int level) {
+        if (level >= TRIM_MEMORY_MODERATE)
+          clear();
+        else if (level >= TRIM_MEMORY_UI_HIDDEN)
+          clearCompiled();
+      }
+
+      @Override
+      public void onLowMemory() {
+        clear();
+      }
+
+      @Override
+      public void onConfigurationChanged(Configuration newConfig) {
+        // No-op
+      }
+    });
+  }
+
+  private static class Key {
+    /**
+     * Theme of lookup key. Stored keys keep theme through {@link #themeRef} only.
+     */
+    private Theme theme;
+    private WeakReference<Theme> themeRef;
+    private int themeHash;
+    private int resId;
+    private int orientation;
+    private int density;
+    private int width;
+    private int height;
+    private int parentWidth;
+    private int parentHeight;
+
+    public Key() {
+    }
+
+    public Key(Key key) {
+      themeRef = new WeakReference<Theme>(key.getTheme());
+      themeHash = key.themeHash;
+      resId = key.resId;
+      orientation = key.orientation;
+      density = key.density;
+      width = key.width;
+      height = key.height;
+      parentWidth = key.parentWidth;
+      parentHeight = key.parentHeight;
+    }
+
+    public Key set(Context context, int resId, int width, int height, int parentWidth, int parentHeight) {
+      final Resources res = context.getResources();
+      // theme attributes can be referenced from animations
+      this.theme = context.getTheme();
+      themeHash = System.identityHashCode(theme);
+      this.resId = resId;
+      // resources can be different for other orientations and densities
+      this.orientation = res.getConfiguration().orientation;
+      this.density = res.getDisplayMetrics().densityDpi;
+      this.width = width;
+      this.height = height;
+      this.parentWidth = parentWidth;
+      this.parentHeight = parentHeight;
+      return this;
+    }
+
+    /**
+     * Drops strong reference to theme of lookup key, so cache never keeps theme alive.
+     */
+    public void release() {
+      theme = null;
+    }
+
+    private Theme getTheme() {
+      if (theme != null)
+        return theme;
+      return themeRef == null ? null : themeRef.get();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o)
+        return true;
+      if (!(o instanceof Key))
+        return false;
+
+      final Key key = (Key) o;
+      final Theme keyTheme = getTheme();
+      return keyTheme != null && keyTheme == key.getTheme()
+          && resId == key.resId
+          && orientation == key.orientation
+          && density == key.density
+          && width == key.width
+          && height == key.height
+          && parentWidth == key.parentWidth
+          && parentHeight == key.parentHeight;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = themeHash;
+      result = 31 * result + resId;
+      result = 31 * result + orientation;
+      result = 31 * result + density;
+      result = 31 * result + width;
+      result = 31 * result + height;
+      result = 31 * result + parentWidth;
+      result = 31 * result + parentHeight;
+      return result;
+    }
+  }
+
+  private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+    private static final long serialVersionUID = 1L;
+
+    private final int mMaxSize;
+
+    public LruMap(int maxSize) {
+      super(maxSize, 0.75f, true);
+      mMaxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+      return size() > mMaxSize;
+    }
+  }
+}
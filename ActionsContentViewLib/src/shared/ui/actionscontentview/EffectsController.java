@@ -15,98 +15,147 @@
  ******************************************************************************/
 package shared.ui.actionscontentview;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.List;
-
-import android.content.Context;
-import android.content.res.TypedArray;
 import android.graphics.Matrix;
 import android.util.Log;
-import android.view.View;
-import android.view.ViewGroup;
-import android.view.animation.Animation;
-import android.view.animation.AnimationSet;
-import android.view.animation.AnimationUtils;
 import android.view.animation.Transformation;
 
+/**
+ * Applies open and close effects of container. Loading effects from resources and
+ * sharing compiled ones is done by {@link BaseContainerController}, so controller depends
+ * on matrix and transformation only.
+ * @author steven
+ *
+ */
 class EffectsController {
   private static final String TAG = EffectsController.class.getSimpleName();
   private static final boolean DEBUG = false;
 
-  private static final Method APPLY_TRANSFORMATION;
-
   public static final int EFFECT_OPEN = 0;
   public static final int EFFECT_CLOSE = 1;
 
-  private static final int EFFECTS_COUNT = 2;
+  static final int EFFECTS_COUNT = 2;
 
-  static {
-    APPLY_TRANSFORMATION = getApplyTransformation();
-  }
+  /**
+   * Count of intervals every effect is sampled to while baking.
+   */
+  private static final int BAKE_RESOLUTION = 64;
 
   private final Transformation mTransformation = new Transformation();
-  private final Matrix mMatrix = new Matrix();
-  private float mEffectsAlpha = 1f;
 
   private final Effect[] mEffects = new Effect[EFFECTS_COUNT];
+  /**
+   * Ids of resources effects were loaded from. Such effects are shared through {@link EffectsCache}.
+   */
+  private final int[] mEffectIds = new int[EFFECTS_COUNT];
+
+  private final EffectTimeline[] mTimelines = new EffectTimeline[EFFECTS_COUNT];
+  private final float[] mValues = new float[EffectTimeline.MATRIX_VALUES_COUNT];
+
+  /**
+   * Indicates whether effects should be sampled into timelines once initialized.
+   */
+  private boolean isBaked = false;
+  /**
+   * Indicates whether effects were initialized with size of view.
+   */
+  private boolean isInitialized = false;
+
+  public void setEffects(Effect effect) {
+    setEffect(EFFECT_OPEN, effect, 0);
+    setEffect(EFFECT_CLOSE, effect, 0);
+  }
 
-  public void setEffects(Context context, int resId) {
-    final String resourceType = context.getResources().getResourceTypeName(resId);
-
-    if ( !resourceType.equals("array") ) {
-      final Animation anim = AnimationUtils.loadAnimation(context, resId);
-      setEffects(anim);
-      return;
-    }
-
-    final TypedArray effects = context.getResources().obtainTypedArray(resId);
+  /**
+   * Sets effect of given type.
+   * @param effectType - {@link #EFFECT_OPEN} or {@link #EFFECT_CLOSE}.
+   * @param effect - effect to apply.
+   * @param resId - id of resource effect was loaded from, 0 if it wasn't. Such effects
+   * are not initialized by {@link #initialize(int, int, int, int)}, compiled ones should be
+   * set by {@link #setCompiledEffect(int, Effect)} instead.
+   */
+  public void setEffect(int effectType, Effect effect, int resId) {
+    mEffects[effectType] = effect;
+    mEffectIds[effectType] = resId;
+
+    // new effects should be initialized with view size first
+    isInitialized = false;
+    clearTimelines();
+  }
 
-    final int count = effects.length();
-    final int size = Math.min(EFFECTS_COUNT, count);
-    for ( int i=0; i<size; ++i ) {
-      final int id = effects.getResourceId(i, -1);
-      if (id > 0) {
-        final Animation anim = AnimationUtils.loadAnimation(context, id);
-        mEffects[i] = new Effect(anim);
-      }
-    }
-    effects.recycle();
+  /**
+   * Replaces effect loaded from resource with one compiled for size of container.
+   * @param effectType - {@link #EFFECT_OPEN} or {@link #EFFECT_CLOSE}.
+   * @param effect - compiled effect.
+   */
+  public void setCompiledEffect(int effectType, Effect effect) {
+    mEffects[effectType] = effect;
   }
 
-  public void setEffects(Animation animation) {
-    mEffects[0] = mEffects[1] = new Effect(animation);
+  /**
+   * Returns id of resource effect was loaded from.
+   * @param effectType - {@link #EFFECT_OPEN} or {@link #EFFECT_CLOSE}.
+   * @return resource id or 0 if effect wasn't loaded from resources.
+   */
+  public int getEffectId(int effectType) {
+    return mEffectIds[effectType];
   }
 
-  public Effect[] getEffects() {
+  public Effect[] getContainerEffects() {
     return mEffects;
   }
 
-  public void initialize(View v) {
-    if ( mEffects == null )
+  /**
+   * Enables or disables baked mode. In baked mode every effect is sampled into
+   * a fixed-resolution timeline once it is initialized and {@link #apply(float, int)}
+   * interpolates between two closest samples instead of evaluating effects.
+   * @param baked
+   */
+  public void setBaked(boolean baked) {
+    if (isBaked == baked)
       return;
 
-    final ViewGroup parent = (ViewGroup) v.getParent();
-    if ( parent != null ) {
-      for ( Effect effect : mEffects ) {
-        if ( effect == null )
-          continue;
-        effect.anim.initialize(v.getWidth(), v.getHeight(), parent.getWidth(), parent.getHeight());
-      }
+    isBaked = baked;
+    if (isBaked && isInitialized)
+      bake();
+    else
+      clearTimelines();
+  }
+
+  public boolean isBaked() {
+    return isBaked;
+  }
+
+  /**
+   * Initializes effects with size of container. Effects loaded from resources
+   * should be compiled for this size before.
+   */
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    for ( int i=0; i<EFFECTS_COUNT; ++i ) {
+      final Effect effect = mEffects[i];
+      if ( effect == null || mEffectIds[i] != 0 )
+        continue;
+
+      // open and close effects can be the same one
+      if ( i > 0 && effect == mEffects[i - 1] )
+        continue;
+      effect.initialize(width, height, parentWidth, parentHeight);
     }
+    isInitialized = true;
+
+    if (isBaked)
+      bake();
   }
 
   public Matrix getEffectsMatrix() {
-    return mMatrix;
+    return mTransformation.getMatrix();
   }
 
   public float getEffectsAlpha() {
-    return mEffectsAlpha;
+    return mTransformation.getAlpha();
   }
 
   public void reset() {
-    mMatrix.reset();
-    mEffectsAlpha = 1f;
+    mTransformation.clear();
   }
 
   public boolean apply(float factor, int effectType) {
@@ -119,93 +168,57 @@ class EffectsController {
     if ( effect == null )
       return false;
 
-    final Animation anim = effect.anim;
-    final long totalTime = effect.totalTime;
-
-    if (anim instanceof AnimationSet) {
-      return apply(factor, (AnimationSet) anim, totalTime);
-    } else {
-      return apply(factor, anim, totalTime);
+    final EffectTimeline timeline = mTimelines[effectType];
+    if (isBaked && timeline != null) {
+      mTransformation.setAlpha(timeline.apply(factor, mTransformation.getMatrix(), mValues));
+      return true;
     }
-  }
-
-  private boolean apply(float factor, Animation animation, long totalTime) {
-    final float animationFactor;
-
-    final long animationDuration = animation.getDuration();
-    if (animationDuration == 0 || totalTime == 0) {
-      animationFactor = factor;
-    } else {
-      final long effectTime = (int) (totalTime * factor);
-
-      final long animationStartOffset = animation.getStartOffset();
-      final long animationEndTime = animationStartOffset + animationDuration;
 
-      if (effectTime < animationStartOffset || effectTime > animationEndTime)
-        return true;
+    effect.apply(factor, mTransformation);
 
-      animationFactor = (float)(effectTime - animationStartOffset) / (float)animationDuration;
+    if (DEBUG) {
+      Log.d(TAG, "Effect: " + effect);
+      Log.d(TAG, " - " + mTransformation.toShortString());
     }
+    return true;
+  }
 
-    try {
-      // we need reset transformation for every animation
-      mTransformation.clear();
-
-      final float interpolatedFactor = animation.getInterpolator().getInterpolation(animationFactor);
-      APPLY_TRANSFORMATION.invoke(animation, interpolatedFactor, mTransformation);
-      if ((mTransformation.getTransformationType() & Transformation.TYPE_MATRIX) == Transformation.TYPE_MATRIX)
-        mMatrix.postConcat(mTransformation.getMatrix());
-      if ((mTransformation.getTransformationType() & Transformation.TYPE_ALPHA) == Transformation.TYPE_ALPHA)
-        mEffectsAlpha *= mTransformation.getAlpha();
+  /**
+   * Samples every initialized effect into timeline.
+   */
+  private void bake() {
+    for (int i=0; i<EFFECTS_COUNT; ++i) {
+      final Effect effect = mEffects[i];
+      if (effect == null) {
+        mTimelines[i] = null;
+        continue;
+      }
 
-      if (DEBUG) {
-        Log.d(TAG, "Transformation: " + animation);
-        Log.d(TAG, " - " + mTransformation.toShortString());
+      // open and close effects can be the same one
+      if (i > 0 && effect == mEffects[i - 1]) {
+        mTimelines[i] = mTimelines[i - 1];
+        continue;
       }
 
-      return true;
-    } catch (IllegalArgumentException e) {
-      // we don't care because this exception should never happen
-    } catch (IllegalAccessException e) {
-      // we don't care because this exception should never happen
-    } catch (InvocationTargetException e) {
-      // we don't care because this exception should never happen
-    }
-    return false;
-  }
+      EffectTimeline timeline = mTimelines[i];
+      if (timeline == null || (i > 0 && timeline == mTimelines[i - 1]))
+        timeline = new EffectTimeline(BAKE_RESOLUTION);
 
-  private boolean apply(float factor, AnimationSet set, long totalTime) {
-    final List<Animation> animations = set.getAnimations();
-    for (Animation a : animations) {
-      if (a instanceof AnimationSet) {
-        if (!apply(factor, (AnimationSet) a, totalTime))
-          return false;
-      } else {
-        if (!apply(factor, a, totalTime))
-          return false;
+      for (int s=0; s<=BAKE_RESOLUTION; ++s) {
+        reset();
+        effect.apply((float) s / BAKE_RESOLUTION, mTransformation);
+        timeline.setSample(s, mTransformation.getMatrix(), mTransformation.getAlpha(), mValues);
       }
+      mTimelines[i] = timeline;
     }
-    return true;
-  }
+    reset();
 
-  private static Method getApplyTransformation() {
-    try {
-      final Method m = Animation.class.getDeclaredMethod("applyTransformation", float.class, Transformation.class);
-      m.setAccessible(true);
-      return m;
-    } catch (NoSuchMethodException e) {
-      // we don't care because this exception should never happen
-    }
-    return null;
+    if (DEBUG)
+      Log.d(TAG, "Effects baked with resolution: " + BAKE_RESOLUTION);
   }
 
-  public static class Effect {
-    public final Animation anim;
-    public final long totalTime;
-
-    public Effect(Animation anim) {
-      this.anim = anim;
-      totalTime = anim.computeDurationHint();
-    }
+  private void clearTimelines() {
+    for (int i=0; i<EFFECTS_COUNT; ++i)
+      mTimelines[i] = null;
   }
 }
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+import android.view.View;
+
+/**
+ * Schedules animation frames. Frames are aligned with display vsync on Android 4.1 and up.
+ * @author steven
+ *
+ */
+abstract class FrameDriver {
+
+  public interface Callback {
+    /**
+     * Called to draw animation frame.
+     * @param frameTimeNanos - time of frame in nanoseconds, {@link System#nanoTime()} time base.
+     */
+    public void doFrame(long frameTimeNanos);
+  }
+
+  protected final Callback mCallback;
+
+  protected FrameDriver(Callback callback) {
+    mCallback = callback;
+  }
+
+  /**
+   * Creates frame driver for current version of Android.
+   * @param view - view to post frames with if vsync is not available.
+   * @param callback - callback to call every frame.
+   * @return
+   */
+  public static FrameDriver create(View view, Callback callback) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+      return new ChoreographerFrameDriver(callback);
+    return new PostFrameDriver(view, callback);
+  }
+
+  /**
+   * Creates frame driver which is scheduled by clock as animation callback.
+   * @param clock - clock to step frames by.
+   * @param callback - callback to call every frame.
+   * @return
+   */
+  public static FrameDriver create(VirtualFrameClock clock, Callback callback) {
+    return new ClockFrameDriver(clock, callback);
+  }
+
+  /**
+   * Schedules callback for next frame. Does nothing if frame is already scheduled.
+   */
+  public abstract void postFrame();
+
+  /**
+   * Removes scheduled frame.
+   */
+  public abstract void cancelFrame();
+
+  /**
+   * Returns current time in time base of frames.
+   * @return time in nanoseconds.
+   */
+  public long now() {
+    return System.nanoTime();
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private static class ChoreographerFrameDriver extends FrameDriver implements Choreographer.FrameCallback {
+    private final Choreographer mChoreographer = Choreographer.getInstance();
+    private boolean isPosted = false;
+
+    public ChoreographerFrameDriver(Callback callback) {
+      super(callback);
+    }
+
+    @Override
+    public void postFrame() {
+      if (isPosted)
+        return;
+
+      isPosted = true;
+      mChoreographer.postFrameCallback(this);
+    }
+
+    @Override
+    public void cancelFrame() {
+      if (!isPosted)
+        return;
+
+      isPosted = false;
+      mChoreographer.removeFrameCallback(this);
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      isPosted = false;
+      mCallback.doFrame(frameTimeNanos);
+    }
+  }
+
+  private static class PostFrameDriver extends FrameDriver implements Runnable {
+    private final View mView;
+    private boolean isPosted = false;
+
+    public PostFrameDriver(View view, Callback callback) {
+      super(callback);
+      mView = view;
+    }
+
+    @Override
+    public void postFrame() {
+      if (isPosted)
+        return;
+
+      isPosted = true;
+      mView.post(this);
+    }
+
+    @Override
+    public void cancelFrame() {
+      if (!isPosted)
+        return;
+
+      isPosted = false;
+      mView.removeCallbacks(this);
+    }
+
+    @Override
+    public void run() {
+      isPosted = false;
+      mCallback.doFrame(now());
+    }
+  }
+
+  private static class ClockFrameDriver extends FrameDriver implements VirtualFrameClock.FrameCallback {
+    private final VirtualFrameClock mClock;
+    private boolean isPosted = false;
+
+    public ClockFrameDriver(VirtualFrameClock clock, Callback callback) {
+      super(callback);
+      mClock = clock;
+    }
+
+    @Override
+    public void postFrame() {
+      if (isPosted)
+        return;
+
+      isPosted = true;
+      mClock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, this);
+    }
+
+    @Override
+    public void cancelFrame() {
+      if (!isPosted)
+        return;
+
+      isPosted = false;
+      mClock.removeFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, this);
+    }
+
+    @Override
+    public long now() {
+      return mClock.getTime();
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+      if (!isPosted)
+        return;
+
+      isPosted = false;
+      mCallback.doFrame(frameTimeNanos);
+    }
+  }
+}
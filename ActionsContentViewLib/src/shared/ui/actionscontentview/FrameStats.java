@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.io.PrintWriter;
+
+import android.os.Debug;
+
+/**
+ * Work done by {@link ActionsContentView} for one frame. Frame starts after previous
+ * drawing pass and ends after its own drawing pass, so it includes touch events,
+ * measuring, layout, effects and drawing of containers.
+ * Totals of all frames since stats were enabled are kept as well.
+ * @author steven
+ *
+ */
+public final class FrameStats {
+  int mMeasures;
+  int mLayouts;
+  int mDraws;
+  int mScrollFactorUpdates;
+  int mScrollFactorApplies;
+  int mEffectEvaluations;
+  long mEffectTime;
+  int mEffectAllocations;
+  long mDrawTime;
+  int mLayerSaves;
+  boolean isAnimating;
+  boolean isLayoutDuringAnimation;
+  long mFrameEndTime;
+  long mFrameInterval;
+  int mAllocations;
+
+  private long mTotalFrames;
+  private long mTotalAnimatingFrames;
+  private long mTotalLayoutDuringAnimationFrames;
+  private long mTotalMeasures;
+  private long mTotalLayouts;
+  private long mTotalDraws;
+  private long mTotalScrollFactorUpdates;
+  private long mTotalScrollFactorApplies;
+  private long mTotalEffectEvaluations;
+  private long mTotalEffectTime;
+  private long mTotalEffectAllocations;
+  private long mTotalDrawTime;
+  private long mTotalLayerSaves;
+  private long mTotalAllocations;
+  private long mTotalAnimatingAllocations;
+  private long mMaxFrameInterval;
+  /**
+   * Count of allocations done by UI thread when current frame was started.
+   */
+  private int mFrameStartAllocations;
+
+  FrameStats() {
+  }
+
+  /**
+   * Returns count of measure passes of view.
+   * @return
+   */
+  public int getMeasures() {
+    return mMeasures;
+  }
+
+  /**
+   * Returns count of layout passes of view.
+   * @return
+   */
+  public int getLayouts() {
+    return mLayouts;
+  }
+
+  /**
+   * Returns count of containers drawing.
+   * @return
+   */
+  public int getDraws() {
+    return mDraws;
+  }
+
+  /**
+   * Returns count of scroll factor changes. They are coalesced into one update per frame.
+   * @return
+   */
+  public int getScrollFactorUpdates() {
+    return mScrollFactorUpdates;
+  }
+
+  /**
+   * Returns count of scroll factor updates applied to containers.
+   * @return
+   */
+  public int getScrollFactorApplies() {
+    return mScrollFactorApplies;
+  }
+
+  /**
+   * Returns count of effects evaluations of containers.
+   * @return
+   */
+  public int getEffectEvaluations() {
+    return mEffectEvaluations;
+  }
+
+  /**
+   * Returns time spent on effects evaluations of containers.
+   * @return time in nanoseconds.
+   */
+  public long getEffectTime() {
+    return mEffectTime;
+  }
+
+  /**
+   * Returns count of objects allocated by effects evaluations.
+   * @return
+   */
+  public int getEffectAllocations() {
+    return mEffectAllocations;
+  }
+
+  /**
+   * Returns time spent on drawing of containers including their children.
+   * @return time in nanoseconds.
+   */
+  public long getDrawTime() {
+    return mDrawTime;
+  }
+
+  /**
+   * Returns average time of one effects evaluation since stats were enabled.
+   * It can be used to compare effects configurations.
+   * @return time in nanoseconds or 0 if effects were not evaluated.
+   */
+  public long getAverageEffectTime() {
+    return mTotalEffectEvaluations > 0 ? mTotalEffectTime / mTotalEffectEvaluations : 0;
+  }
+
+  /**
+   * Returns average count of objects allocated by one effects evaluation since stats were enabled.
+   * @return
+   */
+  public float getAverageEffectAllocations() {
+    return mTotalEffectEvaluations > 0 ? (float) mTotalEffectAllocations / mTotalEffectEvaluations : 0f;
+  }
+
+  /**
+   * Returns count of offscreen layers saved while drawing containers.
+   * @return
+   */
+  public int getLayerSaves() {
+    return mLayerSaves;
+  }
+
+  /**
+   * Indicates whether content was swiped or settling in this frame.
+   * @return
+   */
+  public boolean isAnimating() {
+    return isAnimating;
+  }
+
+  /**
+   * Indicates whether layout pass happened while content was swiped or settling.
+   * @return
+   */
+  public boolean isLayoutDuringAnimation() {
+    return isLayoutDuringAnimation;
+  }
+
+  /**
+   * Returns time frame was finished at.
+   * @return time in nanoseconds, {@link System#nanoTime()} time base.
+   */
+  public long getFrameEndTime() {
+    return mFrameEndTime;
+  }
+
+  /**
+   * Returns time since previous frame was finished.
+   * @return time in nanoseconds or 0 for first frame.
+   */
+  public long getFrameInterval() {
+    return mFrameInterval;
+  }
+
+  /**
+   * Returns count of objects allocated by UI thread during frame.
+   * Frame is finished before listener is called, so allocations of listener are not counted.
+   * @return
+   */
+  public int getAllocations() {
+    return mAllocations;
+  }
+
+  /**
+   * Returns count of objects allocated by UI thread in frames where content was swiped or settling.
+   * It should stay the same once every effect and fade level were used at least once.
+   * @return
+   */
+  public long getTotalAnimatingAllocations() {
+    return mTotalAnimatingAllocations;
+  }
+
+  public long getTotalFrames() {
+    return mTotalFrames;
+  }
+
+  /**
+   * Returns count of frames where layout pass happened while content was swiped or settling.
+   * @return
+   */
+  public long getTotalLayoutDuringAnimationFrames() {
+    return mTotalLayoutDuringAnimationFrames;
+  }
+
+  /**
+   * Finishes frame. Frame counters are added to totals.
+   * @param time - current time in nanoseconds.
+   */
+  void finishFrame(long time) {
+    mFrameInterval = mFrameEndTime > 0 ? time - mFrameEndTime : 0;
+    mFrameEndTime = time;
+    mAllocations = getThreadAllocations() - mFrameStartAllocations;
+
+    ++mTotalFrames;
+    if (isAnimating) {
+      ++mTotalAnimatingFrames;
+      if (mFrameInterval > mMaxFrameInterval)
+        mMaxFrameInterval = mFrameInterval;
+      mTotalAnimatingAllocations += mAllocations;
+    }
+    if (isLayoutDuringAnimation)
+      ++mTotalLayoutDuringAnimationFrames;
+
+    mTotalMeasures += mMeasures;
+    mTotalLayouts += mLayouts;
+    mTotalDraws += mDraws;
+    mTotalScrollFactorUpdates += mScrollFactorUpdates;
+    mTotalScrollFactorApplies += mScrollFactorApplies;
+    mTotalEffectEvaluations += mEffectEvaluations;
+    mTotalEffectTime += mEffectTime;
+    mTotalEffectAllocations += mEffectAllocations;
+    mTotalDrawTime += mDrawTime;
+    mTotalLayerSaves += mLayerSaves;
+    mTotalAllocations += mAllocations;
+  }
+
+  /**
+   * Resets frame counters before next frame.
+   */
+  void startFrame() {
+    mMeasures = 0;
+    mLayouts = 0;
+    mDraws = 0;
+    mScrollFactorUpdates = 0;
+    mScrollFactorApplies = 0;
+    mEffectEvaluations = 0;
+    mEffectTime = 0;
+    mEffectAllocations = 0;
+    mDrawTime = 0;
+    mLayerSaves = 0;
+    isAnimating = false;
+    isLayoutDuringAnimation = false;
+    mFrameStartAllocations = getThreadAllocations();
+  }
+
+  /**
+   * Adds effects evaluation to current frame.
+   * @param time - time of evaluation in nanoseconds.
+   * @param allocations - count of objects allocated by evaluation.
+   */
+  void addEffectEvaluation(long time, int allocations) {
+    ++mEffectEvaluations;
+    mEffectTime += time;
+    mEffectAllocations += allocations;
+  }
+
+  @SuppressWarnings("deprecation")
+  void startAllocationCounting() {
+    Debug.startAllocCounting();
+    mFrameStartAllocations = getThreadAllocations();
+  }
+
+  @SuppressWarnings("deprecation")
+  void stopAllocationCounting() {
+    Debug.stopAllocCounting();
+  }
+
+  @SuppressWarnings("deprecation")
+  static int getThreadAllocations() {
+    return Debug.getThreadAllocCount();
+  }
+
+  /**
+   * Prints totals and counters of current frame.
+   * @param pw - writer to print to.
+   * @param prefix - prefix of every line.
+   */
+  public void dump(PrintWriter pw, String prefix) {
+    pw.print(prefix); pw.print("frames: "); pw.print(mTotalFrames);
+    pw.print(" animating: "); pw.print(mTotalAnimatingFrames);
+    pw.print(" layout during animation: "); pw.println(mTotalLayoutDuringAnimationFrames);
+    pw.print(prefix); pw.print("max animating frame interval: "); pw.print(mMaxFrameInterval / 1000000f);
+    pw.println("ms");
+    pw.print(prefix); pw.print("effects: "); pw.print(getAverageEffectTime());
+    pw.print("ns/op "); pw.print(getAverageEffectAllocations());
+    pw.print(" allocations/op draw time: "); pw.print(mTotalDrawTime / 1000000f);
+    pw.println("ms");
+    pw.print(prefix); pw.print("totals: measures="); pw.print(mTotalMeasures);
+    pw.print(" layouts="); pw.print(mTotalLayouts);
+    pw.print(" draws="); pw.print(mTotalDraws);
+    pw.print(" scrollFactorUpdates="); pw.print(mTotalScrollFactorUpdates);
+    pw.print(" scrollFactorApplies="); pw.print(mTotalScrollFactorApplies);
+    pw.print(" effectEvaluations="); pw.print(mTotalEffectEvaluations);
+    pw.print(" layerSaves="); pw.print(mTotalLayerSaves);
+    pw.print(" allocations="); pw.print(mTotalAllocations);
+    pw.print(" animatingAllocations="); pw.println(mTotalAnimatingAllocations);
+    pw.print(prefix); pw.print("current frame: measures="); pw.print(mMeasures);
+    pw.print(" layouts="); pw.print(mLayouts);
+    pw.print(" draws="); pw.print(mDraws);
+    pw.print(" scrollFactorUpdates="); pw.print(mScrollFactorUpdates);
+    pw.print(" scrollFactorApplies="); pw.print(mScrollFactorApplies);
+    pw.print(" effectEvaluations="); pw.print(mEffectEvaluations);
+    pw.print(" effectTime="); pw.print(mEffectTime);
+    pw.print("ns drawTime="); pw.print(mDrawTime);
+    pw.print("ns");
+    pw.print(" layerSaves="); pw.print(mLayerSaves);
+    pw.print(" allocations="); pw.print(mAllocations);
+    pw.print(" animating="); pw.print(isAnimating);
+    pw.print(" layoutDuringAnimation="); pw.println(isLayoutDuringAnimation);
+  }
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import android.view.MotionEvent;
+
+/**
+ * Records touch events handled by {@link ActionsContentView} to compact binary trace,
+ * which can be read by {@link GestureTrace} and replayed by {@link GestureReplayer}.
+ * Recorder is set by
+ * {@link ActionsContentView#setGestureRecorder(GestureRecorder)}.
+ * <p>
+ * Trace starts with magic number, version and count of events. Every event is stored
+ * as action, down time, event time, count and ids of pointers, count of historical samples
+ * with time and pointer coordinates of every sample, and current pointer coordinates.
+ * @author steven
+ *
+ */
+public final class GestureRecorder {
+  private final ByteArrayOutputStream mBuffer = new ByteArrayOutputStream();
+  private final DataOutputStream mOut = new DataOutputStream(mBuffer);
+  private int mEventCount;
+
+  /**
+   * Returns count of recorded events.
+   * @return
+   */
+  public int getEventCount() {
+    return mEventCount;
+  }
+
+  /**
+   * Removes all recorded events.
+   */
+  public void clear() {
+    mBuffer.reset();
+    mEventCount = 0;
+  }
+
+  /**
+   * Writes trace of recorded events.
+   * @param out - stream to write to.
+   * @throws IOException
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    final DataOutputStream header = new DataOutputStream(out);
+    header.writeInt(GestureTrace.MAGIC);
+    header.writeInt(GestureTrace.VERSION);
+    header.writeInt(mEventCount);
+    header.flush();
+    mBuffer.writeTo(out);
+  }
+
+  /**
+   * Adds event to trace.
+   * @param ev - event to add.
+   */
+  void record(MotionEvent ev) {
+    final DataOutputStream out = mOut;
+    final int pointerCount = ev.getPointerCount();
+    final int historySize = ev.getHistorySize();
+    try {
+      out.writeInt(ev.getAction());
+      out.writeLong(ev.getDownTime());
+      out.writeLong(ev.getEventTime());
+
+      out.writeByte(pointerCount);
+      for (int p=0; p<pointerCount; ++p)
+        out.writeByte(ev.getPointerId(p));
+
+      out.writeShort(historySize);
+      for (int h=0; h<historySize; ++h) {
+        out.writeLong(ev.getHistoricalEventTime(h));
+        for (int p=0; p<pointerCount; ++p) {
+          out.writeFloat(ev.getHistoricalX(p, h));
+          out.writeFloat(ev.getHistoricalY(p, h));
+        }
+      }
+
+      for (int p=0; p<pointerCount; ++p) {
+        out.writeFloat(ev.getX(p));
+        out.writeFloat(ev.getY(p));
+      }
+    } catch (IOException e) {
+      // writing to memory buffer never fails
+      throw new IllegalStateException(e);
+    }
+    ++mEventCount;
+  }
+}
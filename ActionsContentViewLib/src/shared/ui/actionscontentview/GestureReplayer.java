@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.InputDevice;
+import android.view.MotionEvent;
+
+/**
+ * Replays trace recorded by {@link GestureRecorder} through {@link ActionsContentView#dispatchTouchEvent(MotionEvent)}.
+ * Frames of view are stepped by its {@link VirtualFrameClock} between events, so effects and fade
+ * applied in frames are counted in cost of events. If view has no clock set, clock is set
+ * for the duration of replay. See {@link BaseGestureReplayer} for collected results.
+ * <p>
+ * On plain JVM trace is replayed the same way into view built on stand-ins of Android views
+ * from AndroidJvmStubs module and attached to their {@code ViewRootImpl}.
+ * @author steven
+ *
+ */
+public final class GestureReplayer extends BaseGestureReplayer {
+  private ActionsContentView mView;
+  private MotionEvent[] mMotionEvents;
+
+  /**
+   * Reads trace.
+   * @param in - stream to read trace from.
+   * @throws IOException if stream can't be read or it doesn't contain trace.
+   */
+  public GestureReplayer(InputStream in) throws IOException {
+    this(new GestureTrace(in));
+  }
+
+  public GestureReplayer(GestureTrace trace) {
+    super(trace);
+  }
+
+  /**
+   * Passes all events of trace to view. Requires Android 4.0 or higher to create
+   * multi-pointer events.
+   * @param view - laid out view to replay events on.
+   */
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+  public void replay(ActionsContentView view) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+      throw new UnsupportedOperationException("Gesture replay requires Android 4.0 or higher");
+
+    final int maxPointers = mTrace.getMaxPointers();
+    final MotionEvent.PointerProperties[] properties = new MotionEvent.PointerProperties[maxPointers];
+    final MotionEvent.PointerCoords[] coords = new MotionEvent.PointerCoords[maxPointers];
+    for (int p=0; p<maxPointers; ++p) {
+      properties[p] = new MotionEvent.PointerProperties();
+      properties[p].toolType = MotionEvent.TOOL_TYPE_FINGER;
+      coords[p] = new MotionEvent.PointerCoords();
+    }
+
+    // events are created before replay, so their creation is not counted in handling time
+    final int count = mTrace.getEventCount();
+    mMotionEvents = new MotionEvent[count];
+    for (int i=0; i<count; ++i)
+      mMotionEvents[i] = createEvent(mTrace.getEvent(i), properties, coords);
+
+    final VirtualFrameClock previousClock = view.getFrameClock();
+    final VirtualFrameClock clock = previousClock != null ? previousClock : new VirtualFrameClock();
+    mView = view;
+    view.setFrameClock(clock);
+    try {
+      replay(clock);
+    } finally {
+      view.setFrameClock(previousClock);
+      mView = null;
+      for (int i=0; i<count; ++i)
+        mMotionEvents[i].recycle();
+      mMotionEvents = null;
+    }
+  }
+
+  @Override
+  protected void dispatchEvent(int index) {
+    mView.dispatchTouchEvent(mMotionEvents[index]);
+  }
+
+  @Override
+  protected int getContentPosition() {
+    return mView.getContentPosition();
+  }
+
+  @Override
+  protected boolean isContentSwiping() {
+    return mView.isContentSwiping();
+  }
+
+  @Override
+  protected boolean isContentMoving() {
+    return mView.isContentMoving();
+  }
+
+  @Override
+  protected boolean isContentShown() {
+    return mView.isContentShown();
+  }
+
+  @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+  private static MotionEvent createEvent(GestureTrace.Event e, MotionEvent.PointerProperties[] properties,
+      MotionEvent.PointerCoords[] coords) {
+    final int pointerCount = e.getPointerCount();
+    for (int p=0; p<pointerCount; ++p)
+      properties[p].id = e.getPointerId(p);
+
+    final int historySize = e.getHistorySize();
+    setCoords(e, 0, coords);
+    final MotionEvent ev = MotionEvent.obtain(e.getDownTime(), e.getHistoricalEventTime(0), e.getAction(), pointerCount,
+        properties, coords, 0, 0, 1f, 1f, 0, 0, InputDevice.SOURCE_TOUCHSCREEN, 0);
+    for (int s=1; s<=historySize; ++s) {
+      setCoords(e, s, coords);
+      ev.addBatch(e.getHistoricalEventTime(s), coords, 0);
+    }
+    return ev;
+  }
+
+  private static void setCoords(GestureTrace.Event e, int sample, MotionEvent.PointerCoords[] coords) {
+    final int pointerCount = e.getPointerCount();
+    for (int p=0; p<pointerCount; ++p) {
+      final MotionEvent.PointerCoords pc = coords[p];
+      pc.clear();
+      pc.x = e.getHistoricalX(p, sample);
+      pc.y = e.getHistoricalY(p, sample);
+      pc.pressure = 1f;
+      pc.size = 1f;
+    }
+  }
+}
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Touch events of trace recorded by {@link GestureRecorder}. Doesn't depend on Android,
+ * so trace can be read anywhere and replayed by {@link GestureReplayer} on device
+ * or on plain JVM.
+ * @author steven
+ *
+ */
+public final class GestureTrace {
+  static final int MAGIC = 0x41435654; // ACVT
+  static final int VERSION = 1;
+
+  // values of MotionEvent actions
+  public static final int ACTION_MASK = 0xff;
+  public static final int ACTION_DOWN = 0;
+  public static final int ACTION_UP = 1;
+  public static final int ACTION_MOVE = 2;
+  public static final int ACTION_CANCEL = 3;
+  public static final int ACTION_POINTER_UP = 6;
+  public static final int ACTION_POINTER_INDEX_SHIFT = 8;
+
+  /**
+   * Touch event with batched historical samples, accessors follow MotionEvent ones.
+   */
+  public static final class Event {
+    private int mAction;
+    private long mDownTime;
+    /**
+     * Times of historical samples and current one.
+     */
+    private long[] mTimes;
+    private int[] mPointerIds;
+    /**
+     * Coordinates of every pointer for every sample: x and y.
+     */
+    private float[] mCoords;
+
+    public int getAction() {
+      return mAction;
+    }
+
+    public int getActionMasked() {
+      return mAction & ACTION_MASK;
+    }
+
+    public int getActionIndex() {
+      return (mAction & ~ACTION_MASK) >> ACTION_POINTER_INDEX_SHIFT;
+    }
+
+    public long getDownTime() {
+      return mDownTime;
+    }
+
+    public int getPointerCount() {
+      return mPointerIds.length;
+    }
+
+    public int getPointerId(int pointerIndex) {
+      return mPointerIds[pointerIndex];
+    }
+
+    /**
+     * Returns index of pointer with given id.
+     * @return index or -1 if event doesn't contain such pointer.
+     */
+    public int findPointerIndex(int pointerId) {
+      for (int p=0; p<mPointerIds.length; ++p) {
+        if (mPointerIds[p] == pointerId)
+          return p;
+      }
+      return -1;
+    }
+
+    public int getHistorySize() {
+      return mTimes.length - 1;
+    }
+
+    public long getHistoricalEventTime(int pos) {
+      return mTimes[pos];
+    }
+
+    public float getHistoricalX(int pointerIndex, int pos) {
+      return mCoords[(pos * mPointerIds.length + pointerIndex) * 2];
+    }
+
+    public float getHistoricalY(int pointerIndex, int pos) {
+      return mCoords[(pos * mPointerIds.length + pointerIndex) * 2 + 1];
+    }
+
+    /**
+     * Returns time of event.
+     * @return time in milliseconds.
+     */
+    public long getEventTime() {
+      return mTimes[mTimes.length - 1];
+    }
+
+    public float getX(int pointerIndex) {
+      return getHistoricalX(pointerIndex, mTimes.length - 1);
+    }
+
+    public float getY(int pointerIndex) {
+      return getHistoricalY(pointerIndex, mTimes.length - 1);
+    }
+  }
+
+  private final Event[] mEvents;
+  private final int mMaxPointers;
+
+  /**
+   * Reads trace.
+   * @param in - stream to read trace from.
+   * @throws IOException if stream can't be read or it doesn't contain trace.
+   */
+  public GestureTrace(InputStream in) throws IOException {
+    final DataInputStream data = new DataInputStream(in);
+    if (data.readInt() != MAGIC)
+      throw new IOException("Stream doesn't contain gesture trace");
+    final int version = data.readInt();
+    if (version != VERSION)
+      throw new IOException("Unsupported gesture trace version: " + version);
+
+    final int count = data.readInt();
+    mEvents = new Event[count];
+    int maxPointers = 0;
+    for (int i=0; i<count; ++i) {
+      final Event e = new Event();
+      e.mAction = data.readInt();
+      e.mDownTime = data.readLong();
+      final long eventTime = data.readLong();
+
+      final int pointerCount = data.readUnsignedByte();
+      e.mPointerIds = new int[pointerCount];
+      for (int p=0; p<pointerCount; ++p)
+        e.mPointerIds[p] = data.readUnsignedByte();
+      maxPointers = Math.max(maxPointers, pointerCount);
+
+      final int historySize = data.readUnsignedShort();
+      e.mTimes = new long[historySize + 1];
+      e.mCoords = new float[(historySize + 1) * pointerCount * 2];
+      int c = 0;
+      for (int h=0; h<historySize; ++h) {
+        e.mTimes[h] = data.readLong();
+        for (int p=0; p<pointerCount * 2; ++p)
+          e.mCoords[c++] = data.readFloat();
+      }
+      e.mTimes[historySize] = eventTime;
+      for (int p=0; p<pointerCount * 2; ++p)
+        e.mCoords[c++] = data.readFloat();
+
+      mEvents[i] = e;
+    }
+    mMaxPointers = maxPointers;
+  }
+
+  public int getEventCount() {
+    return mEvents.length;
+  }
+
+  public Event getEvent(int index) {
+    return mEvents[index];
+  }
+
+  /**
+   * Returns maximum count of pointers in one event.
+   * @return
+   */
+  public int getMaxPointers() {
+    return mMaxPointers;
+  }
+}
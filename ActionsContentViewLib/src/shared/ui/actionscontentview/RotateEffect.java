@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+
+/**
+ * Effect that rotates container.
+ * @author steven
+ *
+ */
+public class RotateEffect extends BaseEffect {
+
+  private final float mFromDegrees;
+  private final float mToDegrees;
+
+  private final int mPivotXType;
+  private final float mPivotXValue;
+  private final int mPivotYType;
+  private final float mPivotYValue;
+
+  private float mPivotX;
+  private float mPivotY;
+
+  /**
+   * Rotates container around its top-left corner.
+   * @param fromDegrees - start rotation in degrees.
+   * @param toDegrees - end rotation in degrees.
+   */
+  public RotateEffect(float fromDegrees, float toDegrees) {
+    this(fromDegrees, toDegrees, 0f, 0f);
+  }
+
+  /**
+   * @param pivotX - X coordinate of pivot point in pixels.
+   * @param pivotY - Y coordinate of pivot point in pixels.
+   */
+  public RotateEffect(float fromDegrees, float toDegrees, float pivotX, float pivotY) {
+    this(fromDegrees, toDegrees, Animation.ABSOLUTE, pivotX, Animation.ABSOLUTE, pivotY);
+  }
+
+  /**
+   * Every pivot type can be one of {@link Animation#ABSOLUTE}, {@link Animation#RELATIVE_TO_SELF}
+   * or {@link Animation#RELATIVE_TO_PARENT}.
+   */
+  public RotateEffect(float fromDegrees, float toDegrees,
+      int pivotXType, float pivotXValue, int pivotYType, float pivotYValue) {
+    mFromDegrees = fromDegrees;
+    mToDegrees = toDegrees;
+
+    mPivotXType = pivotXType;
+    mPivotXValue = pivotXValue;
+    mPivotYType = pivotYType;
+    mPivotYValue = pivotYValue;
+
+    mPivotX = pivotXValue;
+    mPivotY = pivotYValue;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    mPivotX = resolveSize(mPivotXType, mPivotXValue, width, parentWidth);
+    mPivotY = resolveSize(mPivotYType, mPivotYValue, height, parentHeight);
+  }
+
+  @Override
+  public void apply(float factor, Transformation t) {
+    final float value = getInterpolation(factor);
+    final float degrees = mFromDegrees + (mToDegrees - mFromDegrees) * value;
+    t.getMatrix().postRotate(degrees, mPivotX, mPivotY);
+  }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+
+/**
+ * Effect that scales container.
+ * @author steven
+ *
+ */
+public class ScaleEffect extends BaseEffect {
+
+  private final float mFromX;
+  private final float mToX;
+  private final float mFromY;
+  private final float mToY;
+
+  private final int mPivotXType;
+  private final float mPivotXValue;
+  private final int mPivotYType;
+  private final float mPivotYValue;
+
+  private float mPivotX;
+  private float mPivotY;
+
+  /**
+   * Scales container around its top-left corner.
+   * @param fromX - start scale by X axis.
+   * @param toX - end scale by X axis.
+   * @param fromY - start scale by Y axis.
+   * @param toY - end scale by Y axis.
+   */
+  public ScaleEffect(float fromX, float toX, float fromY, float toY) {
+    this(fromX, toX, fromY, toY, 0f, 0f);
+  }
+
+  /**
+   * @param pivotX - X coordinate of pivot point in pixels.
+   * @param pivotY - Y coordinate of pivot point in pixels.
+   */
+  public ScaleEffect(float fromX, float toX, float fromY, float toY, float pivotX, float pivotY) {
+    this(fromX, toX, fromY, toY, Animation.ABSOLUTE, pivotX, Animation.ABSOLUTE, pivotY);
+  }
+
+  /**
+   * Every pivot type can be one of {@link Animation#ABSOLUTE}, {@link Animation#RELATIVE_TO_SELF}
+   * or {@link Animation#RELATIVE_TO_PARENT}.
+   */
+  public ScaleEffect(float fromX, float toX, float fromY, float toY,
+      int pivotXType, float pivotXValue, int pivotYType, float pivotYValue) {
+    mFromX = fromX;
+    mToX = toX;
+    mFromY = fromY;
+    mToY = toY;
+
+    mPivotXType = pivotXType;
+    mPivotXValue = pivotXValue;
+    mPivotYType = pivotYType;
+    mPivotYValue = pivotYValue;
+
+    mPivotX = pivotXValue;
+    mPivotY = pivotYValue;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    mPivotX = resolveSize(mPivotXType, mPivotXValue, width, parentWidth);
+    mPivotY = resolveSize(mPivotYType, mPivotYValue, height, parentHeight);
+  }
+
+  @Override
+  public void apply(float factor, Transformation t) {
+    final float value = getInterpolation(factor);
+    final float sx = mFromX + (mToX - mFromX) * value;
+    final float sy = mFromY + (mToY - mFromY) * value;
+    t.getMatrix().postScale(sx, sy, mPivotX, mPivotY);
+  }
+}
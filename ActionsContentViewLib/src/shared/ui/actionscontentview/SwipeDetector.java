@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.view.ViewConfiguration;
+
+import shared.ui.actionscontentview.core.SwipeTracker;
+
+/**
+ * Recognizes horizontal swipes. Passes touch events to {@link SwipeTracker}, which handles
+ * touch slop, locks swipe direction at first movement, checks area swipe starts at
+ * and tracks velocity.
+ * @author steven
+ *
+ */
+class SwipeDetector {
+  private final SwipeTracker mTracker;
+
+  public SwipeDetector(Context context, SwipeTracker.OnSwipeListener listener) {
+    final ViewConfiguration configuration = ViewConfiguration.get(context);
+    mTracker = new SwipeTracker(listener, configuration.getScaledTouchSlop(),
+        configuration.getScaledMinimumFlingVelocity(), configuration.getScaledMaximumFlingVelocity());
+  }
+
+  /**
+   * Sets horizontal area swipe can start at. Usually called from {@link SwipeTracker.OnSwipeListener#onDown()}.
+   * @param left - left bound of area.
+   * @param right - right bound of area.
+   */
+  public void setSwipeArea(int left, int right) {
+    mTracker.setSwipeArea(left, right);
+  }
+
+  public boolean isSwiping() {
+    return mTracker.isSwiping();
+  }
+
+  /**
+   * Enables resampling of finger position. Listener is notified about movement by
+   * {@link SwipeTracker.OnSwipeListener#onSwipeSampled()} and should read it by {@link #resampleSwipe(long, long)}.
+   * @param resampling
+   */
+  public void setResampling(boolean resampling) {
+    mTracker.setResampling(resampling);
+  }
+
+  public boolean isResampling() {
+    return mTracker.isResampling();
+  }
+
+  /**
+   * Returns time of last touch down.
+   * @return time in {@link android.os.SystemClock#uptimeMillis()} time base.
+   */
+  public long getDownTime() {
+    return mTracker.getDownTime();
+  }
+
+  /**
+   * Returns time of finger position last passed to listener.
+   * @return time in {@link android.os.SystemClock#uptimeMillis()} time base.
+   */
+  public long getAppliedTime() {
+    return mTracker.getAppliedTime();
+  }
+
+  /**
+   * Indicates whether there are finger samples newer than position last passed to listener.
+   * @return
+   */
+  public boolean hasPendingSamples() {
+    return mTracker.hasPendingSamples();
+  }
+
+  /**
+   * Computes finger position at given time and returns distance since position read last time.
+   * @see SwipeTracker#resampleSwipe(long, long)
+   */
+  public float resampleSwipe(long time, long maxPrediction) {
+    return mTracker.resampleSwipe(time, maxPrediction);
+  }
+
+  public float getVelocityX() {
+    return mTracker.getVelocityX();
+  }
+
+  /**
+   * Processes touch event.
+   * @param ev - event to process.
+   * @return true if event is a part of swipe.
+   */
+  public boolean onTouchEvent(MotionEvent ev) {
+    final int action = ev.getActionMasked();
+    switch (action) {
+    case MotionEvent.ACTION_DOWN:
+      mTracker.onDown(ev.getPointerId(0), ev.getX(), ev.getY(), ev.getEventTime());
+      return false;
+
+    case MotionEvent.ACTION_POINTER_UP: {
+      final int index = ev.getActionIndex();
+      final int newIndex = index == 0 ? 1 : 0;
+      return mTracker.onPointerUp(ev.getPointerId(index), ev.getPointerId(newIndex),
+          ev.getX(newIndex), ev.getY(newIndex), ev.getEventTime());
+    }
+
+    case MotionEvent.ACTION_MOVE:
+      return onMove(ev);
+
+    case MotionEvent.ACTION_UP:
+    case MotionEvent.ACTION_CANCEL: {
+      final int index = ev.findPointerIndex(mTracker.getActivePointerId());
+      final boolean hasPointer = index >= 0;
+      return mTracker.onUp(action == MotionEvent.ACTION_UP, hasPointer,
+          hasPointer ? ev.getX(index) : 0f, hasPointer ? ev.getY(index) : 0f, ev.getEventTime());
+    }
+    }
+    return mTracker.isSwiping();
+  }
+
+  private boolean onMove(MotionEvent ev) {
+    if (!mTracker.isTracking())
+      return false;
+
+    final int index = ev.findPointerIndex(mTracker.getActivePointerId());
+    if (index < 0)
+      return mTracker.isSwiping();
+
+    final int historySize = ev.getHistorySize();
+    for (int i=0; i<historySize; ++i)
+      mTracker.onHistoricalMove(ev.getHistoricalX(index, i), ev.getHistoricalY(index, i), ev.getHistoricalEventTime(i));
+
+    return mTracker.onMove(ev.getX(index), ev.getY(index), ev.getEventTime());
+  }
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+
+/**
+ * Effect that moves container.
+ * @author steven
+ *
+ */
+public class TranslateEffect extends BaseEffect {
+
+  private final int mFromXType;
+  private final float mFromXValue;
+  private final int mToXType;
+  private final float mToXValue;
+  private final int mFromYType;
+  private final float mFromYValue;
+  private final int mToYType;
+  private final float mToYValue;
+
+  private float mFromX;
+  private float mToX;
+  private float mFromY;
+  private float mToY;
+
+  /**
+   * @param fromX - start offset by X axis in pixels.
+   * @param toX - end offset by X axis in pixels.
+   * @param fromY - start offset by Y axis in pixels.
+   * @param toY - end offset by Y axis in pixels.
+   */
+  public TranslateEffect(float fromX, float toX, float fromY, float toY) {
+    this(Animation.ABSOLUTE, fromX, Animation.ABSOLUTE, toX, Animation.ABSOLUTE, fromY, Animation.ABSOLUTE, toY);
+  }
+
+  /**
+   * Every value type can be one of {@link Animation#ABSOLUTE}, {@link Animation#RELATIVE_TO_SELF}
+   * or {@link Animation#RELATIVE_TO_PARENT}.
+   */
+  public TranslateEffect(int fromXType, float fromXValue, int toXType, float toXValue,
+      int fromYType, float fromYValue, int toYType, float toYValue) {
+    mFromXType = fromXType;
+    mFromXValue = fromXValue;
+    mToXType = toXType;
+    mToXValue = toXValue;
+    mFromYType = fromYType;
+    mFromYValue = fromYValue;
+    mToYType = toYType;
+    mToYValue = toYValue;
+
+    mFromX = fromXValue;
+    mToX = toXValue;
+    mFromY = fromYValue;
+    mToY = toYValue;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    mFromX = resolveSize(mFromXType, mFromXValue, width, parentWidth);
+    mToX = resolveSize(mToXType, mToXValue, width, parentWidth);
+    mFromY = resolveSize(mFromYType, mFromYValue, height, parentHeight);
+    mToY = resolveSize(mToYType, mToYValue, height, parentHeight);
+  }
+
+  @Override
+  public void apply(float factor, Transformation t) {
+    final float value = getInterpolation(factor);
+    final float dx = mFromX + (mToX - mFromX) * value;
+    final float dy = mFromY + (mToY - mFromY) * value;
+    t.getMatrix().postTranslate(dx, dy);
+  }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import java.util.ArrayList;
+
+/**
+ * Clock and frame source which is advanced manually. Once it is set to
+ * {@link ActionsContentView#setFrameClock(VirtualFrameClock)} auto-scrolling
+ * reads time from this clock and its frames are computed by {@link #stepFrame(long)} only,
+ * so timing of content movement is deterministic.
+ * Every frame runs callbacks in the same order as display frames do: animation callbacks
+ * first, then traversal (pre-draw work like applying effects) and then work done after
+ * frame is drawn.
+ * Touch resampling compares clock time with time of touch events, so events passed
+ * to view should use the same time base in milliseconds.
+ * @author steven
+ *
+ */
+public final class VirtualFrameClock {
+  /**
+   * Frame interval of 60Hz display.
+   */
+  public static final long FRAME_INTERVAL = 1000000000L / 60;
+
+  /**
+   * Callbacks computing animation, run first every frame.
+   */
+  public static final int CALLBACK_ANIMATION = 0;
+  /**
+   * Callbacks run before drawing, after animation callbacks of the same frame.
+   */
+  public static final int CALLBACK_TRAVERSAL = 1;
+  /**
+   * Callbacks run once frame is drawn.
+   */
+  public static final int CALLBACK_FRAME_END = 2;
+  private static final int CALLBACK_TYPES = 3;
+
+  public interface FrameCallback {
+    /**
+     * Called when frame of clock is stepped.
+     * @param frameTimeNanos - time of frame in nanoseconds.
+     */
+    public void doFrame(long frameTimeNanos);
+  }
+
+  private long mTime;
+  private final CallbackQueue[] mQueues = new CallbackQueue[CALLBACK_TYPES];
+
+  /**
+   * @param time - initial time in nanoseconds.
+   */
+  public VirtualFrameClock(long time) {
+    mTime = time;
+    for (int i=0; i<CALLBACK_TYPES; ++i)
+      mQueues[i] = new CallbackQueue();
+  }
+
+  public VirtualFrameClock() {
+    this(0);
+  }
+
+  /**
+   * Returns current time of clock.
+   * @return time in nanoseconds.
+   */
+  public long getTime() {
+    return mTime;
+  }
+
+  /**
+   * Sets current time of clock without running frames.
+   * @param time - time in nanoseconds.
+   */
+  public void setTime(long time) {
+    mTime = time;
+  }
+
+  /**
+   * Schedules callback for next frame. Does nothing if callback is already scheduled.
+   * Callback posted while frame is running is run in the same frame if its type
+   * goes after type being run, and in the next frame otherwise.
+   * @param type - one of {@link #CALLBACK_ANIMATION}, {@link #CALLBACK_TRAVERSAL}
+   * or {@link #CALLBACK_FRAME_END}.
+   * @param callback - callback to run.
+   */
+  public void postFrameCallback(int type, FrameCallback callback) {
+    final ArrayList<FrameCallback> pending = mQueues[type].mPending;
+    if (!pending.contains(callback))
+      pending.add(callback);
+  }
+
+  /**
+   * Removes scheduled callback.
+   * @param type - type callback was posted with.
+   * @param callback - callback to remove.
+   */
+  public void removeFrameCallback(int type, FrameCallback callback) {
+    mQueues[type].mPending.remove(callback);
+  }
+
+  /**
+   * Indicates whether there are frames scheduled for next step.
+   * @return
+   */
+  public boolean hasPendingFrames() {
+    for (int i=0; i<CALLBACK_TYPES; ++i) {
+      if (!mQueues[i].mPending.isEmpty())
+        return true;
+    }
+    return false;
+  }
+
+  /**
+   * Advances time of clock and runs frame with callbacks scheduled before this call.
+   * @param interval - interval to advance time by in nanoseconds.
+   * @return true if any callback was run, false otherwise.
+   */
+  public boolean stepFrame(long interval) {
+    mTime += interval;
+    if (!hasPendingFrames())
+      return false;
+
+    for (int i=0; i<CALLBACK_TYPES; ++i)
+      mQueues[i].run(mTime);
+    return true;
+  }
+
+  /**
+   * Steps frames with given interval until no more frames are scheduled.
+   * @param interval - interval between frames in nanoseconds.
+   * @param maxFrames - maximum count of frames to step.
+   * @return count of frames stepped.
+   */
+  public int runFrames(long interval, int maxFrames) {
+    int frames = 0;
+    while (frames < maxFrames && stepFrame(interval))
+      ++frames;
+    return frames;
+  }
+
+  private static class CallbackQueue {
+    private ArrayList<FrameCallback> mPending = new ArrayList<FrameCallback>();
+    private ArrayList<FrameCallback> mRunning = new ArrayList<FrameCallback>();
+
+    /**
+     * Runs callbacks scheduled before this call. Callbacks scheduled while running them
+     * are left for next frame.
+     */
+    private void run(long frameTimeNanos) {
+      if (mPending.isEmpty())
+        return;
+
+      final ArrayList<FrameCallback> running = mPending;
+      mPending = mRunning;
+      mRunning = running;
+
+      final int count = running.size();
+      for (int i=0; i<count; ++i)
+        running.get(i).doFrame(frameTimeNanos);
+      running.clear();
+    }
+  }
+}
@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+/**
+ * Scroller of content container. Unlike android.widget.Scroller it computes
+ * position for given frame time instead of reading current time, so position
+ * can be sampled at time of display frame. Scrolling is done either by interpolator
+ * for fixed duration or by critically damped spring seeded with initial velocity.
+ * @author steven
+ *
+ */
+public class ContentScroller {
+  private static final long NANOS_PER_MS = 1000000;
+  private static final float NANOS_PER_SECOND = 1000000000f;
+
+  private static final int MODE_DURATION = 0;
+  private static final int MODE_SPRING = 1;
+
+  /**
+   * Step of interpolation input used to compute velocity of fixed duration scrolling.
+   */
+  private static final float VELOCITY_STEP = 0.01f;
+
+  private final ScrollInterpolator mInterpolator;
+  private final boolean hasCustomInterpolator;
+
+  private int mMode = MODE_DURATION;
+
+  private int mStartX;
+  private int mFinalX;
+  private int mCurrX;
+  private long mStartTime;
+  /**
+   * Time position was computed for last time.
+   */
+  private long mCurrTime;
+  private long mDuration;
+  private boolean isFinished = true;
+  /**
+   * Scale of Hermite term u * (1 - u)^2 added to interpolated position of fixed duration
+   * scrolling, so it starts with given velocity. Its value is change of position per unit of u.
+   */
+  private float mVelocityTerm;
+
+  /**
+   * Spring state: offset from final position is (A + B * t) * exp(-omega * t).
+   */
+  private float mSpringOmega;
+  private float mSpringA;
+  private float mSpringB;
+
+  /**
+   * @param interpolator - interpolator of scrolling. Viscous fluid one is used if null,
+   * the same as android.widget.Scroller uses by default.
+   */
+  public ContentScroller(ScrollInterpolator interpolator) {
+    mInterpolator = interpolator == null ? new ViscousFluidInterpolator() : interpolator;
+    hasCustomInterpolator = interpolator != null;
+  }
+
+  /**
+   * Indicates whether interpolator was passed to constructor.
+   * @return
+   */
+  public boolean hasCustomInterpolator() {
+    return hasCustomInterpolator;
+  }
+
+  /**
+   * Starts scrolling.
+   * @param startX - start position.
+   * @param dx - distance to scroll.
+   * @param duration - duration of scrolling in milliseconds.
+   * @param startTime - start time in nanoseconds.
+   */
+  public void startScroll(int startX, int dx, int duration, long startTime) {
+    startScroll(startX, dx, duration, 0f, startTime);
+  }
+
+  /**
+   * Starts scrolling which continues with given velocity. Velocity is added to interpolation
+   * by term which fades out before final position is reached, so scrolling still takes given
+   * duration and ends at final position.
+   * @param startX - start position.
+   * @param dx - distance to scroll.
+   * @param duration - duration of scrolling in milliseconds.
+   * @param velocity - initial velocity in pixels per second.
+   * @param startTime - start time in nanoseconds.
+   */
+  public void startScroll(int startX, int dx, int duration, float velocity, long startTime) {
+    mStartX = mCurrX = startX;
+    mFinalX = startX + dx;
+    mStartTime = mCurrTime = startTime;
+    mDuration = duration * NANOS_PER_MS;
+    mMode = MODE_DURATION;
+    isFinished = false;
+
+    // interpolator already has own velocity at start, only the rest is added
+    final float durationSeconds = mDuration / NANOS_PER_SECOND;
+    final float interpolatorVelocity = durationSeconds > 0f ? getInterpolatorSlope(0f) * dx / durationSeconds : 0f;
+    mVelocityTerm = velocity == 0f ? 0f : (velocity - interpolatorVelocity) * durationSeconds;
+  }
+
+  /**
+   * Starts scrolling by critically damped spring. Spring never passes final position,
+   * scrolling is finished once it is reached. Velocity pointing away from final position,
+   * as one of retargeted scrolling, is kept: spring carries position away first and turns
+   * back smoothly, so caller should keep position between bounds of content.
+   * @param startX - start position.
+   * @param finalX - final position.
+   * @param velocity - initial velocity in pixels per second.
+   * @param omega - natural frequency of spring in radians per second. Bigger value makes spring stiffer.
+   * @param maxDuration - max duration of scrolling in milliseconds. Position is snapped to final one after that time.
+   * @param startTime - start time in nanoseconds.
+   */
+  public void startSpring(int startX, int finalX, float velocity, float omega, int maxDuration, long startTime) {
+    mStartX = mCurrX = startX;
+    mFinalX = finalX;
+    mStartTime = mCurrTime = startTime;
+    mDuration = maxDuration * NANOS_PER_MS;
+    mMode = MODE_SPRING;
+
+    mSpringOmega = omega;
+    mSpringA = startX - finalX;
+    mSpringB = CriticalSpring.getB(mSpringA, velocity, omega);
+
+    // nothing to settle and velocity would move position out of final one
+    isFinished = startX == finalX;
+  }
+
+  /**
+   * Computes position for given time.
+   * @param time - frame time in nanoseconds.
+   * @return true if scrolling wasn't finished before this call, false otherwise.
+   */
+  public boolean computeScrollOffset(long time) {
+    if (isFinished)
+      return false;
+
+    mCurrTime = time;
+    final long timePassed = time - mStartTime;
+    if (timePassed >= mDuration) {
+      mCurrX = mFinalX;
+      isFinished = true;
+    } else if (timePassed > 0) {
+      if (mMode == MODE_SPRING) {
+        computeSpring(timePassed / NANOS_PER_SECOND);
+      } else {
+        final float input = (float) timePassed / mDuration;
+        final float factor = mInterpolator.getInterpolation(input);
+        final float rest = 1f - input;
+        mCurrX = mStartX + Math.round(factor * (mFinalX - mStartX) + mVelocityTerm * input * rest * rest);
+      }
+    }
+    return true;
+  }
+
+  private void computeSpring(float t) {
+    final float offset = CriticalSpring.getOffset(mSpringA, mSpringB, mSpringOmega, t);
+    if (offset == 0f) {
+      mCurrX = mFinalX;
+      isFinished = true;
+      return;
+    }
+
+    mCurrX = mFinalX + Math.round(offset);
+  }
+
+  public void forceFinished(boolean finished) {
+    isFinished = finished;
+  }
+
+  public boolean isFinished() {
+    return isFinished;
+  }
+
+  public int getCurrX() {
+    return mCurrX;
+  }
+
+  /**
+   * Returns velocity at time position was computed for last time.
+   * @return velocity in pixels per second.
+   */
+  public float getCurrVelocity() {
+    if (isFinished)
+      return 0f;
+
+    final long timePassed = Math.max(0, mCurrTime - mStartTime);
+    if (mMode == MODE_SPRING) {
+      return CriticalSpring.getVelocity(mSpringA, mSpringB, mSpringOmega, timePassed / NANOS_PER_SECOND);
+    }
+
+    final float input = Math.min(1f - VELOCITY_STEP, (float) timePassed / mDuration);
+    final float rest = 1f - input;
+    // derivative of u * (1 - u)^2 is (1 - u) * (1 - 3u)
+    final float slope = getInterpolatorSlope(input) * (mFinalX - mStartX) + mVelocityTerm * rest * (1f - 3f * input);
+    return slope * NANOS_PER_SECOND / mDuration;
+  }
+
+  /**
+   * Returns derivative of interpolator at given input.
+   */
+  private float getInterpolatorSlope(float input) {
+    final float step = mInterpolator.getInterpolation(input + VELOCITY_STEP) - mInterpolator.getInterpolation(input);
+    return step / VELOCITY_STEP;
+  }
+
+  public int getStartX() {
+    return mStartX;
+  }
+
+  public int getFinalX() {
+    return mFinalX;
+  }
+
+  /**
+   * Interpolator used by android.widget.Scroller by default.
+   */
+  private static class ViscousFluidInterpolator implements ScrollInterpolator {
+    private static final float VISCOUS_FLUID_SCALE = 8f;
+    private static final float VISCOUS_FLUID_NORMALIZE = 1f / viscousFluid(1f);
+
+    @Override
+    public float getInterpolation(float input) {
+      return viscousFluid(input) * VISCOUS_FLUID_NORMALIZE;
+    }
+
+    private static float viscousFluid(float x) {
+      x *= VISCOUS_FLUID_SCALE;
+      if (x < 1f) {
+        x -= (1f - (float) Math.exp(-x));
+      } else {
+        final float start = 0.36787944117f; // 1/e == exp(-1)
+        x = 1f - (float) Math.exp(1f - x);
+        x = start + x * (1f - start);
+      }
+      return x;
+    }
+  }
+}
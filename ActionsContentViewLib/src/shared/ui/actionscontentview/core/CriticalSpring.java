@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+/**
+ * Math of critically damped spring. Offset of spring from final position at time t is
+ * (A + B * t) * exp(-omega * t), where A is initial offset and B = v0 + omega * A.
+ * @author steven
+ *
+ */
+public final class CriticalSpring {
+  /**
+   * Spring is at rest when it is closer to final position than that.
+   */
+  public static final float REST_DISTANCE = 0.5f;
+
+  private CriticalSpring() {
+  }
+
+  /**
+   * Returns coefficient B of spring.
+   * @param a - initial offset from final position.
+   * @param velocity - initial velocity.
+   * @param omega - angular frequency of spring.
+   * @return
+   */
+  public static float getB(float a, float velocity, float omega) {
+    return velocity + omega * a;
+  }
+
+  /**
+   * Returns offset of spring from final position.
+   * @param t - time since start in seconds.
+   * @return offset or 0 if spring is at rest or reached final position.
+   */
+  public static float getOffset(float a, float b, float omega, float t) {
+    final float offset = (a + b * t) * (float) Math.exp(-omega * t);
+
+    // spring with high initial velocity can pass final position, but it is a bound of scrolling
+    if (Math.abs(offset) < REST_DISTANCE || offset * a < 0f)
+      return 0f;
+
+    return offset;
+  }
+
+  /**
+   * Returns velocity of spring.
+   * @param t - time since start in seconds.
+   * @return
+   */
+  public static float getVelocity(float a, float b, float omega, float t) {
+    return (b - omega * (a + b * t)) * (float) Math.exp(-omega * t);
+  }
+}
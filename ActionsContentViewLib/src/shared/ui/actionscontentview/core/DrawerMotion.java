@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+/**
+ * Decisions of drawer movement which don't depend on Android framework. Caller keeps
+ * state in primitives and passes it here, so logic can be run and checked on plain JVM.
+ * <p>
+ * Position of content is 0 when content is shown and -rightBound when actions are shown.
+ * @author steven
+ *
+ */
+public final class DrawerMotion {
+  /**
+   * Spacing will be calculated as offset from right bound of view.
+   */
+  public static final int SPACING_RIGHT_OFFSET = 0;
+  /**
+   * Spacing will be calculated as right bound of actions bar container.
+   */
+  public static final int SPACING_ACTIONS_WIDTH = 1;
+
+  public static final int EFFECTS_NONE = 0;
+  public static final int EFFECTS_SCROLL_OPENING = 1 << 0;
+  public static final int EFFECTS_SCROLL_CLOSING = 1 << 1;
+  public static final int EFFECTS_SCROLL = EFFECTS_SCROLL_OPENING | EFFECTS_SCROLL_CLOSING;
+  public static final int EFFECTS_FLING_OPENING = 1 << 2;
+  public static final int EFFECTS_FLING_CLOSING = 1 << 3;
+  public static final int EFFECTS_FLING = EFFECTS_FLING_OPENING | EFFECTS_FLING_CLOSING;
+  public static final int EFFECTS_ALL = EFFECTS_SCROLL | EFFECTS_FLING;
+
+  /**
+   * Minimum velocity of finger release handled as fling, in pixels per second.
+   */
+  public static final int FLING_MIN_VELOCITY = 1000;
+
+  private DrawerMotion() {
+  }
+
+  /**
+   * Returns right bound (limit) of content movement.
+   * @param spacingType - type of spacing.
+   * @param spacing - value of spacing.
+   * @param actionsSpacing - value of actions container spacing.
+   * @param width - width of view.
+   * @return distance content moves by between shown and hidden states.
+   */
+  public static int getRightBound(int spacingType, int spacing, int actionsSpacing, int width) {
+    if (spacingType == SPACING_ACTIONS_WIDTH) {
+      return spacing - actionsSpacing;
+    } else { // all other situations are handled as SPACING_RIGHT_OFFSET
+      return width - spacing - actionsSpacing;
+    }
+  }
+
+  /**
+   * Returns position of content at bound.
+   * @param isContentShown - indicates whether content is shown at bound.
+   * @param rightBound - right bound of movement.
+   * @return
+   */
+  public static int getBoundPosition(boolean isContentShown, int rightBound) {
+    return isContentShown ? 0 : -rightBound;
+  }
+
+  /**
+   * Returns factor of scrolling: 1f when content is shown and 0f when actions are shown.
+   * @param position - position of content.
+   * @param rightBound - right bound of movement.
+   * @return
+   */
+  public static float getScrollFactor(int position, int rightBound) {
+    return 1f + (float) position / (float) rightBound;
+  }
+
+  /**
+   * Indicates whether content is exactly at bound of given state.
+   * @param position - position of content.
+   * @param isContentShown - state of content.
+   * @param rightBound - right bound of movement.
+   * @return
+   */
+  public static boolean isAtBound(int position, boolean isContentShown, int rightBound) {
+    return position == getBoundPosition(isContentShown, rightBound);
+  }
+
+  /**
+   * Returns distance content can be moved by without leaving bounds.
+   * @param position - position of content.
+   * @param dx - requested distance.
+   * @param rightBound - right bound of movement.
+   * @return distance to move content by.
+   */
+  public static int clampScroll(int position, int dx, int rightBound) {
+    if (dx < 0) { // scrolling right
+      if (position + dx < -rightBound)
+        return -rightBound - position;
+      return dx;
+    }
+
+    // scrolling left
+    if (position + dx > 0)
+      return -position;
+    return dx;
+  }
+
+  /**
+   * Returns position kept between bounds of movement.
+   * @param position - position of content.
+   * @param rightBound - right bound of movement.
+   * @return
+   */
+  public static int clampPosition(int position, int rightBound) {
+    if (position < -rightBound)
+      return -rightBound;
+    if (position > 0)
+      return 0;
+    return position;
+  }
+
+  /**
+   * Indicates whether content should settle to shown state once it is released
+   * without fling. Content settles to bound which is closer to current position.
+   * @param position - position of content.
+   * @param rightBound - right bound of movement.
+   * @return
+   */
+  public static boolean shouldShowContent(int position, int rightBound) {
+    return position > -rightBound / 2;
+  }
+
+  /**
+   * Indicates whether finger release velocity is high enough for fling.
+   * @param velocity - velocity in pixels per second.
+   * @return
+   */
+  public static boolean isFling(float velocity) {
+    return Math.abs(velocity) >= FLING_MIN_VELOCITY;
+  }
+
+  /**
+   * Indicates whether effects should be applied for movement.
+   * @param effects - flags of enabled effects.
+   * @param isOpening - indicates whether actions are opening.
+   * @param isFlinging - indicates whether content is flinging or scrolled by finger.
+   * @return
+   */
+  public static boolean isEffectsEnabled(int effects, boolean isOpening, boolean isFlinging) {
+    if (effects == EFFECTS_NONE)
+      return false;
+
+    if (!isFlinging && (effects & EFFECTS_SCROLL) > 0) {
+      if (isOpening)
+        return (effects & EFFECTS_SCROLL_OPENING) == EFFECTS_SCROLL_OPENING;
+      return (effects & EFFECTS_SCROLL_CLOSING) == EFFECTS_SCROLL_CLOSING;
+    }
+
+    if (isFlinging && (effects & EFFECTS_FLING) > 0) {
+      if (isOpening)
+        return (effects & EFFECTS_FLING_OPENING) == EFFECTS_FLING_OPENING;
+      return (effects & EFFECTS_FLING_CLOSING) == EFFECTS_FLING_CLOSING;
+    }
+
+    return false;
+  }
+}
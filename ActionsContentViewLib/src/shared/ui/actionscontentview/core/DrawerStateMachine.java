@@ -0,0 +1,484 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+/**
+ * State of drawer movement: shown or hidden state of content, dragging by finger,
+ * flinging and settling to bound. State is kept in primitives and scrollers only,
+ * so it can be driven and checked on plain JVM. Everything that touches views
+ * is done by {@link Host}.
+ * <p>
+ * Position of content is 0 when content is shown and -rightBound when actions are shown.
+ * Time is passed by caller in nanoseconds, in time base of frames.
+ * @author steven
+ *
+ */
+public final class DrawerStateMachine {
+
+  /**
+   * Receives state changes and provides configuration of drawer.
+   */
+  public interface Host {
+    /**
+     * Returns right bound (limit) of content movement.
+     * @return distance content moves by between shown and hidden states.
+     */
+    public int getRightBound();
+
+    /**
+     * Indicates whether content has size, so it can be moved.
+     * @return
+     */
+    public boolean isLaidOut();
+
+    /**
+     * Returns flags of enabled effects, see {@link DrawerMotion#EFFECTS_ALL}.
+     * @return
+     */
+    public int getEffects();
+
+    /**
+     * Indicates whether settling is done by spring, otherwise it is done by interpolator.
+     * @return
+     */
+    public boolean isSpringSettle();
+
+    /**
+     * Returns duration of settling started by touch release or fling.
+     * @return duration in milliseconds.
+     */
+    public int getSettleDuration();
+
+    /**
+     * Called once position of content was changed.
+     * @param position - new position of content.
+     */
+    public void onPositionChanged(int position);
+
+    /**
+     * Called when content is going to be moved by finger.
+     */
+    public void onDragStarted();
+
+    /**
+     * Called once settling to bound was started.
+     * @param isContentShown - state content settles to.
+     * @param startTime - time settling was started at in nanoseconds.
+     */
+    public void onSettleStarted(boolean isContentShown, long startTime);
+
+    /**
+     * Called once content stopped moving.
+     */
+    public void onScrollFinished();
+
+    /**
+     * Called once settling is finished after {@link #onScrollFinished()}.
+     * @param isContentShown - state content settled to.
+     */
+    public void onSettleFinished(boolean isContentShown);
+
+    /**
+     * Requests {@link DrawerStateMachine#doFrame(long)} to be called at next frame.
+     */
+    public void postFrame();
+
+    /**
+     * Removes frame requested by {@link #postFrame()}.
+     */
+    public void cancelFrame();
+  }
+
+  private final Host mHost;
+  /**
+   * Used to auto-scroll to closest bound on touch up event.
+   */
+  private final ContentScroller mScroller;
+  /**
+   * Used to auto-scroll while effects are enabled.
+   */
+  private final ContentScroller mEffectsScroller;
+
+  /**
+   * Angular frequency of settling spring in radians per second.
+   */
+  private final float mSpringOmega;
+
+  private int mPosition = 0;
+  /**
+   * Part of swipe distance smaller than pixel which wasn't applied yet.
+   */
+  private float mSwipeRemainder = 0f;
+  /**
+   * Time of frame auto-scrolling position was computed for, 0 if content isn't auto-scrolling.
+   */
+  private long mFrameTime = 0;
+
+  private boolean isContentShown = true;
+  private boolean isFlinging = false;
+  /**
+   * Indicates whether auto-scrolling was caught by touch and wasn't reported as finished.
+   */
+  private boolean isScrollingInterrupted = false;
+  /**
+   * Indicates whether content was moved by finger since touch down.
+   */
+  private boolean isSwipeMoved = false;
+  private boolean isEffectsEnabled = false;
+
+  /**
+   * @param host - host to report changes to.
+   * @param scroller - scroller used while effects are disabled.
+   * @param effectsScroller - scroller used while effects are enabled.
+   * @param springOmega - angular frequency of settling spring in radians per second.
+   */
+  public DrawerStateMachine(Host host, ContentScroller scroller, ContentScroller effectsScroller, float springOmega) {
+    mHost = host;
+    mScroller = scroller;
+    mEffectsScroller = effectsScroller;
+    mSpringOmega = springOmega;
+  }
+
+  public int getPosition() {
+    return mPosition;
+  }
+
+  /**
+   * Sets position of content without notifying host. Used when host has moved content itself.
+   * @param position - position of content.
+   */
+  public void setPosition(int position) {
+    mPosition = position;
+  }
+
+  public float getScrollFactor() {
+    return DrawerMotion.getScrollFactor(mPosition, mHost.getRightBound());
+  }
+
+  public boolean isContentShown() {
+    return isContentShown;
+  }
+
+  /**
+   * Sets state of content without moving it, as restored one.
+   * Content is moved by {@link #init(long)}.
+   * @param shown
+   */
+  public void setContentShown(boolean shown) {
+    isContentShown = shown;
+  }
+
+  public boolean isFlinging() {
+    return isFlinging;
+  }
+
+  public boolean isEffectsEnabled() {
+    return isEffectsEnabled;
+  }
+
+  /**
+   * Returns time of frame current position was computed for.
+   * @return frame time in nanoseconds or 0 if content isn't auto-scrolling.
+   */
+  public long getFrameTime() {
+    return mFrameTime;
+  }
+
+  /**
+   * Indicates whether content is auto-scrolling now.
+   * @return
+   */
+  public boolean isScrolling() {
+    return getRunningScroller() != null;
+  }
+
+  /**
+   * Returns scroller which is running now.
+   * @return running scroller or null if there is no such one.
+   */
+  public ContentScroller getRunningScroller() {
+    if (!mScroller.isFinished())
+      return mScroller;
+    if (!mEffectsScroller.isFinished())
+      return mEffectsScroller;
+    return null;
+  }
+
+  /**
+   * Indicates whether content is at bound of its state and isn't auto-scrolling.
+   * @return
+   */
+  public boolean isSwipeFinished() {
+    if (isScrolling())
+      return false;
+
+    return DrawerMotion.isAtBound(mPosition, isContentShown, mHost.getRightBound());
+  }
+
+  public boolean isOpening() {
+    final ContentScroller running = getRunningScroller();
+    if (running != null)
+      return running.getStartX() > running.getFinalX();
+
+    return !isContentShown;
+  }
+
+  /**
+   * Moves content to bound of its state without animation.
+   * @param time - current time.
+   */
+  public void init(long time) {
+    if (isContentShown)
+      showContent(0, 0f, time);
+    else
+      hideContent(0, 0f, time);
+  }
+
+  /**
+   * Stops auto-scrolling at current position.
+   */
+  public void reset() {
+    mFrameTime = 0;
+    if (!mScroller.isFinished())
+      mScroller.forceFinished(true);
+    if (!mEffectsScroller.isFinished())
+      mEffectsScroller.forceFinished(true);
+  }
+
+  /**
+   * Touch down: catches content at its current position.
+   */
+  public void onDown() {
+    if (isScrolling()) {
+      // touch catches content at its current position and drag continues from there,
+      // so scrolling is not reported as finished in between
+      mHost.cancelFrame();
+      isScrollingInterrupted = true;
+    }
+    reset();
+    mSwipeRemainder = 0f;
+    isSwipeMoved = false;
+  }
+
+  /**
+   * Finger moved content by given distance.
+   * @param distanceX - distance in pixels, can be fractional.
+   * @return distance content was moved by.
+   */
+  public int onSwipe(float distanceX) {
+    isFlinging = false;
+    isEffectsEnabled = false;
+
+    reset();
+    mHost.onDragStarted();
+
+    final float distance = distanceX + mSwipeRemainder;
+    final int dx = (int) distance;
+    mSwipeRemainder = distance - dx;
+    return scrollBy(dx);
+  }
+
+  /**
+   * Touch up without fling.
+   * @param velocity - velocity of content at release in pixels per second.
+   * @param time - current time.
+   * @return true if content settles to bound, false if it is already there.
+   */
+  public boolean onUp(float velocity, long time) {
+    if (isSwipeFinished()) {
+      // content was dragged exactly to bound so there will be no auto-scrolling,
+      // tap on content which is already there is not reported at all
+      if (isScrollingInterrupted) {
+        isScrollingInterrupted = false;
+        finishScrolling();
+      } else if (isSwipeMoved) {
+        mHost.onScrollFinished();
+      }
+      isSwipeMoved = false;
+      return false;
+    }
+
+    isSwipeMoved = false;
+
+    completeScrolling(velocity, time);
+    return true;
+  }
+
+  /**
+   * Touch up with velocity of finger.
+   * @param velocityX - velocity of finger in pixels per second.
+   * @param time - current time.
+   * @return true if release was handled as fling.
+   */
+  public boolean onFling(float velocityX, long time) {
+    if (!DrawerMotion.isFling(velocityX))
+      return false;
+
+    isFlinging = true;
+    // content moves opposite to its position
+    if (velocityX < 0)
+      showContent(mHost.getSettleDuration(), -velocityX, time);
+    else
+      hideContent(mHost.getSettleDuration(), -velocityX, time);
+
+    return true;
+  }
+
+  /**
+   * Hides content.
+   * @param duration - duration of scrolling in milliseconds.
+   * @param velocity - initial velocity of content position in pixels per second.
+   * @param time - current time.
+   */
+  public void hideContent(int duration, float velocity, long time) {
+    isContentShown = false;
+    if (!mHost.isLaidOut())
+      return;
+
+    scroll(false, duration, velocity, time);
+  }
+
+  /**
+   * Shows content.
+   * @param duration - duration of scrolling in milliseconds.
+   * @param velocity - initial velocity of content position in pixels per second.
+   * @param time - current time.
+   */
+  public void showContent(int duration, float velocity, long time) {
+    isContentShown = true;
+    if (!mHost.isLaidOut())
+      return;
+
+    scroll(true, duration, velocity, time);
+  }
+
+  /**
+   * Computes auto-scrolling position for frame.
+   * @param frameTime - time of frame in nanoseconds.
+   */
+  public void doFrame(long frameTime) {
+    final ContentScroller scroller = isEffectsEnabled ? mEffectsScroller : mScroller;
+    if (scroller.isFinished()) {
+      finishScrolling();
+      return;
+    }
+
+    mFrameTime = frameTime;
+    final boolean more = scroller.computeScrollOffset(frameTime);
+    // retargeted scrolling can carry content towards opposite bound before it turns back
+    moveTo(DrawerMotion.clampPosition(scroller.getCurrX(), mHost.getRightBound()));
+
+    if (more)
+      mHost.postFrame();
+    else
+      finishScrolling();
+  }
+
+  /**
+   * Starts auto-scrolling to bound which is closer to current position.
+   */
+  private void completeScrolling(float velocity, long time) {
+    // preventing override of fling effect
+    if (isScrolling())
+      return;
+
+    // release velocity is too slow for fling but spring still continues with it
+    final int duration = mHost.getSettleDuration();
+    if (DrawerMotion.shouldShowContent(mPosition, mHost.getRightBound()))
+      showContent(duration, velocity, time);
+    else
+      hideContent(duration, velocity, time);
+  }
+
+  private void scroll(boolean showContent, int duration, float velocity, long time) {
+    final int rightBound = mHost.getRightBound();
+    final int finalX = DrawerMotion.getBoundPosition(showContent, rightBound);
+
+    final ContentScroller running = getRunningScroller();
+    final boolean isRetargeted = running != null && duration > 0;
+    if (isRetargeted) {
+      if (running.getFinalX() == finalX)
+        return;
+
+      // new target continues from current position and velocity
+      if (velocity == 0f)
+        velocity = running.getCurrVelocity();
+    }
+
+    reset();
+    isScrollingInterrupted = false;
+
+    final int startX = mPosition;
+    final int dx = finalX - startX;
+    if (duration <= 0) {
+      moveTo(finalX);
+      mHost.onScrollFinished();
+      return;
+    }
+
+    isEffectsEnabled = DrawerMotion.isEffectsEnabled(mHost.getEffects(), dx < 0, isFlinging);
+    final ContentScroller scroller = isEffectsEnabled ? mEffectsScroller : mScroller;
+    if (mHost.isSpringSettle() && !scroller.hasCustomInterpolator())
+      scroller.startSpring(startX, finalX, velocity, mSpringOmega, duration, time);
+    else if (isRetargeted)
+      // only remaining distance is scrolled, so it takes proportional part of duration
+      scroller.startScroll(startX, dx, Math.max(1, duration * Math.abs(dx) / rightBound), velocity, time);
+    else
+      scroller.startScroll(startX, dx, duration, time);
+
+    mHost.onSettleStarted(isContentShown, time);
+    mHost.postFrame();
+  }
+
+  /**
+   * Moves content by given distance keeping it between bounds.
+   * @param dx
+   * @return distance content was moved by.
+   */
+  private int scrollBy(int dx) {
+    isEffectsEnabled = DrawerMotion.isEffectsEnabled(mHost.getEffects(), !isContentShown, false);
+
+    final int scrollBy = DrawerMotion.clampScroll(mPosition, dx, mHost.getRightBound());
+    // don't scroll if we are at bound
+    if (scrollBy == 0)
+      return 0;
+
+    isSwipeMoved = true;
+    moveTo(mPosition + scrollBy);
+    return scrollBy;
+  }
+
+  /**
+   * Moves content to position and notifies host.
+   * @param position - position of content.
+   */
+  private void moveTo(int position) {
+    if (mPosition == position)
+      return;
+
+    mPosition = position;
+    mHost.onPositionChanged(position);
+  }
+
+  /**
+   * Notifies host that scrolling is finished.
+   */
+  private void finishScrolling() {
+    mFrameTime = 0;
+    mHost.onScrollFinished();
+    mHost.onSettleFinished(isContentShown);
+  }
+}
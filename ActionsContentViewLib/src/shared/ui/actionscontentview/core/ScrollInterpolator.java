@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+/**
+ * Maps fraction of scrolling time to fraction of scrolling distance. It is the same contract
+ * as android.view.animation.Interpolator has, so framework interpolators can be adapted to it.
+ * @author steven
+ *
+ */
+public interface ScrollInterpolator {
+
+  /**
+   * @param input - fraction of time from 0f to 1f.
+   * @return fraction of distance. Can be out of 0f to 1f range for overshooting curves.
+   */
+  public float getInterpolation(float input);
+}
@@ -0,0 +1,437 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+/**
+ * Recognizes horizontal swipes from finger samples of active pointer. Handles touch slop,
+ * locks swipe direction at first movement, checks area swipe starts at and tracks velocity.
+ * Doesn't depend on Android, so touch events are passed as pointer coordinates and times
+ * in milliseconds.
+ * @author steven
+ *
+ */
+public class SwipeTracker {
+
+  public interface OnSwipeListener {
+    /**
+     * Called on touch down before anything else.
+     */
+    public void onDown();
+
+    /**
+     * Called when finger moves while swiping.
+     * @param distanceX - distance along X axis since last call, previous position minus current one.
+     * First call gets distance from down position.
+     */
+    public void onSwipe(float distanceX);
+
+    /**
+     * Called instead of {@link #onSwipe(float)} when finger moves while resampling is enabled.
+     * Movement should be read by {@link SwipeTracker#resampleSwipe(long, long)} at frame time.
+     */
+    public void onSwipeSampled();
+
+    /**
+     * Called on touch up if swipe was fast enough.
+     * @param velocityX - velocity along X axis in pixels per second.
+     * @return
+     */
+    public boolean onFling(float velocityX);
+
+    /**
+     * Called on every touch up or cancel.
+     * @return true if event should be marked as handled.
+     */
+    public boolean onUp();
+  }
+
+  private static final int STATE_IDLE = 0;
+  /**
+   * Finger is down but didn't move out of touch slop yet.
+   */
+  private static final int STATE_DOWN = 1;
+  private static final int STATE_SWIPING = 2;
+  /**
+   * Gesture isn't a swipe and it is ignored until next touch down.
+   */
+  private static final int STATE_IGNORED = 3;
+
+  /**
+   * Count of samples used to compute velocity.
+   */
+  private static final int VELOCITY_SAMPLES = 8;
+  /**
+   * Samples older than that time are not used to compute velocity.
+   */
+  private static final long VELOCITY_HORIZON_MS = 100;
+  /**
+   * Samples closer in time than that are not used to extrapolate position.
+   */
+  private static final long MIN_RESAMPLE_DELTA_MS = 2;
+
+  private final OnSwipeListener mListener;
+  private final int mTouchSlopSquare;
+  private final int mMinFlingVelocity;
+  private final int mMaxFlingVelocity;
+
+  private final float[] mSampleX = new float[VELOCITY_SAMPLES];
+  private final float[] mSampleY = new float[VELOCITY_SAMPLES];
+  private final long[] mSampleTime = new long[VELOCITY_SAMPLES];
+  private int mSampleIndex;
+  private int mSampleCount;
+
+  private int mState = STATE_IDLE;
+  private int mActivePointerId;
+  private float mDownX;
+  private float mDownY;
+  private float mLastX;
+  private long mDownTime;
+  /**
+   * Time of finger position last passed to listener.
+   */
+  private long mAppliedTime;
+
+  private boolean isResampling = false;
+
+  private float mVelocityX;
+  private float mVelocityY;
+
+  private int mAreaLeft = Integer.MIN_VALUE;
+  private int mAreaRight = Integer.MAX_VALUE;
+
+  /**
+   * @param listener - listener to notify about swipe.
+   * @param touchSlop - distance in pixels finger should move by before swipe starts.
+   * @param minFlingVelocity - minimum velocity of fling in pixels per second.
+   * @param maxFlingVelocity - maximum velocity of fling in pixels per second.
+   */
+  public SwipeTracker(OnSwipeListener listener, int touchSlop, int minFlingVelocity, int maxFlingVelocity) {
+    mListener = listener;
+    mTouchSlopSquare = touchSlop * touchSlop;
+    mMinFlingVelocity = minFlingVelocity;
+    mMaxFlingVelocity = maxFlingVelocity;
+  }
+
+  /**
+   * Sets horizontal area swipe can start at. Usually called from {@link OnSwipeListener#onDown()}.
+   * @param left - left bound of area.
+   * @param right - right bound of area.
+   */
+  public void setSwipeArea(int left, int right) {
+    mAreaLeft = left;
+    mAreaRight = right;
+  }
+
+  public boolean isSwiping() {
+    return mState == STATE_SWIPING;
+  }
+
+  /**
+   * Enables resampling of finger position. Listener is notified about movement by
+   * {@link OnSwipeListener#onSwipeSampled()} and should read it by {@link #resampleSwipe(long, long)}.
+   * @param resampling
+   */
+  public void setResampling(boolean resampling) {
+    isResampling = resampling;
+  }
+
+  public boolean isResampling() {
+    return isResampling;
+  }
+
+  /**
+   * Returns time of last touch down.
+   * @return time in time base of touch events.
+   */
+  public long getDownTime() {
+    return mDownTime;
+  }
+
+  /**
+   * Returns time of finger position last passed to listener.
+   * @return time in time base of touch events.
+   */
+  public long getAppliedTime() {
+    return mAppliedTime;
+  }
+
+  /**
+   * Indicates whether there are finger samples newer than position last passed to listener.
+   * @return
+   */
+  public boolean hasPendingSamples() {
+    if (mState != STATE_SWIPING || mSampleCount == 0)
+      return false;
+
+    final int newest = (mSampleIndex + VELOCITY_SAMPLES - 1) % VELOCITY_SAMPLES;
+    return mSampleTime[newest] > mAppliedTime;
+  }
+
+  /**
+   * Computes finger position at given time and returns distance since position read last time.
+   * Position is interpolated between samples around the time or extrapolated from newest ones.
+   * @param time - time to compute position for, time base of touch events.
+   * @param maxPrediction - max time to extrapolate position after newest sample for.
+   * @return distance along X axis, previous position minus current one.
+   */
+  public float resampleSwipe(long time, long maxPrediction) {
+    if (mState != STATE_SWIPING || mSampleCount == 0)
+      return 0f;
+
+    final int newest = (mSampleIndex + VELOCITY_SAMPLES - 1) % VELOCITY_SAMPLES;
+    final long newestTime = mSampleTime[newest];
+
+    float x = mSampleX[newest];
+    long sampleTime = newestTime;
+    if (time >= newestTime) {
+      if (mSampleCount > 1 && maxPrediction > 0) {
+        final int prev = (newest + VELOCITY_SAMPLES - 1) % VELOCITY_SAMPLES;
+        final long dt = newestTime - mSampleTime[prev];
+        if (dt >= MIN_RESAMPLE_DELTA_MS) {
+          sampleTime = Math.min(time, newestTime + maxPrediction);
+          x += (mSampleX[newest] - mSampleX[prev]) * (sampleTime - newestTime) / dt;
+        }
+      }
+    } else {
+      int after = newest;
+      for (int i=1; i<mSampleCount; ++i) {
+        final int before = (newest + VELOCITY_SAMPLES - i) % VELOCITY_SAMPLES;
+        final long beforeTime = mSampleTime[before];
+        if (beforeTime <= time) {
+          final long dt = mSampleTime[after] - beforeTime;
+          final float fraction = dt > 0 ? (float) (time - beforeTime) / dt : 1f;
+          x = mSampleX[before] + (mSampleX[after] - mSampleX[before]) * fraction;
+          sampleTime = time;
+          break;
+        }
+        // time is older than all samples, so oldest one is used
+        x = mSampleX[before];
+        sampleTime = beforeTime;
+        after = before;
+      }
+    }
+
+    // position is never moved back in time
+    if (sampleTime < mAppliedTime)
+      return 0f;
+
+    mAppliedTime = sampleTime;
+    final float distanceX = mLastX - x;
+    mLastX = x;
+    return distanceX;
+  }
+
+  public float getVelocityX() {
+    return mVelocityX;
+  }
+
+  /**
+   * Indicates whether moves of active pointer should be passed to {@link #onMove(float, float, long)}.
+   * @return
+   */
+  public boolean isTracking() {
+    return mState == STATE_DOWN || mState == STATE_SWIPING;
+  }
+
+  /**
+   * Returns id of pointer swipe follows.
+   * @return
+   */
+  public int getActivePointerId() {
+    return mActivePointerId;
+  }
+
+  /**
+   * Touch down of first pointer.
+   * @param pointerId - id of pointer.
+   * @param x - X coordinate of pointer.
+   * @param y - Y coordinate of pointer.
+   * @param time - time of event in milliseconds.
+   */
+  public void onDown(int pointerId, float x, float y, long time) {
+    mState = STATE_DOWN;
+    mActivePointerId = pointerId;
+    mDownX = mLastX = x;
+    mDownY = y;
+    mDownTime = mAppliedTime = time;
+
+    mSampleCount = 0;
+    mSampleIndex = 0;
+    addSample(mDownX, mDownY, time);
+
+    mListener.onDown();
+  }
+
+  /**
+   * Adds historical sample of active pointer batched into move event.
+   * Should be called for every historical sample before {@link #onMove(float, float, long)}.
+   */
+  public void onHistoricalMove(float x, float y, long time) {
+    addSample(x, y, time);
+  }
+
+  /**
+   * Active pointer moved.
+   * @param x - current X coordinate of active pointer.
+   * @param y - current Y coordinate of active pointer.
+   * @param time - time of event in milliseconds.
+   * @return true if move is a part of swipe.
+   */
+  public boolean onMove(float x, float y, long time) {
+    if (mState == STATE_IDLE || mState == STATE_IGNORED)
+      return false;
+
+    addSample(x, y, time);
+
+    if (mState == STATE_DOWN) {
+      final float dx = x - mDownX;
+      final float dy = y - mDownY;
+      if (dx * dx + dy * dy <= mTouchSlopSquare)
+        return false;
+
+      // direction is locked by first movement out of touch slop
+      if (Math.abs(dx) < Math.abs(dy) || mDownX < mAreaLeft || mDownX > mAreaRight) {
+        mState = STATE_IGNORED;
+        return false;
+      }
+
+      mState = STATE_SWIPING;
+    }
+
+    if (isResampling) {
+      mListener.onSwipeSampled();
+      return true;
+    }
+
+    final float distanceX = mLastX - x;
+    mLastX = x;
+    mAppliedTime = time;
+    if (distanceX != 0f)
+      mListener.onSwipe(distanceX);
+    return true;
+  }
+
+  /**
+   * Non-last pointer went up.
+   * @param pointerId - id of pointer which went up.
+   * @param newPointerId - id of pointer swipe continues with if active one went up.
+   * @param newX - X coordinate of new pointer.
+   * @param newY - Y coordinate of new pointer.
+   * @param time - time of event in milliseconds.
+   * @return true if event is a part of swipe.
+   */
+  public boolean onPointerUp(int pointerId, int newPointerId, float newX, float newY, long time) {
+    if (pointerId == mActivePointerId) {
+      // continue with another pointer from its current position
+      mActivePointerId = newPointerId;
+      mLastX = newX;
+      mAppliedTime = time;
+      mSampleCount = 0;
+      mSampleIndex = 0;
+      addSample(newX, newY, time);
+    }
+    return mState == STATE_SWIPING;
+  }
+
+  /**
+   * Last pointer went up or gesture was canceled.
+   * @param canFling - true for touch up, false for cancel.
+   * @param hasActivePointer - indicates whether event contains active pointer.
+   * @param x - X coordinate of active pointer.
+   * @param y - Y coordinate of active pointer.
+   * @param time - time of event in milliseconds.
+   * @return true if event should be marked as handled.
+   */
+  public boolean onUp(boolean canFling, boolean hasActivePointer, float x, float y, long time) {
+    final boolean wasSwiping = mState == STATE_SWIPING;
+    // position of up event is used for velocity the same way as moves are
+    if (wasSwiping && canFling && hasActivePointer)
+      addSample(x, y, time);
+    if (wasSwiping && isResampling)
+      flushSwipe();
+    mState = STATE_IDLE;
+
+    mVelocityX = 0f;
+    mVelocityY = 0f;
+
+    boolean handled = false;
+    if (wasSwiping && canFling) {
+      computeVelocity();
+      final float absVelocityX = Math.abs(mVelocityX);
+      if (absVelocityX > mMinFlingVelocity && absVelocityX > Math.abs(mVelocityY))
+        handled = mListener.onFling(mVelocityX);
+    }
+
+    handled |= mListener.onUp();
+    return handled;
+  }
+
+  /**
+   * Moves swipe to newest finger position, so no resampled or predicted position is left.
+   */
+  private void flushSwipe() {
+    final int newest = (mSampleIndex + VELOCITY_SAMPLES - 1) % VELOCITY_SAMPLES;
+    final float distanceX = mLastX - mSampleX[newest];
+    mLastX = mSampleX[newest];
+    mAppliedTime = mSampleTime[newest];
+    if (distanceX != 0f)
+      mListener.onSwipe(distanceX);
+  }
+
+  private void addSample(float x, float y, long time) {
+    mSampleX[mSampleIndex] = x;
+    mSampleY[mSampleIndex] = y;
+    mSampleTime[mSampleIndex] = time;
+    mSampleIndex = (mSampleIndex + 1) % VELOCITY_SAMPLES;
+    if (mSampleCount < VELOCITY_SAMPLES)
+      ++mSampleCount;
+  }
+
+  /**
+   * Computes velocity between newest sample and oldest one within velocity horizon.
+   */
+  private void computeVelocity() {
+    mVelocityX = 0f;
+    mVelocityY = 0f;
+    if (mSampleCount < 2)
+      return;
+
+    final int newest = (mSampleIndex + VELOCITY_SAMPLES - 1) % VELOCITY_SAMPLES;
+    final long newestTime = mSampleTime[newest];
+    int oldest = newest;
+    for (int i=1; i<mSampleCount; ++i) {
+      final int index = (newest + VELOCITY_SAMPLES - i) % VELOCITY_SAMPLES;
+      if (newestTime - mSampleTime[index] > VELOCITY_HORIZON_MS)
+        break;
+      oldest = index;
+    }
+
+    final long duration = newestTime - mSampleTime[oldest];
+    if (duration <= 0)
+      return;
+
+    mVelocityX = clampVelocity((mSampleX[newest] - mSampleX[oldest]) * 1000f / duration);
+    mVelocityY = clampVelocity((mSampleY[newest] - mSampleY[oldest]) * 1000f / duration);
+  }
+
+  private float clampVelocity(float velocity) {
+    if (velocity > mMaxFlingVelocity)
+      return mMaxFlingVelocity;
+    if (velocity < -mMaxFlingVelocity)
+      return -mMaxFlingVelocity;
+    return velocity;
+  }
+}
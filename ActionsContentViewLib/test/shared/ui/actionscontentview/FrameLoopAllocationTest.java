@@ -0,0 +1,417 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import android.content.Context;
+import android.view.MotionEvent;
+import android.view.ViewRootImpl;
+import android.view.animation.Animation;
+import android.view.animation.Interpolator;
+
+import shared.ui.actionscontentview.core.DrawerMotion;
+import shared.ui.actionscontentview.core.FakeDrawerHost;
+
+/**
+ * Checks that per-event and per-frame work of drawer doesn't allocate once warmed up:
+ * swiping, flinging and settling through drawer state machine stepped by virtual clock,
+ * with effects applied to both containers in traversal phase of every frame.
+ * The same is checked for {@link ActionsContentView} built on JVM stand-ins of Android views:
+ * touch events dispatched through intercepting and handling of view, scroll factor applied
+ * to containers with effects and fade, and drawing of containers.
+ * Allocations are measured in bytes allocated by test thread.
+ */
+public class FrameLoopAllocationTest {
+  private static final int WARMUP_RUNS = 2000;
+  private static final int MEASURED_RUNS = 200;
+  private static final int MAX_FRAMES = 600;
+
+  private static final int WIDTH = 432;
+  private static final int HEIGHT = 800;
+  private static final int PARENT_WIDTH = 480;
+  private static final int PARENT_HEIGHT = 800;
+
+  private static final int SPACING = 64;
+  private static final int FADE_VALUE = 170;
+  private static final int FLING_DURATION = 900;
+  private static final long NANOS_PER_MS = 1000000;
+  /**
+   * Time between gesture cycles replayed through view, enough to settle after every gesture.
+   */
+  private static final long CYCLE_TIME = 3000;
+  private static final long EVENT_INTERVAL = 16;
+  private static final int DRAG_MOVES = 12;
+  private static final float DRAG_STEP = 26f;
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+  private VirtualFrameClock clock;
+  private FrameLoopHost host;
+
+  private static com.sun.management.ThreadMXBean getThreadMXBean() {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+  }
+
+  private static long getAllocatedBytes() {
+    return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Runs path until it is compiled, then fails if measured runs allocated anything.
+   */
+  private static void assertNoAllocations(String name, Runnable path) {
+    for (int i=0; i<WARMUP_RUNS; ++i)
+      path.run();
+
+    final Runnable empty = new Runnable() {
+      @Override
+      public void run() {
+      }
+    };
+    final long overhead = measure(empty);
+    final long bytes = measure(path) - overhead;
+    assertEquals(name + " allocated bytes per " + MEASURED_RUNS + " runs", 0L, bytes);
+  }
+
+  private static long measure(Runnable path) {
+    final long start = getAllocatedBytes();
+    for (int i=0; i<MEASURED_RUNS; ++i)
+      path.run();
+    return getAllocatedBytes() - start;
+  }
+
+  @Before
+  public void setUp() {
+    assumeTrue(THREAD_MX_BEAN != null && THREAD_MX_BEAN.isThreadAllocatedMemorySupported());
+    THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+
+    clock = new VirtualFrameClock();
+    host = new FrameLoopHost(clock);
+    host.drawer.init(clock.getTime());
+    clock.runFrames(VirtualFrameClock.FRAME_INTERVAL, MAX_FRAMES);
+  }
+
+  @Test
+  public void swipeDoesNotAllocate() {
+    host.drawer.onDown();
+    assertNoAllocations("swipe", new Runnable() {
+      private float mDistance = -7.5f;
+
+      @Override
+      public void run() {
+        // content bounces between bounds, so clamped moves are run too
+        if (host.drawer.onSwipe(mDistance) == 0)
+          mDistance = -mDistance;
+        clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL);
+      }
+    });
+  }
+
+  @Test
+  public void flingCycleDoesNotAllocate() {
+    assertNoAllocations("fling cycle", new Runnable() {
+      @Override
+      public void run() {
+        fling(-100f, DrawerMotion.FLING_MIN_VELOCITY * 2);
+        fling(100f, -DrawerMotion.FLING_MIN_VELOCITY * 2);
+      }
+    });
+  }
+
+  @Test
+  public void springSettleCycleDoesNotAllocate() {
+    host.isSpringSettle = true;
+    assertNoAllocations("spring settle cycle", mSettleCycle);
+  }
+
+  @Test
+  public void durationSettleCycleDoesNotAllocate() {
+    host.isSpringSettle = false;
+    assertNoAllocations("duration settle cycle", mSettleCycle);
+  }
+
+  @Test
+  public void bakedEffectsDoNotAllocate() {
+    host.actionsEffects.setBaked(true);
+    host.contentEffects.setBaked(true);
+    assertNoAllocations("baked fling cycle", new Runnable() {
+      @Override
+      public void run() {
+        fling(-100f, DrawerMotion.FLING_MIN_VELOCITY * 2);
+        fling(100f, -DrawerMotion.FLING_MIN_VELOCITY * 2);
+      }
+    });
+  }
+
+  @Test
+  public void viewScrollCycleDoesNotAllocate() {
+    final ViewFrameLoop loop = new ViewFrameLoop(ActionsContentView.MOVEMENT_SCROLL, false);
+    loop.assertNoAllocations("view scroll cycle");
+  }
+
+  @Test
+  public void viewTranslationCycleDoesNotAllocate() {
+    final ViewFrameLoop loop = new ViewFrameLoop(ActionsContentView.MOVEMENT_TRANSLATION, true);
+    loop.view.getActionsController().setAlphaStrategy(ContainerController.ALPHA_HARDWARE_LAYER);
+    loop.view.getContentController().setAlphaStrategy(ContainerController.ALPHA_HARDWARE_LAYER);
+    loop.assertNoAllocations("view translation cycle");
+  }
+
+  @Test
+  public void viewAutoAlphaCycleDoesNotAllocate() {
+    final ViewFrameLoop loop = new ViewFrameLoop(ActionsContentView.MOVEMENT_TRANSLATION, true);
+    loop.assertNoAllocations("view auto alpha cycle");
+  }
+
+  @Test
+  public void viewResamplingCycleDoesNotAllocate() {
+    final ViewFrameLoop loop = new ViewFrameLoop(ActionsContentView.MOVEMENT_SCROLL, false);
+    loop.view.setTouchResampling(ActionsContentView.TOUCH_RESAMPLING_PREDICT);
+    loop.assertNoAllocations("view resampling cycle");
+  }
+
+  private final Runnable mSettleCycle = new Runnable() {
+    @Override
+    public void run() {
+      // released past the middle, so content settles to opposite state
+      settle(-host.rightBound * 2 / 3);
+      settle(host.rightBound * 2 / 3);
+    }
+  };
+
+  private void fling(float distance, float velocity) {
+    host.drawer.onDown();
+    host.drawer.onSwipe(distance);
+    clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL);
+    host.drawer.onFling(velocity, clock.getTime());
+    clock.runFrames(VirtualFrameClock.FRAME_INTERVAL, MAX_FRAMES);
+    assertFalse(host.drawer.isScrolling());
+  }
+
+  private void settle(float distance) {
+    host.drawer.onDown();
+    host.drawer.onSwipe(distance);
+    clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL);
+    host.drawer.onUp(0f, clock.getTime());
+    clock.runFrames(VirtualFrameClock.FRAME_INTERVAL, MAX_FRAMES);
+    assertFalse(host.drawer.isScrolling());
+  }
+
+  /**
+   * View attached to window of stand-in views and stepped by clock. Every run replays one
+   * gesture cycle through {@link ActionsContentView#dispatchTouchEvent(MotionEvent)}: drag
+   * opening actions, tap on shown actions, which is delivered to view twice since no child
+   * handles it, and drag closing actions. Every frame is drawn once clock callbacks are run.
+   * Events of all runs are created beforehand, since view recognizes repeated events by their times.
+   */
+  private class ViewFrameLoop implements Runnable {
+    final ActionsContentView view;
+    final ViewRootImpl root;
+    private final MotionEvent[][] mCycles = new MotionEvent[WARMUP_RUNS + MEASURED_RUNS][];
+    private int mRun = 0;
+
+    public ViewFrameLoop(int movementType, boolean hardwareAccelerated) {
+      view = new ActionsContentView(new Context());
+      view.setSpacingWidth(SPACING);
+      view.setFlingDuration(FLING_DURATION);
+      view.setFadeType(ActionsContentView.FADE_BOTH);
+      view.setFadeValue(FADE_VALUE);
+      view.setSwipingType(ActionsContentView.SWIPING_ALL);
+      view.setMovementType(movementType);
+      view.getActionsController().setEffects(createActionsEffect());
+      view.getContentController().setEffects(createContentEffect());
+      view.setFrameClock(clock);
+      root = new ViewRootImpl(view, PARENT_WIDTH, PARENT_HEIGHT, hardwareAccelerated);
+
+      final long start = clock.getTime() / NANOS_PER_MS + CYCLE_TIME;
+      for (int i=0; i<mCycles.length; ++i)
+        mCycles[i] = createCycle(start + i * CYCLE_TIME);
+    }
+
+    void assertNoAllocations(String name) {
+      FrameLoopAllocationTest.assertNoAllocations(name, this);
+
+      assertTrue(root.getDrawCount() > 0);
+      assertEquals(1, root.getCanvas().getSaveCount());
+      // tap was passed to view by intercepting and handling, and processed once
+      assertTrue(view.getTouchEventsReceived() > view.getTouchEventsProcessed());
+    }
+
+    @Override
+    public void run() {
+      final MotionEvent[] events = mCycles[mRun++];
+      final int tapDown = DRAG_MOVES + 2;
+      for (int i=0; i<events.length; ++i) {
+        if (i == tapDown)
+          assertTrue(view.isActionsShown());
+        dispatch(events[i]);
+      }
+
+      for (int f=0; f<MAX_FRAMES && clock.hasPendingFrames(); ++f)
+        stepFrame();
+      assertFalse(view.isContentMoving());
+      assertTrue(view.isContentShown());
+    }
+
+    private void dispatch(MotionEvent ev) {
+      final long time = ev.getEventTime() * NANOS_PER_MS;
+      while (clock.getTime() + VirtualFrameClock.FRAME_INTERVAL <= time)
+        stepFrame();
+      if (clock.getTime() < time)
+        clock.setTime(time);
+      view.dispatchTouchEvent(ev);
+    }
+
+    private void stepFrame() {
+      clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL);
+      root.doFrame(clock.getTime());
+    }
+  }
+
+  /**
+   * Creates events of gesture cycle: drag opening actions, tap on actions and drag closing them.
+   */
+  private static MotionEvent[] createCycle(long start) {
+    final MotionEvent[] events = new MotionEvent[2 * (DRAG_MOVES + 2) + 2];
+    int index = createDrag(events, 0, start, 20f, DRAG_STEP);
+    final float y = PARENT_HEIGHT / 2;
+    final long tapTime = start + CYCLE_TIME * 2 / 5;
+    events[index++] = MotionEvent.obtain(tapTime, tapTime, MotionEvent.ACTION_DOWN, 200f, y, 0);
+    events[index++] = MotionEvent.obtain(tapTime, tapTime + EVENT_INTERVAL * 4, MotionEvent.ACTION_UP, 200f, y, 0);
+    createDrag(events, index, start + CYCLE_TIME / 2, PARENT_WIDTH - 40f, -DRAG_STEP);
+    return events;
+  }
+
+  private static int createDrag(MotionEvent[] events, int index, long downTime, float x, float step) {
+    final float y = PARENT_HEIGHT / 2;
+    events[index++] = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, x, y, 0);
+    for (int i=1; i<=DRAG_MOVES; ++i) {
+      final long time = downTime + i * EVENT_INTERVAL;
+      final MotionEvent move = MotionEvent.obtain(downTime, time - EVENT_INTERVAL / 2, MotionEvent.ACTION_MOVE,
+          x + (i - 0.5f) * step, y, 0);
+      move.addBatch(time, x + i * step, y, 1f, 1f, 0);
+      events[index++] = move;
+    }
+    final long upTime = downTime + (DRAG_MOVES + 1) * EVENT_INTERVAL;
+    events[index++] = MotionEvent.obtain(downTime, upTime, MotionEvent.ACTION_UP, x + DRAG_MOVES * step, y, 0);
+    return index;
+  }
+
+  private static final Interpolator ACCELERATE = new Interpolator() {
+    @Override
+    public float getInterpolation(float input) {
+      return input * input;
+    }
+  };
+
+  private static Effect createActionsEffect() {
+    final EffectSet actions = new EffectSet();
+    final TranslateEffect translate = new TranslateEffect(0f, -100f, 0f, 0f);
+    translate.setInterpolator(ACCELERATE);
+    actions.addEffect(translate);
+    actions.addEffect(new ScaleEffect(1f, 0.5f, 1f, 0.5f,
+        Animation.RELATIVE_TO_SELF, 0.25f, Animation.RELATIVE_TO_SELF, 0.5f));
+    return actions;
+  }
+
+  private static Effect createContentEffect() {
+    final EffectSet content = new EffectSet();
+    content.addEffect(new RotateEffect(0f, 15f,
+        Animation.RELATIVE_TO_PARENT, 0.5f, Animation.RELATIVE_TO_PARENT, 1f));
+    content.addEffect(new AlphaEffect(1f, 0.15f));
+    return content;
+  }
+
+  /**
+   * Host which applies effects of both containers in traversal phase of frame
+   * the same way view does while clock is set.
+   */
+  private static class FrameLoopHost extends FakeDrawerHost {
+    private final VirtualFrameClock mClock;
+    private boolean isDirty = false;
+
+    final EffectsController actionsEffects = new EffectsController();
+    final EffectsController contentEffects = new EffectsController();
+
+    private final VirtualFrameClock.FrameCallback mAnimationCallback = new VirtualFrameClock.FrameCallback() {
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        isFramePosted = false;
+        drawer.doFrame(frameTimeNanos);
+      }
+    };
+
+    private final VirtualFrameClock.FrameCallback mTraversalCallback = new VirtualFrameClock.FrameCallback() {
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        if (isDirty)
+          applyScrollFactor();
+      }
+    };
+
+    public FrameLoopHost(VirtualFrameClock clock) {
+      mClock = clock;
+
+      actionsEffects.setEffects(createActionsEffect());
+      actionsEffects.initialize(WIDTH, HEIGHT, PARENT_WIDTH, PARENT_HEIGHT);
+
+      contentEffects.setEffects(createContentEffect());
+      contentEffects.initialize(WIDTH, HEIGHT, PARENT_WIDTH, PARENT_HEIGHT);
+    }
+
+    private void applyScrollFactor() {
+      isDirty = false;
+      final float scrollFactor = drawer.getScrollFactor();
+      final int effectType = drawer.isOpening() ? EffectsController.EFFECT_OPEN : EffectsController.EFFECT_CLOSE;
+      if (drawer.isEffectsEnabled()) {
+        actionsEffects.apply(scrollFactor, effectType);
+        contentEffects.apply(1f - scrollFactor, effectType);
+      } else {
+        actionsEffects.reset();
+        contentEffects.reset();
+      }
+    }
+
+    @Override
+    public void onPositionChanged(int position) {
+      super.onPositionChanged(position);
+      isDirty = true;
+      mClock.postFrameCallback(VirtualFrameClock.CALLBACK_TRAVERSAL, mTraversalCallback);
+    }
+
+    @Override
+    public void postFrame() {
+      isFramePosted = true;
+      mClock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, mAnimationCallback);
+    }
+
+    @Override
+    public void cancelFrame() {
+      isFramePosted = false;
+      mClock.removeFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, mAnimationCallback);
+    }
+  }
+}
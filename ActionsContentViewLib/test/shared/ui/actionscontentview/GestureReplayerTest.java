@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import android.content.Context;
+import android.view.ViewRootImpl;
+
+/**
+ * Replays traces through {@link ActionsContentView} built on JVM stand-ins of Android views
+ * and attached to window of {@link #WIDTH} x {@link #HEIGHT} pixels.
+ */
+public class GestureReplayerTest {
+  private static final int WIDTH = 480;
+  private static final int HEIGHT = 800;
+  private static final int SPACING = 80;
+  private static final int RIGHT_BOUND = WIDTH - SPACING;
+  /**
+   * Default fling duration of library, resources are not resolved on JVM.
+   */
+  private static final int FLING_DURATION = 900;
+  private static final int MAX_FRAMES = 600;
+  private static final long DOWN_TIME = 100000;
+  private static final long EVENT_INTERVAL = 16;
+
+  /**
+   * Writes trace in format of {@link GestureRecorder}: one pointer moved horizontally,
+   * every move event batches one historical sample.
+   */
+  private static GestureTrace drag(float startX, float endX, int moves) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(GestureTrace.MAGIC);
+    out.writeInt(GestureTrace.VERSION);
+    out.writeInt(moves + 2);
+
+    final float y = HEIGHT / 2;
+    writeEvent(out, GestureTrace.ACTION_DOWN, DOWN_TIME, startX, y, false);
+    final float step = (endX - startX) / moves;
+    for (int i=1; i<=moves; ++i)
+      writeEvent(out, GestureTrace.ACTION_MOVE, DOWN_TIME + i * EVENT_INTERVAL, startX + i * step, y, true);
+    writeEvent(out, GestureTrace.ACTION_UP, DOWN_TIME + (moves + 1) * EVENT_INTERVAL, endX, y, false);
+    out.flush();
+
+    return new GestureTrace(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  private static void writeEvent(DataOutputStream out, int action, long time, float x, float y, boolean history) throws IOException {
+    out.writeInt(action);
+    out.writeLong(DOWN_TIME);
+    out.writeLong(time);
+    out.writeByte(1);
+    out.writeByte(0);
+    if (history) {
+      out.writeShort(1);
+      out.writeLong(time - EVENT_INTERVAL / 2);
+      out.writeFloat(x);
+      out.writeFloat(y);
+    } else {
+      out.writeShort(0);
+    }
+    out.writeFloat(x);
+    out.writeFloat(y);
+  }
+
+  private static ActionsContentView createView(VirtualFrameClock clock) {
+    final ActionsContentView view = new ActionsContentView(new Context());
+    view.setSpacingWidth(SPACING);
+    view.setFlingDuration(FLING_DURATION);
+    view.setSwipingType(ActionsContentView.SWIPING_ALL);
+    view.setFadeType(ActionsContentView.FADE_BOTH);
+    view.setFadeValue(170);
+    view.getActionsController().setEffects(new TranslateEffect(-100f, 0f, 0f, 0f));
+    final EffectSet content = new EffectSet();
+    content.addEffect(new ScaleEffect(1f, 0.8f, 1f, 0.8f));
+    content.addEffect(new AlphaEffect(1f, 0.5f));
+    view.getContentController().setEffects(content);
+    view.setFrameClock(clock);
+    return view;
+  }
+
+  private static GestureReplayer replay(GestureTrace trace, boolean contentShown) {
+    final VirtualFrameClock clock = new VirtualFrameClock();
+    final ActionsContentView view = createView(clock);
+    new ViewRootImpl(view, WIDTH, HEIGHT, true);
+    if (!contentShown) {
+      view.showActions();
+      clock.runFrames(VirtualFrameClock.FRAME_INTERVAL, MAX_FRAMES);
+    }
+
+    final GestureReplayer replayer = new GestureReplayer(trace);
+    replayer.replay(view);
+    // events went through touch handling of view
+    assertEquals(trace.getEventCount(), view.getTouchEventsProcessed());
+    return replayer;
+  }
+
+  @Test
+  public void traceIsReadBack() throws IOException {
+    final GestureTrace trace = drag(50f, 350f, 6);
+    assertEquals(8, trace.getEventCount());
+    assertEquals(1, trace.getMaxPointers());
+
+    final GestureTrace.Event move = trace.getEvent(1);
+    assertEquals(GestureTrace.ACTION_MOVE, move.getActionMasked());
+    assertEquals(1, move.getHistorySize());
+    assertEquals(DOWN_TIME + EVENT_INTERVAL, move.getEventTime());
+    assertEquals(100f, move.getX(0), 0f);
+  }
+
+  @Test
+  public void flingShowsActions() throws IOException {
+    final GestureReplayer replayer = replay(drag(50f, 350f, 6), true);
+
+    final int last = replayer.getEventCount() - 1;
+    assertTrue(replayer.getPosition(last) > -RIGHT_BOUND);
+    assertEquals(-RIGHT_BOUND, replayer.getFinalPosition());
+    // shown -> swiping -> settling -> hidden
+    assertEquals(3, replayer.getStateTransitions());
+    assertTrue(replayer.getFrameCount() > 0);
+    // settle frames with effects are counted in cost of release
+    assertTrue(replayer.getFrameTime(last) > 0);
+    assertTrue(replayer.getCost(last) >= replayer.getHandlingTime(last) + replayer.getFrameTime(last));
+  }
+
+  @Test
+  public void dragMovesContent() throws IOException {
+    final GestureReplayer replayer = replay(drag(50f, 350f, 6), true);
+
+    assertEquals(0, replayer.getPosition(0));
+    int previous = 0;
+    for (int i=1; i<replayer.getEventCount() - 1; ++i) {
+      final int position = replayer.getPosition(i);
+      assertTrue(position <= previous);
+      previous = position;
+    }
+    assertTrue(previous < 0);
+  }
+
+  @Test
+  public void slowShortDragReturnsContent() throws IOException {
+    final GestureReplayer replayer = replay(drag(50f, 110f, 30), true);
+
+    final int last = replayer.getEventCount() - 1;
+    assertTrue(replayer.getPosition(last) < 0);
+    assertEquals(0, replayer.getFinalPosition());
+  }
+
+  @Test
+  public void tapDoesNothing() throws IOException {
+    final GestureReplayer replayer = replay(drag(50f, 52f, 2), false);
+
+    for (int i=0; i<replayer.getEventCount(); ++i)
+      assertEquals(-RIGHT_BOUND, replayer.getPosition(i));
+    assertEquals(-RIGHT_BOUND, replayer.getFinalPosition());
+    assertEquals(0, replayer.getStateTransitions());
+    assertFalse(replayer.getFrameCount() > 0);
+  }
+}
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import shared.ui.actionscontentview.core.DrawerMotion;
+import shared.ui.actionscontentview.core.FakeDrawerHost;
+
+public class VirtualFrameClockTest {
+  private static final int MAX_FRAMES = 600;
+
+  private VirtualFrameClock clock;
+  private final StringBuilder trace = new StringBuilder();
+
+  @Before
+  public void setUp() {
+    clock = new VirtualFrameClock();
+  }
+
+  private VirtualFrameClock.FrameCallback record(final String name) {
+    return new VirtualFrameClock.FrameCallback() {
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        trace.append(name);
+      }
+    };
+  }
+
+  @Test
+  public void callbacksRunInPhaseOrder() {
+    clock.postFrameCallback(VirtualFrameClock.CALLBACK_FRAME_END, record("E"));
+    clock.postFrameCallback(VirtualFrameClock.CALLBACK_TRAVERSAL, record("T"));
+    clock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, record("A"));
+
+    assertTrue(clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL));
+    assertEquals("ATE", trace.toString());
+    assertEquals(VirtualFrameClock.FRAME_INTERVAL, clock.getTime());
+    assertFalse(clock.hasPendingFrames());
+    assertFalse(clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL));
+  }
+
+  @Test
+  public void laterPhasePostedByFrameRunsInSameFrame() {
+    final VirtualFrameClock.FrameCallback traversal = record("T");
+    clock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, new VirtualFrameClock.FrameCallback() {
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        trace.append('A');
+        clock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, this);
+        clock.postFrameCallback(VirtualFrameClock.CALLBACK_TRAVERSAL, traversal);
+      }
+    });
+
+    clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL);
+    assertEquals("AT", trace.toString());
+    assertTrue(clock.hasPendingFrames());
+    clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL);
+    assertEquals("ATAT", trace.toString());
+  }
+
+  @Test
+  public void callbackIsScheduledOnce() {
+    final VirtualFrameClock.FrameCallback callback = record("A");
+    clock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, callback);
+    clock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, callback);
+    clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL);
+    assertEquals("A", trace.toString());
+
+    clock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, callback);
+    clock.removeFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, callback);
+    assertFalse(clock.hasPendingFrames());
+  }
+
+  @Test
+  public void openCloseCycleIsSteppedByClock() {
+    final ClockDrawerHost host = new ClockDrawerHost(clock);
+    host.drawer.init(clock.getTime());
+    clock.runFrames(VirtualFrameClock.FRAME_INTERVAL, MAX_FRAMES);
+    host.reset();
+
+    // drag is applied in traversal phase of the next frame
+    host.drawer.onDown();
+    host.drawer.onSwipe(-100f);
+    assertEquals(0, host.applies.size());
+    assertTrue(clock.stepFrame(VirtualFrameClock.FRAME_INTERVAL));
+    assertEquals(1, host.applies.size());
+    assertEquals(1f - 100f / host.rightBound, host.applies.get(0), 0f);
+    assertEquals(1, host.frameEnds);
+
+    assertTrue(host.drawer.onFling(DrawerMotion.FLING_MIN_VELOCITY * 2, clock.getTime()));
+    final int openFrames = clock.runFrames(VirtualFrameClock.FRAME_INTERVAL, MAX_FRAMES);
+    assertTrue(openFrames > 1 && openFrames < MAX_FRAMES);
+    assertEquals(-host.rightBound, host.drawer.getPosition());
+    assertFalse(host.drawer.isScrolling());
+    assertFalse(host.lastSettleState);
+    host.assertFramesApplied(false);
+
+    host.reset();
+    host.drawer.onDown();
+    host.drawer.onSwipe(host.rightBound * 2 / 3);
+    assertTrue(host.drawer.onUp(0f, clock.getTime()));
+    final int closeFrames = clock.runFrames(VirtualFrameClock.FRAME_INTERVAL, MAX_FRAMES);
+    assertTrue(closeFrames > 1 && closeFrames < MAX_FRAMES);
+    assertEquals(0, host.drawer.getPosition());
+    assertTrue(host.lastSettleState);
+    host.assertFramesApplied(true);
+    assertEquals(1f, host.applies.get(host.applies.size() - 1), 0f);
+    assertEquals(2, host.settleFinishes);
+  }
+
+  /**
+   * Host which applies scroll factor and finishes frames like view does while clock is set.
+   */
+  private static class ClockDrawerHost extends FakeDrawerHost {
+    private final VirtualFrameClock mClock;
+    private boolean isDirty = false;
+
+    private final ArrayList<Float> applies = new ArrayList<Float>();
+    private int frameEnds = 0;
+    private int frames = 0;
+
+    private final VirtualFrameClock.FrameCallback mAnimationCallback = new VirtualFrameClock.FrameCallback() {
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        isFramePosted = false;
+        drawer.doFrame(frameTimeNanos);
+      }
+    };
+
+    private final VirtualFrameClock.FrameCallback mTraversalCallback = new VirtualFrameClock.FrameCallback() {
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        ++frames;
+        if (isDirty) {
+          isDirty = false;
+          applies.add(drawer.getScrollFactor());
+        }
+        mClock.postFrameCallback(VirtualFrameClock.CALLBACK_FRAME_END, mFrameEndCallback);
+      }
+    };
+
+    private final VirtualFrameClock.FrameCallback mFrameEndCallback = new VirtualFrameClock.FrameCallback() {
+      @Override
+      public void doFrame(long frameTimeNanos) {
+        ++frameEnds;
+      }
+    };
+
+    public ClockDrawerHost(VirtualFrameClock clock) {
+      mClock = clock;
+    }
+
+    public void reset() {
+      applies.clear();
+      frameEnds = 0;
+      frames = 0;
+    }
+
+    /**
+     * Checks that every frame applied scroll factor once and factor moved in one direction.
+     */
+    public void assertFramesApplied(boolean isClosing) {
+      assertEquals(frames, applies.size());
+      assertEquals(frames, frameEnds);
+      for (int i=1; i<applies.size(); ++i) {
+        if (isClosing)
+          assertTrue(applies.get(i) >= applies.get(i - 1));
+        else
+          assertTrue(applies.get(i) <= applies.get(i - 1));
+      }
+    }
+
+    @Override
+    public void onPositionChanged(int position) {
+      super.onPositionChanged(position);
+      isDirty = true;
+      mClock.postFrameCallback(VirtualFrameClock.CALLBACK_TRAVERSAL, mTraversalCallback);
+    }
+
+    @Override
+    public void postFrame() {
+      isFramePosted = true;
+      mClock.postFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, mAnimationCallback);
+    }
+
+    @Override
+    public void cancelFrame() {
+      isFramePosted = false;
+      mClock.removeFrameCallback(VirtualFrameClock.CALLBACK_ANIMATION, mAnimationCallback);
+    }
+  }
+}
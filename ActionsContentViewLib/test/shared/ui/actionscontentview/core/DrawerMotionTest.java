@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DrawerMotionTest {
+
+  @Test
+  public void rightBoundOfRightOffsetSpacing() {
+    assertEquals(720 - 100 - 20, DrawerMotion.getRightBound(DrawerMotion.SPACING_RIGHT_OFFSET, 100, 20, 720));
+  }
+
+  @Test
+  public void rightBoundOfActionsWidthSpacing() {
+    assertEquals(500 - 20, DrawerMotion.getRightBound(DrawerMotion.SPACING_ACTIONS_WIDTH, 500, 20, 720));
+  }
+
+  @Test
+  public void unknownSpacingIsRightOffset() {
+    assertEquals(DrawerMotion.getRightBound(DrawerMotion.SPACING_RIGHT_OFFSET, 100, 0, 720),
+        DrawerMotion.getRightBound(42, 100, 0, 720));
+  }
+
+  @Test
+  public void contentSettlesToCloserBound() {
+    final int rightBound = 600;
+    assertTrue(DrawerMotion.shouldShowContent(0, rightBound));
+    assertTrue(DrawerMotion.shouldShowContent(-299, rightBound));
+    // exact midpoint settles to actions
+    assertFalse(DrawerMotion.shouldShowContent(-300, rightBound));
+    assertFalse(DrawerMotion.shouldShowContent(-301, rightBound));
+    assertFalse(DrawerMotion.shouldShowContent(-rightBound, rightBound));
+  }
+
+  @Test
+  public void flingStartsAtMinVelocity() {
+    final int min = DrawerMotion.FLING_MIN_VELOCITY;
+    assertFalse(DrawerMotion.isFling(0f));
+    assertFalse(DrawerMotion.isFling(min - 1));
+    assertFalse(DrawerMotion.isFling(-(min - 1)));
+    assertTrue(DrawerMotion.isFling(min));
+    assertTrue(DrawerMotion.isFling(-min));
+  }
+
+  @Test
+  public void scrollIsClampedToBounds() {
+    final int rightBound = 600;
+    // content shown can't move further left
+    assertEquals(0, DrawerMotion.clampScroll(0, 50, rightBound));
+    assertEquals(-50, DrawerMotion.clampScroll(0, -50, rightBound));
+    assertEquals(-100, DrawerMotion.clampScroll(-500, -300, rightBound));
+    assertEquals(0, DrawerMotion.clampScroll(-rightBound, -1, rightBound));
+    assertEquals(100, DrawerMotion.clampScroll(-100, 300, rightBound));
+    assertEquals(200, DrawerMotion.clampScroll(-300, 200, rightBound));
+  }
+
+  @Test
+  public void scrollFactorOfBounds() {
+    assertEquals(1f, DrawerMotion.getScrollFactor(0, 600), 0f);
+    assertEquals(0.5f, DrawerMotion.getScrollFactor(-300, 600), 0f);
+    assertEquals(0f, DrawerMotion.getScrollFactor(-600, 600), 0f);
+  }
+
+  @Test
+  public void effectsFlags() {
+    assertFalse(DrawerMotion.isEffectsEnabled(DrawerMotion.EFFECTS_NONE, true, false));
+    assertTrue(DrawerMotion.isEffectsEnabled(DrawerMotion.EFFECTS_ALL, true, true));
+    assertTrue(DrawerMotion.isEffectsEnabled(DrawerMotion.EFFECTS_SCROLL_OPENING, true, false));
+    assertFalse(DrawerMotion.isEffectsEnabled(DrawerMotion.EFFECTS_SCROLL_OPENING, false, false));
+    assertFalse(DrawerMotion.isEffectsEnabled(DrawerMotion.EFFECTS_SCROLL, true, true));
+    assertTrue(DrawerMotion.isEffectsEnabled(DrawerMotion.EFFECTS_FLING_CLOSING, false, true));
+  }
+}
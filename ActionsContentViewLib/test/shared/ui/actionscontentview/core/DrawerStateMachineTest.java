@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DrawerStateMachineTest {
+  private static final int MAX_FRAMES = 600;
+
+  private FakeDrawerHost host;
+  private DrawerStateMachine drawer;
+
+  @Before
+  public void setUp() {
+    host = new FakeDrawerHost();
+    drawer = host.drawer;
+    drawer.init(host.time);
+  }
+
+  private void drag(float distance) {
+    drawer.onDown();
+    drawer.onSwipe(distance);
+  }
+
+  @Test
+  public void initMovesContentToBoundOfState() {
+    assertEquals(0, drawer.getPosition());
+
+    drawer.setContentShown(false);
+    drawer.init(host.time);
+    assertEquals(-host.rightBound, drawer.getPosition());
+    assertEquals(0f, drawer.getScrollFactor(), 0f);
+    assertFalse(drawer.isScrolling());
+  }
+
+  @Test
+  public void contentIsNotMovedBeforeLayout() {
+    host.isLaidOut = false;
+    drawer.hideContent(host.settleDuration, 0f, host.time);
+    assertFalse(drawer.isContentShown());
+    assertFalse(drawer.isScrolling());
+    assertEquals(0, drawer.getPosition());
+  }
+
+  @Test
+  public void dragIsClampedToBounds() {
+    drag(100f);
+    assertEquals(0, drawer.getPosition());
+
+    drag(-10000f);
+    assertEquals(-host.rightBound, drawer.getPosition());
+    assertEquals(host.minPosition, -host.rightBound);
+
+    drawer.onSwipe(-1f);
+    assertEquals(-host.rightBound, drawer.getPosition());
+  }
+
+  @Test
+  public void fractionalDragIsAccumulated() {
+    drawer.onDown();
+    for (int i=0; i<10; ++i)
+      drawer.onSwipe(-0.5f);
+    assertEquals(-5, drawer.getPosition());
+  }
+
+  @Test
+  public void releaseBeforeMidpointSettlesBack() {
+    drag(-(host.rightBound / 2 - 1));
+    assertTrue(drawer.onUp(0f, host.time));
+    assertTrue(drawer.isContentShown());
+
+    host.runFrames(MAX_FRAMES);
+    assertEquals(0, drawer.getPosition());
+    assertFalse(drawer.isScrolling());
+    assertEquals(1, host.settleFinishes);
+    assertTrue(host.lastSettleState);
+  }
+
+  @Test
+  public void releaseAtMidpointSettlesToActions() {
+    drag(-(host.rightBound / 2));
+    assertTrue(drawer.onUp(0f, host.time));
+    assertFalse(drawer.isContentShown());
+
+    host.runFrames(MAX_FRAMES);
+    assertEquals(-host.rightBound, drawer.getPosition());
+    assertFalse(host.lastSettleState);
+  }
+
+  @Test
+  public void releaseAtBoundDoesNotSettle() {
+    drag(-10000f);
+    drawer.setContentShown(false);
+    final int scrollFinishes = host.scrollFinishes;
+    assertFalse(drawer.onUp(0f, host.time));
+    assertFalse(host.isFramePosted);
+    assertEquals(scrollFinishes + 1, host.scrollFinishes);
+    assertEquals(0, host.settleFinishes);
+  }
+
+  @Test
+  public void tapAtBoundHasNoSideEffects() {
+    final int scrollFinishes = host.scrollFinishes;
+    drawer.onDown();
+    assertFalse(drawer.onUp(0f, host.time));
+    assertEquals(scrollFinishes, host.scrollFinishes);
+    assertEquals(0, host.settleFinishes);
+
+    // swipe against bound doesn't move content either
+    drag(100f);
+    assertFalse(drawer.onUp(0f, host.time));
+    assertEquals(scrollFinishes, host.scrollFinishes);
+  }
+
+  @Test
+  public void slowReleaseIsNotFling() {
+    drag(-50f);
+    assertFalse(drawer.onFling(DrawerMotion.FLING_MIN_VELOCITY - 1, host.time));
+    assertFalse(drawer.isScrolling());
+    assertFalse(drawer.isFlinging());
+  }
+
+  @Test
+  public void flingAgainstMidpointRule() {
+    // content is close to shown state, but finger moves to the right fast
+    drag(-50f);
+    assertTrue(drawer.onFling(DrawerMotion.FLING_MIN_VELOCITY, host.time));
+    assertTrue(drawer.isFlinging());
+    assertFalse(drawer.isContentShown());
+    assertTrue(drawer.isOpening());
+
+    host.runFrames(MAX_FRAMES);
+    assertEquals(-host.rightBound, drawer.getPosition());
+    assertFalse(host.lastSettleState);
+  }
+
+  @Test
+  public void flingToLeftShowsContent() {
+    drawer.setContentShown(false);
+    drawer.init(host.time);
+    drag(50f);
+    assertTrue(drawer.onFling(-DrawerMotion.FLING_MIN_VELOCITY * 3, host.time));
+    assertTrue(drawer.isContentShown());
+
+    host.runFrames(MAX_FRAMES);
+    assertEquals(0, drawer.getPosition());
+  }
+
+  @Test
+  public void touchCatchesSettlingContent() {
+    drawer.hideContent(host.settleDuration, 0f, host.time);
+    host.runFrames(3);
+    final int caught = drawer.getPosition();
+    assertTrue(caught < 0 && caught > -host.rightBound);
+
+    drawer.onDown();
+    assertFalse(drawer.isScrolling());
+    assertFalse(host.isFramePosted);
+    assertEquals(caught, drawer.getPosition());
+
+    // interrupted settling is reported as finished once content is released at bound
+    drawer.onSwipe(-10000f);
+    assertFalse(drawer.onUp(0f, host.time));
+    assertEquals(1, host.settleFinishes);
+  }
+
+  @Test
+  public void retargetedSpringStaysInBounds() {
+    drawer.hideContent(host.settleDuration, 0f, host.time);
+    host.runFrames(4);
+    // fast opening is turned back to closing
+    drawer.showContent(host.settleDuration, 0f, host.time);
+    host.runFrames(MAX_FRAMES);
+
+    assertEquals(0, drawer.getPosition());
+    assertTrue(host.minPosition >= -host.rightBound);
+    assertTrue(host.maxPosition <= 0);
+  }
+
+  /**
+   * Toggles state while content settles and checks that settling to new bound starts
+   * with velocity content had, then reaches that bound without leaving bounds.
+   * @return position of content at toggle.
+   */
+  private int checkVelocityIsContinuousOnToggle() {
+    drawer.hideContent(host.settleDuration, 0f, host.time);
+    host.runFrames(4);
+    final float velocity = drawer.getRunningScroller().getCurrVelocity();
+    assertTrue(velocity < 0f);
+
+    // toggle shows content without velocity of its own
+    final int position = drawer.getPosition();
+    drawer.showContent(host.settleDuration, 0f, host.time);
+    assertEquals(velocity, drawer.getRunningScroller().getCurrVelocity(), Math.abs(velocity) * 0.01f);
+
+    host.runFrames(MAX_FRAMES);
+    assertEquals(0, drawer.getPosition());
+    assertTrue(host.minPosition >= -host.rightBound);
+    assertTrue(host.maxPosition <= 0);
+    return position;
+  }
+
+  @Test
+  public void springVelocityIsContinuousOnToggle() {
+    final int position = checkVelocityIsContinuousOnToggle();
+    // content kept moving towards actions for a moment before it turned back
+    assertTrue(host.minPosition < position);
+  }
+
+  @Test
+  public void durationVelocityIsContinuousOnToggle() {
+    host.isSpringSettle = false;
+    checkVelocityIsContinuousOnToggle();
+  }
+
+  @Test
+  public void durationSettleReachesBound() {
+    host.isSpringSettle = false;
+    drawer.hideContent(host.settleDuration, 0f, host.time);
+    final int frames = host.runFrames(MAX_FRAMES);
+    assertEquals(-host.rightBound, drawer.getPosition());
+    // 250ms at 60 frames per second and one more frame to report finishing
+    assertTrue(frames >= 15 && frames <= 17);
+  }
+
+  @Test
+  public void effectsFollowFlags() {
+    host.effects = DrawerMotion.EFFECTS_NONE;
+    drag(-10f);
+    assertFalse(drawer.isEffectsEnabled());
+
+    host.effects = DrawerMotion.EFFECTS_FLING;
+    drawer.onSwipe(-10f);
+    assertFalse(drawer.isEffectsEnabled());
+    assertTrue(drawer.onFling(DrawerMotion.FLING_MIN_VELOCITY, host.time));
+    assertTrue(drawer.isEffectsEnabled());
+  }
+}
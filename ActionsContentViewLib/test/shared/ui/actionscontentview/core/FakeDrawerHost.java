@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview.core;
+
+/**
+ * Host of {@link DrawerStateMachine} which records callbacks and steps frames manually.
+ * @author steven
+ *
+ */
+public class FakeDrawerHost implements DrawerStateMachine.Host {
+  public static final long FRAME_INTERVAL = 1000000000L / 60;
+  public static final float SPRING_OMEGA = 30f;
+
+  public int rightBound = 600;
+  public boolean isLaidOut = true;
+  public int effects = DrawerMotion.EFFECTS_ALL;
+  public boolean isSpringSettle = true;
+  public int settleDuration = 250;
+
+  public long time = 0;
+  public boolean isFramePosted = false;
+
+  public int positionChanges = 0;
+  public int dragStarts = 0;
+  public int settleStarts = 0;
+  public int scrollFinishes = 0;
+  public int settleFinishes = 0;
+  public boolean lastSettleState;
+  public int minPosition = Integer.MAX_VALUE;
+  public int maxPosition = Integer.MIN_VALUE;
+
+  public final DrawerStateMachine drawer;
+
+  public FakeDrawerHost() {
+    drawer = new DrawerStateMachine(this, new ContentScroller(null), new ContentScroller(null), SPRING_OMEGA);
+  }
+
+  /**
+   * Steps frames until no more frames are requested.
+   * @param maxFrames - maximum count of frames to step.
+   * @return count of frames stepped.
+   */
+  public int runFrames(int maxFrames) {
+    int frames = 0;
+    while (isFramePosted && frames < maxFrames) {
+      isFramePosted = false;
+      time += FRAME_INTERVAL;
+      drawer.doFrame(time);
+      ++frames;
+    }
+    return frames;
+  }
+
+  @Override
+  public int getRightBound() {
+    return rightBound;
+  }
+
+  @Override
+  public boolean isLaidOut() {
+    return isLaidOut;
+  }
+
+  @Override
+  public int getEffects() {
+    return effects;
+  }
+
+  @Override
+  public boolean isSpringSettle() {
+    return isSpringSettle;
+  }
+
+  @Override
+  public int getSettleDuration() {
+    return settleDuration;
+  }
+
+  @Override
+  public void onPositionChanged(int position) {
+    ++positionChanges;
+    minPosition = Math.min(minPosition, position);
+    maxPosition = Math.max(maxPosition, position);
+  }
+
+  @Override
+  public void onDragStarted() {
+    ++dragStarts;
+  }
+
+  @Override
+  public void onSettleStarted(boolean isContentShown, long startTime) {
+    ++settleStarts;
+  }
+
+  @Override
+  public void onScrollFinished() {
+    ++scrollFinishes;
+  }
+
+  @Override
+  public void onSettleFinished(boolean isContentShown) {
+    ++settleFinishes;
+    lastSettleState = isContentShown;
+  }
+
+  @Override
+  public void postFrame() {
+    isFramePosted = true;
+  }
+
+  @Override
+  public void cancelFrame() {
+    isFramePosted = false;
+  }
+}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.content;
+
+import java.util.ArrayList;
+
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.util.AttributeSet;
+import android.view.WindowManagerImpl;
+
+/**
+ * JVM stand-in for Android context. Unlike on Android, it is created directly and serves
+ * as application context too. Resources are not available, see {@link Resources}.
+ * @author steven
+ *
+ */
+public class Context {
+  public static final String WINDOW_SERVICE = "window";
+
+  private final Resources mResources = new Resources();
+  private final Resources.Theme mTheme = mResources.newTheme();
+  private final ArrayList<ComponentCallbacks> mComponentCallbacks = new ArrayList<ComponentCallbacks>();
+  private WindowManagerImpl mWindowManager;
+
+  public Context getApplicationContext() {
+    return this;
+  }
+
+  public Resources getResources() {
+    return mResources;
+  }
+
+  public Resources.Theme getTheme() {
+    return mTheme;
+  }
+
+  public final TypedArray obtainStyledAttributes(AttributeSet set, int[] attrs) {
+    return mResources.obtainAttributes(set, attrs);
+  }
+
+  public Object getSystemService(String name) {
+    if (!WINDOW_SERVICE.equals(name))
+      return null;
+
+    if (mWindowManager == null)
+      mWindowManager = new WindowManagerImpl();
+    return mWindowManager;
+  }
+
+  public void registerComponentCallbacks(ComponentCallbacks callback) {
+    mComponentCallbacks.add(callback);
+  }
+
+  public void unregisterComponentCallbacks(ComponentCallbacks callback) {
+    mComponentCallbacks.remove(callback);
+  }
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.content.res;
+
+import android.util.AttributeSet;
+import android.util.DisplayMetrics;
+
+/**
+ * JVM stand-in for Android resources. Resources of application are not available
+ * on JVM: integers and dimensions resolve to 0 and other resources can't be found.
+ * @author steven
+ *
+ */
+public class Resources {
+  private final Configuration mConfiguration = new Configuration();
+  private final DisplayMetrics mMetrics = new DisplayMetrics();
+
+  public static class NotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public NotFoundException() {
+    }
+
+    public NotFoundException(String name) {
+      super(name);
+    }
+  }
+
+  public final class Theme {
+    Theme() {
+    }
+
+    public Resources getResources() {
+      return Resources.this;
+    }
+  }
+
+  public final Theme newTheme() {
+    return new Theme();
+  }
+
+  public Configuration getConfiguration() {
+    return mConfiguration;
+  }
+
+  public DisplayMetrics getDisplayMetrics() {
+    return mMetrics;
+  }
+
+  public int getInteger(int id) {
+    return 0;
+  }
+
+  public int getDimensionPixelSize(int id) {
+    return 0;
+  }
+
+  public String getResourceTypeName(int resid) {
+    throw notFound(resid);
+  }
+
+  public TypedArray obtainTypedArray(int id) {
+    throw notFound(id);
+  }
+
+  /**
+   * Returns values of attributes. Attributes are not available on JVM, so array has no values.
+   */
+  public TypedArray obtainAttributes(AttributeSet set, int[] attrs) {
+    return new TypedArray();
+  }
+
+  private static NotFoundException notFound(int id) {
+    return new NotFoundException("Resource ID #0x" + Integer.toHexString(id));
+  }
+}
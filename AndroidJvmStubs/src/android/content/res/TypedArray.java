@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.content.res;
+
+/**
+ * JVM stand-in for Android array of attribute values. Views are never inflated on JVM,
+ * so array has no values and every getter returns default value passed to it.
+ * @author steven
+ *
+ */
+public class TypedArray {
+  TypedArray() {
+  }
+
+  public int length() {
+    return 0;
+  }
+
+  public boolean getBoolean(int index, boolean defValue) {
+    return defValue;
+  }
+
+  public int getInt(int index, int defValue) {
+    return defValue;
+  }
+
+  public int getInteger(int index, int defValue) {
+    return defValue;
+  }
+
+  public int getDimensionPixelSize(int index, int defValue) {
+    return defValue;
+  }
+
+  public int getResourceId(int index, int defValue) {
+    return defValue;
+  }
+
+  public void recycle() {
+  }
+}
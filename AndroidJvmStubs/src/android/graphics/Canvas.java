@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.graphics;
+
+/**
+ * JVM stand-in for Android canvas. Nothing is drawn, only the stack of saves and layers
+ * is kept, so balance of saves and restores can be checked. Clip isn't tracked either,
+ * clip bounds are never available.
+ * @author steven
+ *
+ */
+public class Canvas {
+  public static final int MATRIX_SAVE_FLAG = 0x01;
+  public static final int CLIP_SAVE_FLAG = 0x02;
+  public static final int HAS_ALPHA_LAYER_SAVE_FLAG = 0x04;
+  public static final int FULL_COLOR_LAYER_SAVE_FLAG = 0x08;
+  public static final int CLIP_TO_LAYER_SAVE_FLAG = 0x10;
+  public static final int ALL_SAVE_FLAG = 0x1F;
+
+  private int mSaveCount = 1;
+  private int mLayerCount = 0;
+  /**
+   * Indicates for every save whether it is layer.
+   */
+  private boolean[] mLayers = new boolean[16];
+
+  public int save() {
+    return push(false);
+  }
+
+  public int saveLayer(float left, float top, float right, float bottom, Paint paint, int saveFlags) {
+    return push(true);
+  }
+
+  public int saveLayerAlpha(float left, float top, float right, float bottom, int alpha, int saveFlags) {
+    return push(true);
+  }
+
+  public void restore() {
+    if (mSaveCount <= 1)
+      throw new IllegalStateException("Underflow in restore");
+    pop();
+  }
+
+  public void restoreToCount(int saveCount) {
+    if (saveCount < 1)
+      throw new IllegalArgumentException("Underflow in restoreToCount");
+    while (mSaveCount > saveCount)
+      pop();
+  }
+
+  public int getSaveCount() {
+    return mSaveCount;
+  }
+
+  /**
+   * Returns count of layers currently saved. Not available on Android.
+   * @return
+   */
+  public int getLayerCount() {
+    return mLayerCount;
+  }
+
+  public void translate(float dx, float dy) {
+  }
+
+  public void concat(Matrix matrix) {
+  }
+
+  public boolean getClipBounds(Rect bounds) {
+    bounds.setEmpty();
+    return false;
+  }
+
+  public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+  }
+
+  private int push(boolean layer) {
+    if (mSaveCount == mLayers.length) {
+      final boolean[] layers = new boolean[mLayers.length * 2];
+      System.arraycopy(mLayers, 0, layers, 0, mLayers.length);
+      mLayers = layers;
+    }
+    mLayers[mSaveCount] = layer;
+    if (layer)
+      ++mLayerCount;
+    return mSaveCount++;
+  }
+
+  private void pop() {
+    --mSaveCount;
+    if (mLayers[mSaveCount])
+      --mLayerCount;
+  }
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.graphics;
+
+/**
+ * JVM stand-in for Android color utilities.
+ * @author steven
+ *
+ */
+public class Color {
+  public static final int BLACK = 0xFF000000;
+  public static final int WHITE = 0xFFFFFFFF;
+  public static final int TRANSPARENT = 0;
+
+  public static int alpha(int color) {
+    return color >>> 24;
+  }
+
+  public static int red(int color) {
+    return (color >> 16) & 0xFF;
+  }
+
+  public static int green(int color) {
+    return (color >> 8) & 0xFF;
+  }
+
+  public static int blue(int color) {
+    return color & 0xFF;
+  }
+
+  public static int argb(int alpha, int red, int green, int blue) {
+    return (alpha << 24) | (red << 16) | (green << 8) | blue;
+  }
+}
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.graphics;
+
+/**
+ * JVM stand-in for Android matrix: 3x3 affine matrix with the same value layout
+ * and post-concatenation semantics. Operations don't allocate.
+ * @author steven
+ *
+ */
+public class Matrix {
+  public static final int MSCALE_X = 0;
+  public static final int MSKEW_X = 1;
+  public static final int MTRANS_X = 2;
+  public static final int MSKEW_Y = 3;
+  public static final int MSCALE_Y = 4;
+  public static final int MTRANS_Y = 5;
+  public static final int MPERSP_0 = 6;
+  public static final int MPERSP_1 = 7;
+  public static final int MPERSP_2 = 8;
+
+  private static final int VALUES_COUNT = 9;
+
+  private final float[] mValues = new float[VALUES_COUNT];
+
+  public Matrix() {
+    reset();
+  }
+
+  public Matrix(Matrix src) {
+    set(src);
+  }
+
+  public void reset() {
+    final float[] v = mValues;
+    v[MSCALE_X] = 1f; v[MSKEW_X] = 0f; v[MTRANS_X] = 0f;
+    v[MSKEW_Y] = 0f; v[MSCALE_Y] = 1f; v[MTRANS_Y] = 0f;
+    v[MPERSP_0] = 0f; v[MPERSP_1] = 0f; v[MPERSP_2] = 1f;
+  }
+
+  public void set(Matrix src) {
+    if (src == null)
+      reset();
+    else
+      System.arraycopy(src.mValues, 0, mValues, 0, VALUES_COUNT);
+  }
+
+  public boolean isIdentity() {
+    final float[] v = mValues;
+    return v[MSCALE_X] == 1f && v[MSKEW_X] == 0f && v[MTRANS_X] == 0f
+        && v[MSKEW_Y] == 0f && v[MSCALE_Y] == 1f && v[MTRANS_Y] == 0f
+        && v[MPERSP_0] == 0f && v[MPERSP_1] == 0f && v[MPERSP_2] == 1f;
+  }
+
+  public void getValues(float[] values) {
+    System.arraycopy(mValues, 0, values, 0, VALUES_COUNT);
+  }
+
+  public void setValues(float[] values) {
+    System.arraycopy(values, 0, mValues, 0, VALUES_COUNT);
+  }
+
+  public void setTranslate(float dx, float dy) {
+    reset();
+    postTranslate(dx, dy);
+  }
+
+  public void setScale(float sx, float sy) {
+    reset();
+    postScale(sx, sy);
+  }
+
+  public void setScale(float sx, float sy, float px, float py) {
+    reset();
+    postScale(sx, sy, px, py);
+  }
+
+  public void setRotate(float degrees) {
+    reset();
+    postRotate(degrees);
+  }
+
+  public void setRotate(float degrees, float px, float py) {
+    reset();
+    postRotate(degrees, px, py);
+  }
+
+  public boolean postTranslate(float dx, float dy) {
+    return postConcat(1f, 0f, dx, 0f, 1f, dy);
+  }
+
+  public boolean postScale(float sx, float sy) {
+    return postConcat(sx, 0f, 0f, 0f, sy, 0f);
+  }
+
+  public boolean postScale(float sx, float sy, float px, float py) {
+    return postConcat(sx, 0f, px - sx * px, 0f, sy, py - sy * py);
+  }
+
+  public boolean postRotate(float degrees) {
+    return postRotate(degrees, 0f, 0f);
+  }
+
+  public boolean postRotate(float degrees, float px, float py) {
+    final double radians = Math.toRadians(degrees);
+    final float sin = (float) Math.sin(radians);
+    final float cos = (float) Math.cos(radians);
+    return postConcat(cos, -sin, px - cos * px + sin * py, sin, cos, py - sin * px - cos * py);
+  }
+
+  public boolean postConcat(Matrix other) {
+    final float[] o = other.mValues;
+    final float[] v = mValues;
+    final float a0 = v[0], a1 = v[1], a2 = v[2];
+    final float a3 = v[3], a4 = v[4], a5 = v[5];
+    final float a6 = v[6], a7 = v[7], a8 = v[8];
+    for (int row=0; row<3; ++row) {
+      final int r = row * 3;
+      final float o0 = o[r], o1 = o[r + 1], o2 = o[r + 2];
+      v[r] = o0 * a0 + o1 * a3 + o2 * a6;
+      v[r + 1] = o0 * a1 + o1 * a4 + o2 * a7;
+      v[r + 2] = o0 * a2 + o1 * a5 + o2 * a8;
+    }
+    return true;
+  }
+
+  public boolean preConcat(Matrix other) {
+    final float[] o = other.mValues;
+    final float[] v = mValues;
+    for (int row=0; row<3; ++row) {
+      final int r = row * 3;
+      final float a0 = v[r], a1 = v[r + 1], a2 = v[r + 2];
+      v[r] = a0 * o[0] + a1 * o[3] + a2 * o[6];
+      v[r + 1] = a0 * o[1] + a1 * o[4] + a2 * o[7];
+      v[r + 2] = a0 * o[2] + a1 * o[5] + a2 * o[8];
+    }
+    return true;
+  }
+
+  /**
+   * Maps rectangle by affine part of matrix and sets it to bounds of result.
+   * @return true if mapped rectangle is still a rectangle.
+   */
+  public boolean mapRect(RectF rect) {
+    final float[] v = mValues;
+    final float x0 = v[MSCALE_X] * rect.left + v[MTRANS_X];
+    final float x1 = v[MSCALE_X] * rect.right + v[MTRANS_X];
+    final float y0 = v[MSKEW_Y] * rect.left + v[MTRANS_Y];
+    final float y1 = v[MSKEW_Y] * rect.right + v[MTRANS_Y];
+    final float dxTop = v[MSKEW_X] * rect.top;
+    final float dxBottom = v[MSKEW_X] * rect.bottom;
+    final float dyTop = v[MSCALE_Y] * rect.top;
+    final float dyBottom = v[MSCALE_Y] * rect.bottom;
+
+    final float ax = x0 + dxTop, bx = x1 + dxTop, cx = x0 + dxBottom, dx = x1 + dxBottom;
+    final float ay = y0 + dyTop, by = y1 + dyTop, cy = y0 + dyBottom, dy = y1 + dyBottom;
+    rect.set(Math.min(Math.min(ax, bx), Math.min(cx, dx)), Math.min(Math.min(ay, by), Math.min(cy, dy)),
+        Math.max(Math.max(ax, bx), Math.max(cx, dx)), Math.max(Math.max(ay, by), Math.max(cy, dy)));
+    return (v[MSKEW_X] == 0f && v[MSKEW_Y] == 0f) || (v[MSCALE_X] == 0f && v[MSCALE_Y] == 0f);
+  }
+
+  /**
+   * Post-concatenates affine matrix given by its first two rows.
+   */
+  private boolean postConcat(float s0, float s1, float s2, float s3, float s4, float s5) {
+    final float[] v = mValues;
+    final float a0 = v[0], a1 = v[1], a2 = v[2];
+    final float a3 = v[3], a4 = v[4], a5 = v[5];
+    final float a6 = v[6], a7 = v[7], a8 = v[8];
+    v[0] = s0 * a0 + s1 * a3 + s2 * a6;
+    v[1] = s0 * a1 + s1 * a4 + s2 * a7;
+    v[2] = s0 * a2 + s1 * a5 + s2 * a8;
+    v[3] = s3 * a0 + s4 * a3 + s5 * a6;
+    v[4] = s3 * a1 + s4 * a4 + s5 * a7;
+    v[5] = s3 * a2 + s4 * a5 + s5 * a8;
+    return true;
+  }
+
+  public String toShortString() {
+    final float[] v = mValues;
+    return "[" + v[0] + ", " + v[1] + ", " + v[2] + "][" + v[3] + ", " + v[4] + ", " + v[5]
+        + "][" + v[6] + ", " + v[7] + ", " + v[8] + "]";
+  }
+
+  @Override
+  public String toString() {
+    return "Matrix{" + toShortString() + "}";
+  }
+}
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.graphics;
+
+/**
+ * JVM stand-in for Android paint. Keeps color and color filter only.
+ * @author steven
+ *
+ */
+public class Paint {
+  private int mColor = Color.BLACK;
+  private ColorFilter mColorFilter;
+
+  public int getColor() {
+    return mColor;
+  }
+
+  public void setColor(int color) {
+    mColor = color;
+  }
+
+  public int getAlpha() {
+    return Color.alpha(mColor);
+  }
+
+  public void setAlpha(int a) {
+    mColor = (mColor & 0x00FFFFFF) | ((a & 0xFF) << 24);
+  }
+
+  public ColorFilter getColorFilter() {
+    return mColorFilter;
+  }
+
+  public ColorFilter setColorFilter(ColorFilter filter) {
+    mColorFilter = filter;
+    return filter;
+  }
+}
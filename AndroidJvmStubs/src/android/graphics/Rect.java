@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.graphics;
+
+/**
+ * JVM stand-in for Android integer rectangle.
+ * @author steven
+ *
+ */
+public final class Rect {
+  public int left;
+  public int top;
+  public int right;
+  public int bottom;
+
+  public Rect() {
+  }
+
+  public Rect(int left, int top, int right, int bottom) {
+    set(left, top, right, bottom);
+  }
+
+  public Rect(Rect r) {
+    set(r);
+  }
+
+  public void set(int left, int top, int right, int bottom) {
+    this.left = left;
+    this.top = top;
+    this.right = right;
+    this.bottom = bottom;
+  }
+
+  public void set(Rect src) {
+    set(src.left, src.top, src.right, src.bottom);
+  }
+
+  public void setEmpty() {
+    left = top = right = bottom = 0;
+  }
+
+  public boolean isEmpty() {
+    return left >= right || top >= bottom;
+  }
+
+  public int width() {
+    return right - left;
+  }
+
+  public int height() {
+    return bottom - top;
+  }
+
+  public void offset(int dx, int dy) {
+    left += dx;
+    top += dy;
+    right += dx;
+    bottom += dy;
+  }
+
+  public boolean contains(int x, int y) {
+    return left < right && top < bottom && x >= left && x < right && y >= top && y < bottom;
+  }
+
+  /**
+   * Sets rectangle to its intersection with given one if they intersect.
+   * @return true if rectangles intersect, false otherwise and rectangle is not changed.
+   */
+  public boolean intersect(int left, int top, int right, int bottom) {
+    if (this.left < right && left < this.right && this.top < bottom && top < this.bottom) {
+      if (this.left < left) this.left = left;
+      if (this.top < top) this.top = top;
+      if (this.right > right) this.right = right;
+      if (this.bottom > bottom) this.bottom = bottom;
+      return true;
+    }
+    return false;
+  }
+
+  public String toShortString() {
+    return "[" + left + "," + top + "][" + right + "," + bottom + "]";
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (!(o instanceof Rect))
+      return false;
+
+    final Rect r = (Rect) o;
+    return left == r.left && top == r.top && right == r.right && bottom == r.bottom;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = left;
+    result = 31 * result + top;
+    result = 31 * result + right;
+    result = 31 * result + bottom;
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "Rect(" + left + ", " + top + " - " + right + ", " + bottom + ")";
+  }
+}
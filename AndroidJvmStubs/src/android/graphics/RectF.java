@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.graphics;
+
+/**
+ * JVM stand-in for Android floating point rectangle.
+ * @author steven
+ *
+ */
+public class RectF {
+  public float left;
+  public float top;
+  public float right;
+  public float bottom;
+
+  public RectF() {
+  }
+
+  public RectF(float left, float top, float right, float bottom) {
+    set(left, top, right, bottom);
+  }
+
+  public void set(float left, float top, float right, float bottom) {
+    this.left = left;
+    this.top = top;
+    this.right = right;
+    this.bottom = bottom;
+  }
+
+  public void set(RectF src) {
+    set(src.left, src.top, src.right, src.bottom);
+  }
+
+  public void set(Rect src) {
+    set(src.left, src.top, src.right, src.bottom);
+  }
+
+  public final boolean isEmpty() {
+    return left >= right || top >= bottom;
+  }
+
+  public final float width() {
+    return right - left;
+  }
+
+  public final float height() {
+    return bottom - top;
+  }
+
+  public void offset(float dx, float dy) {
+    left += dx;
+    top += dy;
+    right += dx;
+    bottom += dy;
+  }
+
+  public boolean contains(float x, float y) {
+    return left < right && top < bottom && x >= left && x < right && y >= top && y < bottom;
+  }
+
+  public void roundOut(Rect dst) {
+    dst.set((int) Math.floor(left), (int) Math.floor(top), (int) Math.ceil(right), (int) Math.ceil(bottom));
+  }
+
+  public String toShortString() {
+    return "[" + left + "," + top + "][" + right + "," + bottom + "]";
+  }
+
+  @Override
+  public String toString() {
+    return "RectF(" + left + ", " + top + ", " + right + ", " + bottom + ")";
+  }
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.os;
+
+/**
+ * JVM stand-in for Android build information. Code runs as on Android 4.4,
+ * so paths of every API level library supports are taken.
+ * @author steven
+ *
+ */
+public final class Build {
+  private Build() {
+  }
+
+  public static final class VERSION {
+    public static final int SDK_INT = VERSION_CODES.KITKAT;
+
+    private VERSION() {
+    }
+  }
+
+  public static final class VERSION_CODES {
+    public static final int BASE = 1;
+    public static final int DONUT = 4;
+    public static final int ECLAIR = 5;
+    public static final int FROYO = 8;
+    public static final int GINGERBREAD = 9;
+    public static final int HONEYCOMB = 11;
+    public static final int HONEYCOMB_MR1 = 12;
+    public static final int HONEYCOMB_MR2 = 13;
+    public static final int ICE_CREAM_SANDWICH = 14;
+    public static final int ICE_CREAM_SANDWICH_MR1 = 15;
+    public static final int JELLY_BEAN = 16;
+    public static final int JELLY_BEAN_MR1 = 17;
+    public static final int JELLY_BEAN_MR2 = 18;
+    public static final int KITKAT = 19;
+
+    private VERSION_CODES() {
+    }
+  }
+}
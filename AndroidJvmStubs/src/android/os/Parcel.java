@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.os;
+
+/**
+ * JVM stand-in for Android parcel which keeps written integers in memory,
+ * so saved state of views can be written and read back.
+ * @author steven
+ *
+ */
+public final class Parcel {
+  private int[] mData = new int[16];
+  private int mSize;
+  private int mPosition;
+
+  private Parcel() {
+  }
+
+  public static Parcel obtain() {
+    return new Parcel();
+  }
+
+  public void recycle() {
+    mSize = 0;
+    mPosition = 0;
+  }
+
+  public int dataSize() {
+    return mSize;
+  }
+
+  public int dataPosition() {
+    return mPosition;
+  }
+
+  public void setDataPosition(int pos) {
+    mPosition = pos;
+  }
+
+  public void writeInt(int val) {
+    if (mPosition == mData.length) {
+      final int[] data = new int[mData.length * 2];
+      System.arraycopy(mData, 0, data, 0, mSize);
+      mData = data;
+    }
+    mData[mPosition++] = val;
+    if (mPosition > mSize)
+      mSize = mPosition;
+  }
+
+  public int readInt() {
+    return mPosition < mSize ? mData[mPosition++] : 0;
+  }
+}
@@ -0,0 +1,31 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.util;
+
+/**
+ * JVM stand-in for Android display metrics of medium density display.
+ * @author steven
+ *
+ */
+public class DisplayMetrics {
+  public static final int DENSITY_MEDIUM = 160;
+  public static final int DENSITY_DEFAULT = DENSITY_MEDIUM;
+
+  public int widthPixels;
+  public int heightPixels;
+  public float density = 1f;
+  public int densityDpi = DENSITY_DEFAULT;
+}
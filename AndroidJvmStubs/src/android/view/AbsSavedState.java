@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+/**
+ * JVM stand-in for Android base of saved state of views. State of superclass is not
+ * written to parcel, it is restored as empty one.
+ * @author steven
+ *
+ */
+public abstract class AbsSavedState implements Parcelable {
+  public static final AbsSavedState EMPTY_STATE = new AbsSavedState() {
+  };
+
+  private final Parcelable mSuperState;
+
+  private AbsSavedState() {
+    mSuperState = null;
+  }
+
+  protected AbsSavedState(Parcelable superState) {
+    if (superState == null)
+      throw new IllegalArgumentException("superState must not be null");
+    mSuperState = superState != EMPTY_STATE ? superState : null;
+  }
+
+  protected AbsSavedState(Parcel source) {
+    mSuperState = null;
+  }
+
+  public final Parcelable getSuperState() {
+    return mSuperState != null ? mSuperState : EMPTY_STATE;
+  }
+
+  @Override
+  public int describeContents() {
+    return 0;
+  }
+
+  @Override
+  public void writeToParcel(Parcel dest, int flags) {
+  }
+}
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for Android choreographer of display frames. Frames are run
+ * by {@link ViewRootImpl#doFrame(long)}.
+ * @author steven
+ *
+ */
+public final class Choreographer {
+  public interface FrameCallback {
+    public void doFrame(long frameTimeNanos);
+  }
+
+  private static final ThreadLocal<Choreographer> sThreadInstance = new ThreadLocal<Choreographer>() {
+    @Override
+    protected Choreographer initialValue() {
+      return new Choreographer();
+    }
+  };
+
+  private ArrayList<FrameCallback> mPending = new ArrayList<FrameCallback>();
+  private ArrayList<FrameCallback> mRunning = new ArrayList<FrameCallback>();
+
+  private Choreographer() {
+  }
+
+  public static Choreographer getInstance() {
+    return sThreadInstance.get();
+  }
+
+  public void postFrameCallback(FrameCallback callback) {
+    if (callback == null)
+      throw new IllegalArgumentException("callback must not be null");
+    mPending.add(callback);
+  }
+
+  public void removeFrameCallback(FrameCallback callback) {
+    if (callback == null)
+      throw new IllegalArgumentException("callback must not be null");
+    while (mPending.remove(callback)) {
+    }
+  }
+
+  /**
+   * Runs callbacks posted before this call. Callbacks posted while running are left for next frame.
+   */
+  void doFrame(long frameTimeNanos) {
+    final ArrayList<FrameCallback> running = mPending;
+    mPending = mRunning;
+    mRunning = running;
+
+    final int count = running.size();
+    for (int i=0; i<count; ++i)
+      running.get(i).doFrame(frameTimeNanos);
+    running.clear();
+  }
+}
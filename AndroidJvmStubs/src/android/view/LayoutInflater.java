@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+/**
+ * JVM stand-in for Android layout inflater. Layout resources are not available
+ * on JVM, so nothing can be inflated.
+ * @author steven
+ *
+ */
+public class LayoutInflater {
+  private final Context mContext;
+
+  protected LayoutInflater(Context context) {
+    mContext = context;
+  }
+
+  public static LayoutInflater from(Context context) {
+    return new LayoutInflater(context);
+  }
+
+  public Context getContext() {
+    return mContext;
+  }
+
+  public View inflate(int resource, ViewGroup root, boolean attachToRoot) {
+    throw new Resources.NotFoundException("Layout resources can't be inflated on JVM: 0x" + Integer.toHexString(resource));
+  }
+}
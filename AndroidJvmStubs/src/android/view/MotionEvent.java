@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+/**
+ * JVM stand-in for Android touch event with pointers and batched historical samples.
+ * Events are not pooled, but {@link #recycle()} still must be called once.
+ * Reading and offsetting of event doesn't allocate.
+ * @author steven
+ *
+ */
+public final class MotionEvent {
+  public static final int ACTION_MASK = 0xff;
+  public static final int ACTION_DOWN = 0;
+  public static final int ACTION_UP = 1;
+  public static final int ACTION_MOVE = 2;
+  public static final int ACTION_CANCEL = 3;
+  public static final int ACTION_OUTSIDE = 4;
+  public static final int ACTION_POINTER_DOWN = 5;
+  public static final int ACTION_POINTER_UP = 6;
+  public static final int ACTION_POINTER_INDEX_MASK = 0xff00;
+  public static final int ACTION_POINTER_INDEX_SHIFT = 8;
+
+  public static final int TOOL_TYPE_UNKNOWN = 0;
+  public static final int TOOL_TYPE_FINGER = 1;
+
+  public static final class PointerProperties {
+    public int id;
+    public int toolType;
+
+    public void clear() {
+      id = -1;
+      toolType = TOOL_TYPE_UNKNOWN;
+    }
+  }
+
+  public static final class PointerCoords {
+    public float x;
+    public float y;
+    public float pressure;
+    public float size;
+
+    public void clear() {
+      x = 0f;
+      y = 0f;
+      pressure = 0f;
+      size = 0f;
+    }
+  }
+
+  private long mDownTime;
+  private int mAction;
+  private int mSource;
+  private int mPointerCount;
+  private int[] mPointerIds;
+  /**
+   * Count of samples: historical ones followed by current one.
+   */
+  private int mSampleCount;
+  private long[] mEventTimes;
+  /**
+   * Coordinates of every pointer of every sample, sample by sample.
+   */
+  private float[] mXs;
+  private float[] mYs;
+  private boolean isRecycled = false;
+
+  private MotionEvent() {
+  }
+
+  public static MotionEvent obtain(long downTime, long eventTime, int action, int pointerCount,
+      PointerProperties[] pointerProperties, PointerCoords[] pointerCoords, int metaState, int buttonState,
+      float xPrecision, float yPrecision, int deviceId, int edgeFlags, int source, int flags) {
+    final MotionEvent ev = new MotionEvent();
+    ev.mDownTime = downTime;
+    ev.mAction = action;
+    ev.mSource = source;
+    ev.mPointerCount = pointerCount;
+    ev.mPointerIds = new int[pointerCount];
+    for (int p=0; p<pointerCount; ++p)
+      ev.mPointerIds[p] = pointerProperties[p].id;
+
+    ev.mEventTimes = new long[1];
+    ev.mXs = new float[pointerCount];
+    ev.mYs = new float[pointerCount];
+    ev.addSample(eventTime, pointerCoords);
+    return ev;
+  }
+
+  public static MotionEvent obtain(long downTime, long eventTime, int action, float x, float y, int metaState) {
+    final PointerProperties[] properties = { new PointerProperties() };
+    properties[0].id = 0;
+    properties[0].toolType = TOOL_TYPE_FINGER;
+    final PointerCoords[] coords = { new PointerCoords() };
+    coords[0].x = x;
+    coords[0].y = y;
+    coords[0].pressure = 1f;
+    coords[0].size = 1f;
+    return obtain(downTime, eventTime, action, 1, properties, coords, metaState, 0, 1f, 1f, 0, 0,
+        InputDevice.SOURCE_TOUCHSCREEN, 0);
+  }
+
+  /**
+   * Adds sample to event, current sample becomes historical one.
+   */
+  public void addBatch(long eventTime, PointerCoords[] pointerCoords, int metaState) {
+    addSample(eventTime, pointerCoords);
+  }
+
+  public void addBatch(long eventTime, float x, float y, float pressure, float size, int metaState) {
+    final PointerCoords[] coords = { new PointerCoords() };
+    coords[0].x = x;
+    coords[0].y = y;
+    coords[0].pressure = pressure;
+    coords[0].size = size;
+    addSample(eventTime, coords);
+  }
+
+  private void addSample(long eventTime, PointerCoords[] pointerCoords) {
+    final int pointerCount = mPointerCount;
+    if (mSampleCount == mEventTimes.length) {
+      final int capacity = mSampleCount * 2;
+      final long[] times = new long[capacity];
+      System.arraycopy(mEventTimes, 0, times, 0, mSampleCount);
+      mEventTimes = times;
+      final float[] xs = new float[capacity * pointerCount];
+      final float[] ys = new float[capacity * pointerCount];
+      System.arraycopy(mXs, 0, xs, 0, mSampleCount * pointerCount);
+      System.arraycopy(mYs, 0, ys, 0, mSampleCount * pointerCount);
+      mXs = xs;
+      mYs = ys;
+    }
+
+    mEventTimes[mSampleCount] = eventTime;
+    final int offset = mSampleCount * pointerCount;
+    for (int p=0; p<pointerCount; ++p) {
+      mXs[offset + p] = pointerCoords[p].x;
+      mYs[offset + p] = pointerCoords[p].y;
+    }
+    ++mSampleCount;
+  }
+
+  public void recycle() {
+    if (isRecycled)
+      throw new IllegalStateException(this + " recycled twice!");
+    isRecycled = true;
+  }
+
+  public int getAction() {
+    return mAction;
+  }
+
+  public void setAction(int action) {
+    mAction = action;
+  }
+
+  public int getActionMasked() {
+    return mAction & ACTION_MASK;
+  }
+
+  public int getActionIndex() {
+    return (mAction & ACTION_POINTER_INDEX_MASK) >> ACTION_POINTER_INDEX_SHIFT;
+  }
+
+  public int getSource() {
+    return mSource;
+  }
+
+  public long getDownTime() {
+    return mDownTime;
+  }
+
+  public long getEventTime() {
+    return mEventTimes[mSampleCount - 1];
+  }
+
+  public int getPointerCount() {
+    return mPointerCount;
+  }
+
+  public int getPointerId(int pointerIndex) {
+    return mPointerIds[pointerIndex];
+  }
+
+  public int findPointerIndex(int pointerId) {
+    for (int p=0; p<mPointerCount; ++p) {
+      if (mPointerIds[p] == pointerId)
+        return p;
+    }
+    return -1;
+  }
+
+  public float getX() {
+    return getX(0);
+  }
+
+  public float getY() {
+    return getY(0);
+  }
+
+  public float getX(int pointerIndex) {
+    return mXs[(mSampleCount - 1) * mPointerCount + pointerIndex];
+  }
+
+  public float getY(int pointerIndex) {
+    return mYs[(mSampleCount - 1) * mPointerCount + pointerIndex];
+  }
+
+  public int getHistorySize() {
+    return mSampleCount - 1;
+  }
+
+  public long getHistoricalEventTime(int pos) {
+    return mEventTimes[pos];
+  }
+
+  public float getHistoricalX(int pointerIndex, int pos) {
+    return mXs[pos * mPointerCount + pointerIndex];
+  }
+
+  public float getHistoricalY(int pointerIndex, int pos) {
+    return mYs[pos * mPointerCount + pointerIndex];
+  }
+
+  /**
+   * Moves coordinates of every sample of event.
+   */
+  public void offsetLocation(float deltaX, float deltaY) {
+    if (deltaX == 0f && deltaY == 0f)
+      return;
+
+    final int count = mSampleCount * mPointerCount;
+    for (int i=0; i<count; ++i) {
+      mXs[i] += deltaX;
+      mYs[i] += deltaY;
+    }
+  }
+
+  public void setLocation(float x, float y) {
+    offsetLocation(x - getX(), y - getY());
+  }
+
+  @Override
+  public String toString() {
+    return "MotionEvent { action=" + mAction + ", x=" + getX() + ", y=" + getY()
+        + ", pointerCount=" + mPointerCount + ", historySize=" + getHistorySize()
+        + ", eventTime=" + getEventTime() + ", downTime=" + mDownTime + " }";
+  }
+}
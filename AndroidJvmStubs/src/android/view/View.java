@@ -0,0 +1,643 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+import java.util.ArrayList;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.util.AttributeSet;
+
+/**
+ * JVM stand-in for Android view. Measuring, layout, scrolling, render properties, touch
+ * dispatching and drawing to {@link Canvas} follow Android ones closely enough to run
+ * custom views on JVM: hierarchy attached to {@link ViewRootImpl} is laid out and drawn
+ * by its traversals. Padding, focus, accessibility and drawables are not supported.
+ * @author steven
+ *
+ */
+public class View {
+  public static final int VISIBLE = 0x00000000;
+  public static final int INVISIBLE = 0x00000004;
+  public static final int GONE = 0x00000008;
+
+  public static final int LAYER_TYPE_NONE = 0;
+  public static final int LAYER_TYPE_SOFTWARE = 1;
+  public static final int LAYER_TYPE_HARDWARE = 2;
+
+  public static class MeasureSpec {
+    private static final int MODE_SHIFT = 30;
+    private static final int MODE_MASK = 0x3 << MODE_SHIFT;
+
+    public static final int UNSPECIFIED = 0 << MODE_SHIFT;
+    public static final int EXACTLY = 1 << MODE_SHIFT;
+    public static final int AT_MOST = 2 << MODE_SHIFT;
+
+    public static int makeMeasureSpec(int size, int mode) {
+      return (size & ~MODE_MASK) | (mode & MODE_MASK);
+    }
+
+    public static int getMode(int measureSpec) {
+      return measureSpec & MODE_MASK;
+    }
+
+    public static int getSize(int measureSpec) {
+      return measureSpec & ~MODE_MASK;
+    }
+  }
+
+  public static class BaseSavedState extends AbsSavedState {
+    public BaseSavedState(Parcel source) {
+      super(source);
+    }
+
+    public BaseSavedState(Parcelable superState) {
+      super(superState);
+    }
+  }
+
+  /**
+   * State shared by all views attached to the same {@link ViewRootImpl}.
+   */
+  static final class AttachInfo {
+    final ViewRootImpl mViewRootImpl;
+    final ViewTreeObserver mTreeObserver = new ViewTreeObserver();
+    final ArrayList<Runnable> mRunQueue = new ArrayList<Runnable>();
+    boolean mHardwareAccelerated;
+    long mDrawingTime;
+
+    AttachInfo(ViewRootImpl root, boolean hardwareAccelerated) {
+      mViewRootImpl = root;
+      mHardwareAccelerated = hardwareAccelerated;
+    }
+  }
+
+  private final Context mContext;
+  ViewParent mParent;
+  AttachInfo mAttachInfo;
+  private ViewTreeObserver mFloatingTreeObserver;
+  /**
+   * Runnables posted while view is not attached, they are moved to run queue on attaching.
+   */
+  private ArrayList<Runnable> mPendingRunQueue;
+
+  private ViewGroup.LayoutParams mLayoutParams;
+  private int mVisibility = VISIBLE;
+
+  int mLeft;
+  int mTop;
+  int mRight;
+  int mBottom;
+  int mScrollX;
+  int mScrollY;
+  private int mMeasuredWidth;
+  private int mMeasuredHeight;
+  private int mOldWidthMeasureSpec = Integer.MIN_VALUE;
+  private int mOldHeightMeasureSpec = Integer.MIN_VALUE;
+  private boolean isLayoutRequested = true;
+  private boolean isMeasuredDimensionSet;
+
+  private float mTranslationX;
+  private float mTranslationY;
+  private float mRotation;
+  private float mScaleX = 1f;
+  private float mScaleY = 1f;
+  private float mPivotX;
+  private float mPivotY;
+  private boolean isPivotExplicitlySet;
+  private float mAlpha = 1f;
+  private final Matrix mMatrix = new Matrix();
+  private boolean isMatrixDirty = false;
+  private RectF mTempRect;
+
+  private int mLayerType = LAYER_TYPE_NONE;
+  private Paint mLayerPaint;
+
+  public View(Context context) {
+    mContext = context;
+  }
+
+  public View(Context context, AttributeSet attrs) {
+    this(context);
+  }
+
+  public View(Context context, AttributeSet attrs, int defStyle) {
+    this(context);
+  }
+
+  public final Context getContext() {
+    return mContext;
+  }
+
+  public final ViewParent getParent() {
+    return mParent;
+  }
+
+  public ViewGroup.LayoutParams getLayoutParams() {
+    return mLayoutParams;
+  }
+
+  public void setLayoutParams(ViewGroup.LayoutParams params) {
+    if (params == null)
+      throw new NullPointerException("Layout parameters cannot be null");
+    mLayoutParams = params;
+    requestLayout();
+  }
+
+  public int getVisibility() {
+    return mVisibility;
+  }
+
+  public void setVisibility(int visibility) {
+    if (mVisibility == visibility)
+      return;
+
+    final boolean layoutChanged = mVisibility == GONE || visibility == GONE;
+    mVisibility = visibility;
+    if (layoutChanged)
+      requestLayout();
+    invalidateParent();
+  }
+
+  public void setBackgroundResource(int resid) {
+    invalidate();
+  }
+
+  public final int getLeft() {
+    return mLeft;
+  }
+
+  public final int getTop() {
+    return mTop;
+  }
+
+  public final int getRight() {
+    return mRight;
+  }
+
+  public final int getBottom() {
+    return mBottom;
+  }
+
+  public final int getWidth() {
+    return mRight - mLeft;
+  }
+
+  public final int getHeight() {
+    return mBottom - mTop;
+  }
+
+  public final int getMeasuredWidth() {
+    return mMeasuredWidth;
+  }
+
+  public final int getMeasuredHeight() {
+    return mMeasuredHeight;
+  }
+
+  public final int getScrollX() {
+    return mScrollX;
+  }
+
+  public final int getScrollY() {
+    return mScrollY;
+  }
+
+  /**
+   * Returns bounds of view in coordinates of parent, render properties included.
+   * @param outRect - rectangle to write bounds to.
+   */
+  public void getHitRect(Rect outRect) {
+    final Matrix matrix = getMatrix();
+    if (matrix.isIdentity()) {
+      outRect.set(mLeft, mTop, mRight, mBottom);
+      return;
+    }
+
+    if (mTempRect == null)
+      mTempRect = new RectF();
+    final RectF r = mTempRect;
+    r.set(0, 0, getWidth(), getHeight());
+    matrix.mapRect(r);
+    outRect.set((int) r.left + mLeft, (int) r.top + mTop, (int) r.right + mLeft, (int) r.bottom + mTop);
+  }
+
+  public final void measure(int widthMeasureSpec, int heightMeasureSpec) {
+    if (!isLayoutRequested && widthMeasureSpec == mOldWidthMeasureSpec && heightMeasureSpec == mOldHeightMeasureSpec)
+      return;
+
+    isMeasuredDimensionSet = false;
+    onMeasure(widthMeasureSpec, heightMeasureSpec);
+    if (!isMeasuredDimensionSet)
+      throw new IllegalStateException("onMeasure() did not set the measured dimension by calling setMeasuredDimension()");
+
+    mOldWidthMeasureSpec = widthMeasureSpec;
+    mOldHeightMeasureSpec = heightMeasureSpec;
+  }
+
+  protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    setMeasuredDimension(getDefaultSize(0, widthMeasureSpec), getDefaultSize(0, heightMeasureSpec));
+  }
+
+  protected final void setMeasuredDimension(int measuredWidth, int measuredHeight) {
+    mMeasuredWidth = measuredWidth;
+    mMeasuredHeight = measuredHeight;
+    isMeasuredDimensionSet = true;
+  }
+
+  public static int getDefaultSize(int size, int measureSpec) {
+    final int specMode = MeasureSpec.getMode(measureSpec);
+    final int specSize = MeasureSpec.getSize(measureSpec);
+    return specMode == MeasureSpec.UNSPECIFIED ? size : specSize;
+  }
+
+  public static int resolveSize(int size, int measureSpec) {
+    final int specMode = MeasureSpec.getMode(measureSpec);
+    final int specSize = MeasureSpec.getSize(measureSpec);
+    if (specMode == MeasureSpec.EXACTLY)
+      return specSize;
+    if (specMode == MeasureSpec.AT_MOST)
+      return Math.min(size, specSize);
+    return size;
+  }
+
+  public void layout(int l, int t, int r, int b) {
+    final boolean changed = setFrame(l, t, r, b);
+    onLayout(changed, l, t, r, b);
+    isLayoutRequested = false;
+  }
+
+  protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+  }
+
+  private boolean setFrame(int left, int top, int right, int bottom) {
+    if (mLeft == left && mRight == right && mTop == top && mBottom == bottom)
+      return false;
+
+    final int oldWidth = mRight - mLeft;
+    final int oldHeight = mBottom - mTop;
+    mLeft = left;
+    mTop = top;
+    mRight = right;
+    mBottom = bottom;
+    isMatrixDirty = true;
+
+    final int newWidth = right - left;
+    final int newHeight = bottom - top;
+    if (newWidth != oldWidth || newHeight != oldHeight)
+      onSizeChanged(newWidth, newHeight, oldWidth, oldHeight);
+    invalidate();
+    return true;
+  }
+
+  protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+  }
+
+  public void requestLayout() {
+    isLayoutRequested = true;
+    if (mParent != null && !mParent.isLayoutRequested())
+      mParent.requestLayout();
+  }
+
+  public boolean isLayoutRequested() {
+    return isLayoutRequested;
+  }
+
+  public void scrollTo(int x, int y) {
+    if (mScrollX == x && mScrollY == y)
+      return;
+
+    final int oldX = mScrollX;
+    final int oldY = mScrollY;
+    mScrollX = x;
+    mScrollY = y;
+    onScrollChanged(mScrollX, mScrollY, oldX, oldY);
+    invalidate();
+  }
+
+  public void scrollBy(int x, int y) {
+    scrollTo(mScrollX + x, mScrollY + y);
+  }
+
+  protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+  }
+
+  public void invalidate() {
+    if (mAttachInfo != null)
+      mAttachInfo.mViewRootImpl.invalidate();
+  }
+
+  public void postInvalidate() {
+    invalidate();
+  }
+
+  /**
+   * Invalidates parent, used when view is changed so it draws in other bounds.
+   */
+  private void invalidateParent() {
+    if (mParent instanceof View)
+      ((View) mParent).invalidate();
+    else
+      invalidate();
+  }
+
+  public boolean post(Runnable action) {
+    if (mAttachInfo != null) {
+      mAttachInfo.mRunQueue.add(action);
+      return true;
+    }
+
+    if (mPendingRunQueue == null)
+      mPendingRunQueue = new ArrayList<Runnable>();
+    mPendingRunQueue.add(action);
+    return true;
+  }
+
+  public boolean removeCallbacks(Runnable action) {
+    if (action == null)
+      return true;
+
+    if (mAttachInfo != null) {
+      final ArrayList<Runnable> queue = mAttachInfo.mRunQueue;
+      while (queue.remove(action)) {
+      }
+    }
+    if (mPendingRunQueue != null) {
+      while (mPendingRunQueue.remove(action)) {
+      }
+    }
+    return true;
+  }
+
+  public ViewTreeObserver getViewTreeObserver() {
+    if (mAttachInfo != null)
+      return mAttachInfo.mTreeObserver;
+
+    if (mFloatingTreeObserver == null)
+      mFloatingTreeObserver = new ViewTreeObserver();
+    return mFloatingTreeObserver;
+  }
+
+  void dispatchAttachedToWindow(AttachInfo info) {
+    mAttachInfo = info;
+    if (mFloatingTreeObserver != null) {
+      info.mTreeObserver.merge(mFloatingTreeObserver);
+      mFloatingTreeObserver = null;
+    }
+    if (mPendingRunQueue != null) {
+      for (int i=0; i<mPendingRunQueue.size(); ++i)
+        info.mRunQueue.add(mPendingRunQueue.get(i));
+      mPendingRunQueue = null;
+    }
+    onAttachedToWindow();
+  }
+
+  void dispatchDetachedFromWindow() {
+    onDetachedFromWindow();
+    mAttachInfo = null;
+  }
+
+  protected void onAttachedToWindow() {
+  }
+
+  protected void onDetachedFromWindow() {
+  }
+
+  public boolean isHardwareAccelerated() {
+    return mAttachInfo != null && mAttachInfo.mHardwareAccelerated;
+  }
+
+  public long getDrawingTime() {
+    return mAttachInfo != null ? mAttachInfo.mDrawingTime : 0;
+  }
+
+  public float getTranslationX() {
+    return mTranslationX;
+  }
+
+  public void setTranslationX(float translationX) {
+    if (mTranslationX == translationX)
+      return;
+
+    mTranslationX = translationX;
+    onPropertyChanged();
+  }
+
+  public float getTranslationY() {
+    return mTranslationY;
+  }
+
+  public void setTranslationY(float translationY) {
+    if (mTranslationY == translationY)
+      return;
+
+    mTranslationY = translationY;
+    onPropertyChanged();
+  }
+
+  public float getRotation() {
+    return mRotation;
+  }
+
+  public void setRotation(float rotation) {
+    if (mRotation == rotation)
+      return;
+
+    mRotation = rotation;
+    onPropertyChanged();
+  }
+
+  public float getScaleX() {
+    return mScaleX;
+  }
+
+  public void setScaleX(float scaleX) {
+    if (mScaleX == scaleX)
+      return;
+
+    mScaleX = scaleX;
+    onPropertyChanged();
+  }
+
+  public float getScaleY() {
+    return mScaleY;
+  }
+
+  public void setScaleY(float scaleY) {
+    if (mScaleY == scaleY)
+      return;
+
+    mScaleY = scaleY;
+    onPropertyChanged();
+  }
+
+  /**
+   * Returns pivot of rotation and scale. It is the center of view unless it was set.
+   */
+  public float getPivotX() {
+    return isPivotExplicitlySet ? mPivotX : getWidth() / 2f;
+  }
+
+  public void setPivotX(float pivotX) {
+    isPivotExplicitlySet = true;
+    if (mPivotX == pivotX)
+      return;
+
+    mPivotX = pivotX;
+    onPropertyChanged();
+  }
+
+  public float getPivotY() {
+    return isPivotExplicitlySet ? mPivotY : getHeight() / 2f;
+  }
+
+  public void setPivotY(float pivotY) {
+    isPivotExplicitlySet = true;
+    if (mPivotY == pivotY)
+      return;
+
+    mPivotY = pivotY;
+    onPropertyChanged();
+  }
+
+  public float getAlpha() {
+    return mAlpha;
+  }
+
+  public void setAlpha(float alpha) {
+    if (mAlpha == alpha)
+      return;
+
+    mAlpha = alpha;
+    invalidateParent();
+  }
+
+  /**
+   * Returns matrix of render properties: scale and rotation around pivot, then translation.
+   * @return matrix owned by view.
+   */
+  public Matrix getMatrix() {
+    if (isMatrixDirty) {
+      isMatrixDirty = false;
+      final Matrix m = mMatrix;
+      final float pivotX = getPivotX();
+      final float pivotY = getPivotY();
+      m.reset();
+      m.postScale(mScaleX, mScaleY, pivotX, pivotY);
+      m.postRotate(mRotation, pivotX, pivotY);
+      m.postTranslate(mTranslationX, mTranslationY);
+    }
+    return mMatrix;
+  }
+
+  private void onPropertyChanged() {
+    isMatrixDirty = true;
+    invalidateParent();
+  }
+
+  public boolean hasOverlappingRendering() {
+    return true;
+  }
+
+  public void setLayerType(int layerType, Paint paint) {
+    if (layerType < LAYER_TYPE_NONE || layerType > LAYER_TYPE_HARDWARE)
+      throw new IllegalArgumentException("Layer type can only be one of: LAYER_TYPE_NONE, "
+          + "LAYER_TYPE_SOFTWARE or LAYER_TYPE_HARDWARE");
+
+    mLayerType = layerType;
+    mLayerPaint = layerType == LAYER_TYPE_NONE ? null : paint;
+    invalidateParent();
+  }
+
+  public int getLayerType() {
+    return mLayerType;
+  }
+
+  public void setLayerPaint(Paint paint) {
+    if (mLayerType == LAYER_TYPE_NONE)
+      return;
+
+    mLayerPaint = paint;
+    invalidateParent();
+  }
+
+  /**
+   * Returns paint layer of view is composed with. Not available on Android.
+   * @return
+   */
+  public Paint getLayerPaint() {
+    return mLayerPaint;
+  }
+
+  public boolean dispatchTouchEvent(MotionEvent event) {
+    return onTouchEvent(event);
+  }
+
+  public boolean onTouchEvent(MotionEvent event) {
+    return false;
+  }
+
+  public void draw(Canvas canvas) {
+    onDraw(canvas);
+    dispatchDraw(canvas);
+  }
+
+  protected void onDraw(Canvas canvas) {
+  }
+
+  protected void dispatchDraw(Canvas canvas) {
+  }
+
+  /**
+   * Draws view into canvas of parent: moves canvas to position of view, applies render
+   * properties and draws view. Alpha is applied through layer if view has no layer
+   * of its own and isn't drawn by hardware.
+   */
+  boolean draw(Canvas canvas, ViewGroup parent, long drawingTime) {
+    if (mVisibility != VISIBLE || mAlpha <= 0f)
+      return false;
+
+    final int saveCount = canvas.save();
+    canvas.translate(mLeft, mTop);
+    final Matrix matrix = getMatrix();
+    if (!matrix.isIdentity())
+      canvas.concat(matrix);
+    if (mAlpha < 1f && mLayerType == LAYER_TYPE_NONE && !isHardwareAccelerated())
+      canvas.saveLayerAlpha(0, 0, getWidth(), getHeight(), (int) (255 * mAlpha), Canvas.HAS_ALPHA_LAYER_SAVE_FLAG);
+    if (mLayerType != LAYER_TYPE_NONE)
+      canvas.saveLayer(0, 0, getWidth(), getHeight(), mLayerPaint, Canvas.HAS_ALPHA_LAYER_SAVE_FLAG);
+    canvas.translate(-mScrollX, -mScrollY);
+    draw(canvas);
+    canvas.restoreToCount(saveCount);
+    return false;
+  }
+
+  protected Parcelable onSaveInstanceState() {
+    return AbsSavedState.EMPTY_STATE;
+  }
+
+  protected void onRestoreInstanceState(Parcelable state) {
+    if (state != null && !(state instanceof AbsSavedState))
+      throw new IllegalArgumentException("Wrong state class, expecting View State but received "
+          + state.getClass().toString() + " instead.");
+  }
+}
@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+import android.content.Context;
+
+/**
+ * JVM stand-in for Android view configuration of medium density display.
+ * @author steven
+ *
+ */
+public class ViewConfiguration {
+  private static final int TOUCH_SLOP = 8;
+  private static final int MINIMUM_FLING_VELOCITY = 50;
+  private static final int MAXIMUM_FLING_VELOCITY = 8000;
+
+  private static final ViewConfiguration sConfiguration = new ViewConfiguration();
+
+  private ViewConfiguration() {
+  }
+
+  public static ViewConfiguration get(Context context) {
+    return sConfiguration;
+  }
+
+  public int getScaledTouchSlop() {
+    return TOUCH_SLOP;
+  }
+
+  public int getScaledMinimumFlingVelocity() {
+    return MINIMUM_FLING_VELOCITY;
+  }
+
+  public int getScaledMaximumFlingVelocity() {
+    return MAXIMUM_FLING_VELOCITY;
+  }
+}
@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+import java.util.ArrayList;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.util.AttributeSet;
+
+/**
+ * JVM stand-in for Android view group. Touch events are dispatched like on Android:
+ * interception is asked for down event and while child handles gesture, child handling
+ * down event receives following ones, and group handles them itself otherwise. Hit test
+ * of children accounts for their translation only.
+ * @author steven
+ *
+ */
+public abstract class ViewGroup extends View implements ViewParent {
+
+  public static class LayoutParams {
+    public static final int FILL_PARENT = -1;
+    public static final int MATCH_PARENT = -1;
+    public static final int WRAP_CONTENT = -2;
+
+    public int width;
+    public int height;
+
+    public LayoutParams(int width, int height) {
+      this.width = width;
+      this.height = height;
+    }
+
+    public LayoutParams(LayoutParams source) {
+      this.width = source.width;
+      this.height = source.height;
+    }
+  }
+
+  private final ArrayList<View> mChildren = new ArrayList<View>();
+  /**
+   * Child which handles current gesture, null if group handles it itself or there is no gesture.
+   */
+  private View mTouchTarget;
+  private boolean isClipChildren = true;
+  private boolean isClipToPadding = true;
+
+  public ViewGroup(Context context) {
+    super(context);
+  }
+
+  public ViewGroup(Context context, AttributeSet attrs) {
+    super(context, attrs);
+  }
+
+  public ViewGroup(Context context, AttributeSet attrs, int defStyle) {
+    super(context, attrs, defStyle);
+  }
+
+  public void setClipChildren(boolean clipChildren) {
+    isClipChildren = clipChildren;
+    invalidate();
+  }
+
+  public boolean getClipChildren() {
+    return isClipChildren;
+  }
+
+  public void setClipToPadding(boolean clipToPadding) {
+    isClipToPadding = clipToPadding;
+    invalidate();
+  }
+
+  public int getChildCount() {
+    return mChildren.size();
+  }
+
+  public View getChildAt(int index) {
+    if (index < 0 || index >= mChildren.size())
+      return null;
+    return mChildren.get(index);
+  }
+
+  public int indexOfChild(View child) {
+    return mChildren.indexOf(child);
+  }
+
+  public void addView(View child) {
+    addView(child, -1);
+  }
+
+  public void addView(View child, int index) {
+    LayoutParams params = child.getLayoutParams();
+    if (params == null)
+      params = generateDefaultLayoutParams();
+    addView(child, index, params);
+  }
+
+  public void addView(View child, LayoutParams params) {
+    addView(child, -1, params);
+  }
+
+  public void addView(View child, int index, LayoutParams params) {
+    if (child.getParent() != null)
+      throw new IllegalStateException("The specified child already has a parent. "
+          + "You must call removeView() on the child's parent first.");
+
+    child.setLayoutParams(params);
+    if (index < 0)
+      mChildren.add(child);
+    else
+      mChildren.add(index, child);
+    child.mParent = this;
+    if (mAttachInfo != null)
+      child.dispatchAttachedToWindow(mAttachInfo);
+
+    requestLayout();
+    invalidate();
+  }
+
+  public void removeView(View view) {
+    final int index = mChildren.indexOf(view);
+    if (index >= 0)
+      removeViewAt(index);
+  }
+
+  public void removeViewAt(int index) {
+    final View child = mChildren.remove(index);
+    detachChild(child);
+    requestLayout();
+    invalidate();
+  }
+
+  public void removeAllViews() {
+    for (int i=mChildren.size() - 1; i>=0; --i)
+      detachChild(mChildren.remove(i));
+    requestLayout();
+    invalidate();
+  }
+
+  private void detachChild(View child) {
+    if (child == mTouchTarget)
+      mTouchTarget = null;
+    if (mAttachInfo != null)
+      child.dispatchDetachedFromWindow();
+    child.mParent = null;
+  }
+
+  protected LayoutParams generateDefaultLayoutParams() {
+    return new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+  }
+
+  /**
+   * Returns measure spec of child the same way Android does, padding is not supported.
+   */
+  public static int getChildMeasureSpec(int spec, int padding, int childDimension) {
+    final int specMode = MeasureSpec.getMode(spec);
+    final int size = Math.max(0, MeasureSpec.getSize(spec) - padding);
+
+    if (childDimension >= 0)
+      return MeasureSpec.makeMeasureSpec(childDimension, MeasureSpec.EXACTLY);
+
+    if (childDimension == LayoutParams.MATCH_PARENT) {
+      if (specMode == MeasureSpec.UNSPECIFIED)
+        return MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+      return MeasureSpec.makeMeasureSpec(size, specMode);
+    }
+
+    // wrap content
+    if (specMode == MeasureSpec.UNSPECIFIED)
+      return MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+    return MeasureSpec.makeMeasureSpec(size, MeasureSpec.AT_MOST);
+  }
+
+  @Override
+  public final void layout(int l, int t, int r, int b) {
+    super.layout(l, t, r, b);
+  }
+
+  @Override
+  protected abstract void onLayout(boolean changed, int l, int t, int r, int b);
+
+  @Override
+  void dispatchAttachedToWindow(AttachInfo info) {
+    super.dispatchAttachedToWindow(info);
+    for (int i=0; i<mChildren.size(); ++i)
+      mChildren.get(i).dispatchAttachedToWindow(info);
+  }
+
+  @Override
+  void dispatchDetachedFromWindow() {
+    for (int i=0; i<mChildren.size(); ++i)
+      mChildren.get(i).dispatchDetachedFromWindow();
+    super.dispatchDetachedFromWindow();
+  }
+
+  public boolean onInterceptTouchEvent(MotionEvent ev) {
+    return false;
+  }
+
+  @Override
+  public boolean dispatchTouchEvent(MotionEvent ev) {
+    final int action = ev.getActionMasked();
+    if (action == MotionEvent.ACTION_DOWN) {
+      // new gesture, previous one could end without up event
+      if (mTouchTarget != null)
+        cancelTouchTarget(ev);
+    }
+
+    final boolean intercepted;
+    if (action == MotionEvent.ACTION_DOWN || mTouchTarget != null)
+      intercepted = onInterceptTouchEvent(ev);
+    else
+      // there is no child to intercept gesture from
+      intercepted = true;
+
+    boolean handled;
+    if (!intercepted && action == MotionEvent.ACTION_DOWN) {
+      final float x = ev.getX();
+      final float y = ev.getY();
+      for (int i=mChildren.size() - 1; i>=0; --i) {
+        final View child = mChildren.get(i);
+        if (child.getVisibility() != VISIBLE || !isPointInChild(x, y, child))
+          continue;
+
+        if (dispatchTransformedTouchEvent(ev, child)) {
+          mTouchTarget = child;
+          break;
+        }
+      }
+    }
+
+    if (mTouchTarget == null) {
+      handled = super.dispatchTouchEvent(ev);
+    } else if (intercepted) {
+      // group takes over the gesture, child gets cancel instead of this event
+      cancelTouchTarget(ev);
+      handled = true;
+    } else if (action == MotionEvent.ACTION_DOWN) {
+      handled = true;
+    } else {
+      handled = dispatchTransformedTouchEvent(ev, mTouchTarget);
+    }
+
+    if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL)
+      mTouchTarget = null;
+    return handled;
+  }
+
+  private void cancelTouchTarget(MotionEvent ev) {
+    final int action = ev.getAction();
+    ev.setAction(MotionEvent.ACTION_CANCEL);
+    dispatchTransformedTouchEvent(ev, mTouchTarget);
+    ev.setAction(action);
+    mTouchTarget = null;
+  }
+
+  private boolean isPointInChild(float x, float y, View child) {
+    final float localX = x + mScrollX - child.mLeft - child.getTranslationX();
+    final float localY = y + mScrollY - child.mTop - child.getTranslationY();
+    return localX >= 0 && localY >= 0 && localX < child.getWidth() && localY < child.getHeight();
+  }
+
+  /**
+   * Passes event to child in its coordinates. Event is restored once child handles it.
+   */
+  private boolean dispatchTransformedTouchEvent(MotionEvent ev, View child) {
+    final float offsetX = mScrollX - child.mLeft - child.getTranslationX();
+    final float offsetY = mScrollY - child.mTop - child.getTranslationY();
+    ev.offsetLocation(offsetX, offsetY);
+    final boolean handled = child.dispatchTouchEvent(ev);
+    ev.offsetLocation(-offsetX, -offsetY);
+    return handled;
+  }
+
+  @Override
+  protected void dispatchDraw(Canvas canvas) {
+    final long drawingTime = getDrawingTime();
+    final int count = mChildren.size();
+    for (int i=0; i<count; ++i)
+      drawChild(canvas, mChildren.get(i), drawingTime);
+  }
+
+  protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+    return child.draw(canvas, this, drawingTime);
+  }
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+import java.util.ArrayList;
+
+import android.graphics.Canvas;
+
+/**
+ * JVM stand-in for Android root of view hierarchy attached to window. Window has fixed size,
+ * its frames are run by {@link #doFrame(long)} or traversals alone by {@link #performTraversals()}.
+ * Traversal runs posted runnables, lays hierarchy out if it was requested, dispatches pre-draw
+ * listeners and draws hierarchy into {@link Canvas} if it was invalidated.
+ * @author steven
+ *
+ */
+public final class ViewRootImpl implements ViewParent {
+  private final View mView;
+  private final int mWidth;
+  private final int mHeight;
+  private final View.AttachInfo mAttachInfo;
+  private final Canvas mCanvas = new Canvas();
+  /**
+   * Runnables are moved to this list while running, so runnables posted by them are run next traversal.
+   */
+  private final ArrayList<Runnable> mRunning = new ArrayList<Runnable>();
+  private boolean isLayoutRequested = true;
+  private boolean isInvalidated = true;
+  private int mDrawCount = 0;
+
+  /**
+   * Attaches view to new window and runs first traversal.
+   * @param view - root view of hierarchy.
+   * @param width - width of window in pixels.
+   * @param height - height of window in pixels.
+   * @param hardwareAccelerated - whether hierarchy is drawn by hardware.
+   */
+  public ViewRootImpl(View view, int width, int height, boolean hardwareAccelerated) {
+    if (view.getParent() != null)
+      throw new IllegalStateException("View is already attached");
+
+    mView = view;
+    mWidth = width;
+    mHeight = height;
+    mAttachInfo = new View.AttachInfo(this, hardwareAccelerated);
+    view.mParent = this;
+    view.dispatchAttachedToWindow(mAttachInfo);
+    performTraversals();
+  }
+
+  public View getView() {
+    return mView;
+  }
+
+  /**
+   * Returns canvas hierarchy is drawn into.
+   */
+  public Canvas getCanvas() {
+    return mCanvas;
+  }
+
+  /**
+   * Returns count of drawing passes done.
+   */
+  public int getDrawCount() {
+    return mDrawCount;
+  }
+
+  @Override
+  public void requestLayout() {
+    isLayoutRequested = true;
+  }
+
+  @Override
+  public boolean isLayoutRequested() {
+    return isLayoutRequested;
+  }
+
+  @Override
+  public ViewParent getParent() {
+    return null;
+  }
+
+  void invalidate() {
+    isInvalidated = true;
+  }
+
+  /**
+   * Runs display frame: choreographer callbacks first, then traversal.
+   * @param frameTimeNanos - time of frame in nanoseconds.
+   */
+  public void doFrame(long frameTimeNanos) {
+    mAttachInfo.mDrawingTime = frameTimeNanos / 1000000;
+    Choreographer.getInstance().doFrame(frameTimeNanos);
+    performTraversals();
+  }
+
+  public void performTraversals() {
+    if (mView.mAttachInfo != mAttachInfo)
+      throw new IllegalStateException("View is detached");
+
+    final ArrayList<Runnable> queue = mAttachInfo.mRunQueue;
+    final int count = queue.size();
+    if (count > 0) {
+      for (int i=0; i<count; ++i)
+        mRunning.add(queue.get(i));
+      queue.clear();
+      for (int i=0; i<count; ++i)
+        mRunning.get(i).run();
+      mRunning.clear();
+    }
+
+    if (isLayoutRequested || mView.isLayoutRequested()) {
+      isLayoutRequested = false;
+      mView.measure(View.MeasureSpec.makeMeasureSpec(mWidth, View.MeasureSpec.EXACTLY),
+          View.MeasureSpec.makeMeasureSpec(mHeight, View.MeasureSpec.EXACTLY));
+      mView.layout(0, 0, mView.getMeasuredWidth(), mView.getMeasuredHeight());
+    }
+
+    // drawing pass is skipped if it is canceled, hierarchy stays invalidated for next traversal
+    if (mAttachInfo.mTreeObserver.dispatchOnPreDraw() || !isInvalidated)
+      return;
+
+    isInvalidated = false;
+    ++mDrawCount;
+    mView.draw(mCanvas, null, mAttachInfo.mDrawingTime);
+  }
+
+  /**
+   * Detaches view from window.
+   */
+  public void detach() {
+    mView.dispatchDetachedFromWindow();
+    mView.mParent = null;
+  }
+}
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view;
+
+import java.util.ArrayList;
+
+/**
+ * JVM stand-in for Android observer of view hierarchy. Only pre-draw listeners are supported,
+ * they are dispatched by {@link ViewRootImpl} before every drawing pass.
+ * @author steven
+ *
+ */
+public final class ViewTreeObserver {
+  public interface OnPreDrawListener {
+    /**
+     * Called before drawing pass.
+     * @return true to proceed with drawing, false to cancel it.
+     */
+    public boolean onPreDraw();
+  }
+
+  private final ArrayList<OnPreDrawListener> mOnPreDrawListeners = new ArrayList<OnPreDrawListener>();
+  /**
+   * Listeners are copied to this list while dispatching, so they can be removed from callbacks.
+   */
+  private final ArrayList<OnPreDrawListener> mDispatching = new ArrayList<OnPreDrawListener>();
+  private boolean isAlive = true;
+
+  ViewTreeObserver() {
+  }
+
+  public void addOnPreDrawListener(OnPreDrawListener listener) {
+    checkIsAlive();
+    mOnPreDrawListeners.add(listener);
+  }
+
+  public void removeOnPreDrawListener(OnPreDrawListener victim) {
+    checkIsAlive();
+    mOnPreDrawListeners.remove(victim);
+  }
+
+  public boolean isAlive() {
+    return isAlive;
+  }
+
+  /**
+   * Notifies listeners that drawing pass is about to start.
+   * @return true if drawing should be canceled.
+   */
+  public final boolean dispatchOnPreDraw() {
+    final ArrayList<OnPreDrawListener> listeners = mDispatching;
+    final int count = mOnPreDrawListeners.size();
+    // copied by index, addAll() allocates array
+    for (int i=0; i<count; ++i)
+      listeners.add(mOnPreDrawListeners.get(i));
+
+    boolean cancelDraw = false;
+    for (int i=0; i<count; ++i)
+      cancelDraw |= !listeners.get(i).onPreDraw();
+    listeners.clear();
+    return cancelDraw;
+  }
+
+  /**
+   * Moves listeners of given observer to this one. Merged observer is not alive anymore.
+   */
+  void merge(ViewTreeObserver observer) {
+    mOnPreDrawListeners.addAll(observer.mOnPreDrawListeners);
+    observer.kill();
+  }
+
+  void kill() {
+    isAlive = false;
+  }
+
+  private void checkIsAlive() {
+    if (!isAlive)
+      throw new IllegalStateException("This ViewTreeObserver is not alive, call getViewTreeObserver() again");
+  }
+}
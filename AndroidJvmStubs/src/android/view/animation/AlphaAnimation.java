@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view.animation;
+
+/**
+ * JVM stand-in for Android alpha animation.
+ * @author steven
+ *
+ */
+public class AlphaAnimation extends Animation {
+  private final float mFromAlpha;
+  private final float mToAlpha;
+
+  public AlphaAnimation(float fromAlpha, float toAlpha) {
+    mFromAlpha = fromAlpha;
+    mToAlpha = toAlpha;
+  }
+
+  @Override
+  protected void applyTransformation(float interpolatedTime, Transformation t) {
+    t.setAlpha(mFromAlpha + (mToAlpha - mFromAlpha) * interpolatedTime);
+  }
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view.animation;
+
+/**
+ * JVM stand-in for Android animation. Timing and transformations follow Android ones,
+ * except that animation without interpolator is linear and fill modes are not supported:
+ * transformation is clamped to start and end of animation.
+ * @author steven
+ *
+ */
+public abstract class Animation implements Cloneable {
+  public static final int START_ON_FIRST_FRAME = -1;
+
+  public static final int ABSOLUTE = 0;
+  public static final int RELATIVE_TO_SELF = 1;
+  public static final int RELATIVE_TO_PARENT = 2;
+
+  long mStartTime = START_ON_FIRST_FRAME;
+  long mStartOffset;
+  long mDuration;
+  Interpolator mInterpolator;
+  private boolean isInitialized = false;
+
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    isInitialized = true;
+  }
+
+  public boolean isInitialized() {
+    return isInitialized;
+  }
+
+  public long getStartTime() {
+    return mStartTime;
+  }
+
+  public void setStartTime(long startTimeMillis) {
+    mStartTime = startTimeMillis;
+  }
+
+  public long getStartOffset() {
+    return mStartOffset;
+  }
+
+  public void setStartOffset(long startOffset) {
+    mStartOffset = startOffset;
+  }
+
+  public long getDuration() {
+    return mDuration;
+  }
+
+  public void setDuration(long durationMillis) {
+    if (durationMillis < 0)
+      throw new IllegalArgumentException("Animation duration cannot be negative");
+    mDuration = durationMillis;
+  }
+
+  public Interpolator getInterpolator() {
+    return mInterpolator;
+  }
+
+  public void setInterpolator(Interpolator interpolator) {
+    mInterpolator = interpolator;
+  }
+
+  public long computeDurationHint() {
+    return getStartOffset() + getDuration();
+  }
+
+  /**
+   * Computes transformation at given time. Start time is set to given time on first call.
+   * @return true if animation is still running, false if it is finished.
+   */
+  public boolean getTransformation(long currentTime, Transformation outTransformation) {
+    if (mStartTime == START_ON_FIRST_FRAME)
+      mStartTime = currentTime;
+
+    final long startTime = mStartTime + mStartOffset;
+    float normalizedTime;
+    if (mDuration != 0)
+      normalizedTime = (float) (currentTime - startTime) / (float) mDuration;
+    else
+      normalizedTime = currentTime < startTime ? 0f : 1f;
+
+    final boolean expired = normalizedTime >= 1f;
+    normalizedTime = Math.max(Math.min(normalizedTime, 1f), 0f);
+
+    final float interpolatedTime = mInterpolator != null ? mInterpolator.getInterpolation(normalizedTime) : normalizedTime;
+    applyTransformation(interpolatedTime, outTransformation);
+    return !expired;
+  }
+
+  protected void applyTransformation(float interpolatedTime, Transformation t) {
+  }
+
+  protected float resolveSize(int type, float value, int size, int parentSize) {
+    switch (type) {
+    case RELATIVE_TO_SELF:
+      return size * value;
+    case RELATIVE_TO_PARENT:
+      return parentSize * value;
+    default:
+      return value;
+    }
+  }
+
+  @Override
+  protected Animation clone() throws CloneNotSupportedException {
+    return (Animation) super.clone();
+  }
+}
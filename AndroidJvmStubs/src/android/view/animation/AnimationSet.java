@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view.animation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JVM stand-in for Android set of animations run together. Duration, start offset and
+ * shared interpolator of set are passed to children while initializing, like Android does.
+ * @author steven
+ *
+ */
+public class AnimationSet extends Animation {
+  private final boolean isShareInterpolator;
+  private ArrayList<Animation> mAnimations = new ArrayList<Animation>();
+  private final Transformation mTempTransformation = new Transformation();
+
+  public AnimationSet(boolean shareInterpolator) {
+    isShareInterpolator = shareInterpolator;
+  }
+
+  public void addAnimation(Animation a) {
+    mAnimations.add(a);
+  }
+
+  public List<Animation> getAnimations() {
+    return mAnimations;
+  }
+
+  @Override
+  public void setStartTime(long startTimeMillis) {
+    super.setStartTime(startTimeMillis);
+    final int count = mAnimations.size();
+    for (int i=0; i<count; ++i)
+      mAnimations.get(i).setStartTime(startTimeMillis);
+  }
+
+  @Override
+  public long getDuration() {
+    if (mDuration > 0)
+      return mDuration;
+
+    long duration = 0;
+    final int count = mAnimations.size();
+    for (int i=0; i<count; ++i)
+      duration = Math.max(duration, mAnimations.get(i).getDuration());
+    return duration;
+  }
+
+  @Override
+  public long computeDurationHint() {
+    long duration = 0;
+    final int count = mAnimations.size();
+    for (int i=0; i<count; ++i)
+      duration = Math.max(duration, mAnimations.get(i).computeDurationHint());
+    return duration;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    super.initialize(width, height, parentWidth, parentHeight);
+
+    final int count = mAnimations.size();
+    for (int i=0; i<count; ++i) {
+      final Animation a = mAnimations.get(i);
+      if (mDuration > 0)
+        a.setDuration(mDuration);
+      if (mStartOffset > 0)
+        a.setStartOffset(mStartOffset);
+      if (isShareInterpolator && mInterpolator != null)
+        a.setInterpolator(mInterpolator);
+      a.initialize(width, height, parentWidth, parentHeight);
+    }
+  }
+
+  @Override
+  public boolean getTransformation(long currentTime, Transformation t) {
+    if (mStartTime == START_ON_FIRST_FRAME)
+      setStartTime(currentTime);
+
+    final Transformation temp = mTempTransformation;
+    boolean more = false;
+    t.clear();
+    for (int i=mAnimations.size() - 1; i>=0; --i) {
+      temp.clear();
+      more |= mAnimations.get(i).getTransformation(currentTime, temp);
+      t.compose(temp);
+    }
+    return more;
+  }
+
+  @Override
+  protected AnimationSet clone() throws CloneNotSupportedException {
+    final AnimationSet set = (AnimationSet) super.clone();
+    set.mAnimations = new ArrayList<Animation>();
+    final int count = mAnimations.size();
+    for (int i=0; i<count; ++i)
+      set.mAnimations.add(mAnimations.get(i).clone());
+    return set;
+  }
+}
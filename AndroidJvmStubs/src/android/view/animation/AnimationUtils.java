@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view.animation;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+/**
+ * JVM stand-in for Android animation utilities. Animation resources are not available on JVM,
+ * so nothing can be loaded.
+ * @author steven
+ *
+ */
+public class AnimationUtils {
+
+  public static long currentAnimationTimeMillis() {
+    return System.nanoTime() / 1000000;
+  }
+
+  public static Animation loadAnimation(Context context, int id) throws Resources.NotFoundException {
+    throw new Resources.NotFoundException("Animation resources can't be loaded on JVM: 0x" + Integer.toHexString(id));
+  }
+
+  public static Interpolator loadInterpolator(Context context, int id) throws Resources.NotFoundException {
+    throw new Resources.NotFoundException("Interpolator resources can't be loaded on JVM: 0x" + Integer.toHexString(id));
+  }
+}
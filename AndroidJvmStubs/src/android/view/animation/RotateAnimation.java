@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view.animation;
+
+/**
+ * JVM stand-in for Android rotate animation.
+ * @author steven
+ *
+ */
+public class RotateAnimation extends Animation {
+  private final float mFromDegrees;
+  private final float mToDegrees;
+
+  private final int mPivotXType;
+  private final float mPivotXValue;
+  private final int mPivotYType;
+  private final float mPivotYValue;
+
+  private float mPivotX;
+  private float mPivotY;
+
+  public RotateAnimation(float fromDegrees, float toDegrees) {
+    this(fromDegrees, toDegrees, ABSOLUTE, 0f, ABSOLUTE, 0f);
+  }
+
+  public RotateAnimation(float fromDegrees, float toDegrees, float pivotX, float pivotY) {
+    this(fromDegrees, toDegrees, ABSOLUTE, pivotX, ABSOLUTE, pivotY);
+  }
+
+  public RotateAnimation(float fromDegrees, float toDegrees, int pivotXType, float pivotXValue,
+      int pivotYType, float pivotYValue) {
+    mFromDegrees = fromDegrees;
+    mToDegrees = toDegrees;
+    mPivotXType = pivotXType;
+    mPivotXValue = pivotXValue;
+    mPivotYType = pivotYType;
+    mPivotYValue = pivotYValue;
+
+    mPivotX = pivotXValue;
+    mPivotY = pivotYValue;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    super.initialize(width, height, parentWidth, parentHeight);
+    mPivotX = resolveSize(mPivotXType, mPivotXValue, width, parentWidth);
+    mPivotY = resolveSize(mPivotYType, mPivotYValue, height, parentHeight);
+  }
+
+  @Override
+  protected void applyTransformation(float interpolatedTime, Transformation t) {
+    final float degrees = mFromDegrees + (mToDegrees - mFromDegrees) * interpolatedTime;
+    if (mPivotX == 0f && mPivotY == 0f)
+      t.getMatrix().setRotate(degrees);
+    else
+      t.getMatrix().setRotate(degrees, mPivotX, mPivotY);
+  }
+}
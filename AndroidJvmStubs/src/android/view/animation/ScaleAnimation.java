@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view.animation;
+
+/**
+ * JVM stand-in for Android scale animation.
+ * @author steven
+ *
+ */
+public class ScaleAnimation extends Animation {
+  private final float mFromX;
+  private final float mToX;
+  private final float mFromY;
+  private final float mToY;
+
+  private final int mPivotXType;
+  private final float mPivotXValue;
+  private final int mPivotYType;
+  private final float mPivotYValue;
+
+  private float mPivotX;
+  private float mPivotY;
+
+  public ScaleAnimation(float fromX, float toX, float fromY, float toY) {
+    this(fromX, toX, fromY, toY, ABSOLUTE, 0f, ABSOLUTE, 0f);
+  }
+
+  public ScaleAnimation(float fromX, float toX, float fromY, float toY, float pivotX, float pivotY) {
+    this(fromX, toX, fromY, toY, ABSOLUTE, pivotX, ABSOLUTE, pivotY);
+  }
+
+  public ScaleAnimation(float fromX, float toX, float fromY, float toY,
+      int pivotXType, float pivotXValue, int pivotYType, float pivotYValue) {
+    mFromX = fromX;
+    mToX = toX;
+    mFromY = fromY;
+    mToY = toY;
+    mPivotXType = pivotXType;
+    mPivotXValue = pivotXValue;
+    mPivotYType = pivotYType;
+    mPivotYValue = pivotYValue;
+
+    mPivotX = pivotXValue;
+    mPivotY = pivotYValue;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    super.initialize(width, height, parentWidth, parentHeight);
+    mPivotX = resolveSize(mPivotXType, mPivotXValue, width, parentWidth);
+    mPivotY = resolveSize(mPivotYType, mPivotYValue, height, parentHeight);
+  }
+
+  @Override
+  protected void applyTransformation(float interpolatedTime, Transformation t) {
+    final float sx = mFromX + (mToX - mFromX) * interpolatedTime;
+    final float sy = mFromY + (mToY - mFromY) * interpolatedTime;
+    if (mPivotX == 0f && mPivotY == 0f)
+      t.getMatrix().setScale(sx, sy);
+    else
+      t.getMatrix().setScale(sx, sy, mPivotX, mPivotY);
+  }
+}
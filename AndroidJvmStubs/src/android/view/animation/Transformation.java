@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view.animation;
+
+import android.graphics.Matrix;
+
+/**
+ * JVM stand-in for Android transformation: matrix and alpha.
+ * @author steven
+ *
+ */
+public class Transformation {
+  protected Matrix mMatrix = new Matrix();
+  protected float mAlpha = 1f;
+
+  public void clear() {
+    mMatrix.reset();
+    mAlpha = 1f;
+  }
+
+  /**
+   * Applies given transformation after this one.
+   */
+  public void compose(Transformation t) {
+    mAlpha *= t.getAlpha();
+    mMatrix.preConcat(t.getMatrix());
+  }
+
+  public Matrix getMatrix() {
+    return mMatrix;
+  }
+
+  public float getAlpha() {
+    return mAlpha;
+  }
+
+  public void setAlpha(float alpha) {
+    mAlpha = alpha;
+  }
+
+  public String toShortString() {
+    return "{alpha=" + mAlpha + " matrix=" + mMatrix.toShortString() + "}";
+  }
+}
@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.view.animation;
+
+/**
+ * JVM stand-in for Android translate animation.
+ * @author steven
+ *
+ */
+public class TranslateAnimation extends Animation {
+  private final int mFromXType;
+  private final float mFromXValue;
+  private final int mToXType;
+  private final float mToXValue;
+  private final int mFromYType;
+  private final float mFromYValue;
+  private final int mToYType;
+  private final float mToYValue;
+
+  private float mFromXDelta;
+  private float mToXDelta;
+  private float mFromYDelta;
+  private float mToYDelta;
+
+  public TranslateAnimation(float fromXDelta, float toXDelta, float fromYDelta, float toYDelta) {
+    this(ABSOLUTE, fromXDelta, ABSOLUTE, toXDelta, ABSOLUTE, fromYDelta, ABSOLUTE, toYDelta);
+  }
+
+  public TranslateAnimation(int fromXType, float fromXValue, int toXType, float toXValue,
+      int fromYType, float fromYValue, int toYType, float toYValue) {
+    mFromXType = fromXType;
+    mFromXValue = fromXValue;
+    mToXType = toXType;
+    mToXValue = toXValue;
+    mFromYType = fromYType;
+    mFromYValue = fromYValue;
+    mToYType = toYType;
+    mToYValue = toYValue;
+
+    mFromXDelta = fromXValue;
+    mToXDelta = toXValue;
+    mFromYDelta = fromYValue;
+    mToYDelta = toYValue;
+  }
+
+  @Override
+  public void initialize(int width, int height, int parentWidth, int parentHeight) {
+    super.initialize(width, height, parentWidth, parentHeight);
+    mFromXDelta = resolveSize(mFromXType, mFromXValue, width, parentWidth);
+    mToXDelta = resolveSize(mToXType, mToXValue, width, parentWidth);
+    mFromYDelta = resolveSize(mFromYType, mFromYValue, height, parentHeight);
+    mToYDelta = resolveSize(mToYType, mToYValue, height, parentHeight);
+  }
+
+  @Override
+  protected void applyTransformation(float interpolatedTime, Transformation t) {
+    t.getMatrix().setTranslate(mFromXDelta + (mToXDelta - mFromXDelta) * interpolatedTime,
+        mFromYDelta + (mToYDelta - mFromYDelta) * interpolatedTime);
+  }
+}
@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * JVM stand-in for Android frame layout: every child is put to top-left corner.
+ * Gravity and margins are not supported.
+ * @author steven
+ *
+ */
+public class FrameLayout extends ViewGroup {
+
+  public static class LayoutParams extends ViewGroup.LayoutParams {
+    public LayoutParams(int width, int height) {
+      super(width, height);
+    }
+
+    public LayoutParams(ViewGroup.LayoutParams source) {
+      super(source);
+    }
+  }
+
+  public FrameLayout(Context context) {
+    super(context);
+  }
+
+  public FrameLayout(Context context, AttributeSet attrs) {
+    super(context, attrs);
+  }
+
+  public FrameLayout(Context context, AttributeSet attrs, int defStyle) {
+    super(context, attrs, defStyle);
+  }
+
+  @Override
+  protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    int maxWidth = 0;
+    int maxHeight = 0;
+    final int count = getChildCount();
+    for (int i=0; i<count; ++i) {
+      final View child = getChildAt(i);
+      if (child.getVisibility() == GONE)
+        continue;
+
+      final ViewGroup.LayoutParams lp = child.getLayoutParams();
+      child.measure(getChildMeasureSpec(widthMeasureSpec, 0, lp.width),
+          getChildMeasureSpec(heightMeasureSpec, 0, lp.height));
+      maxWidth = Math.max(maxWidth, child.getMeasuredWidth());
+      maxHeight = Math.max(maxHeight, child.getMeasuredHeight());
+    }
+
+    setMeasuredDimension(resolveSize(maxWidth, widthMeasureSpec), resolveSize(maxHeight, heightMeasureSpec));
+  }
+
+  @Override
+  protected void onLayout(boolean changed, int l, int t, int r, int b) {
+    final int count = getChildCount();
+    for (int i=0; i<count; ++i) {
+      final View child = getChildAt(i);
+      if (child.getVisibility() != GONE)
+        child.layout(0, 0, child.getMeasuredWidth(), child.getMeasuredHeight());
+    }
+  }
+
+  @Override
+  protected ViewGroup.LayoutParams generateDefaultLayoutParams() {
+    return new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
+  }
+}
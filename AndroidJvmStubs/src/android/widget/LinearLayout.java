@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package android.widget;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * JVM stand-in for Android linear layout: children are put one after another in order
+ * they were added. Every child is measured with space left by previous ones.
+ * Weights, gravity and margins are not supported.
+ * @author steven
+ *
+ */
+public class LinearLayout extends ViewGroup {
+  public static final int HORIZONTAL = 0;
+  public static final int VERTICAL = 1;
+
+  public static class LayoutParams extends ViewGroup.LayoutParams {
+    public LayoutParams(int width, int height) {
+      super(width, height);
+    }
+
+    public LayoutParams(ViewGroup.LayoutParams source) {
+      super(source);
+    }
+  }
+
+  private int mOrientation = HORIZONTAL;
+
+  public LinearLayout(Context context) {
+    super(context);
+  }
+
+  public LinearLayout(Context context, AttributeSet attrs) {
+    super(context, attrs);
+  }
+
+  public LinearLayout(Context context, AttributeSet attrs, int defStyle) {
+    super(context, attrs, defStyle);
+  }
+
+  public void setOrientation(int orientation) {
+    if (mOrientation != orientation) {
+      mOrientation = orientation;
+      requestLayout();
+    }
+  }
+
+  public int getOrientation() {
+    return mOrientation;
+  }
+
+  @Override
+  protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    final boolean horizontal = mOrientation == HORIZONTAL;
+    int used = 0;
+    int max = 0;
+    final int count = getChildCount();
+    for (int i=0; i<count; ++i) {
+      final View child = getChildAt(i);
+      if (child.getVisibility() == GONE)
+        continue;
+
+      final ViewGroup.LayoutParams lp = child.getLayoutParams();
+      if (horizontal) {
+        child.measure(getChildMeasureSpec(widthMeasureSpec, used, lp.width),
+            getChildMeasureSpec(heightMeasureSpec, 0, lp.height));
+        used += child.getMeasuredWidth();
+        max = Math.max(max, child.getMeasuredHeight());
+      } else {
+        child.measure(getChildMeasureSpec(widthMeasureSpec, 0, lp.width),
+            getChildMeasureSpec(heightMeasureSpec, used, lp.height));
+        used += child.getMeasuredHeight();
+        max = Math.max(max, child.getMeasuredWidth());
+      }
+    }
+
+    if (horizontal)
+      setMeasuredDimension(resolveSize(used, widthMeasureSpec), resolveSize(max, heightMeasureSpec));
+    else
+      setMeasuredDimension(resolveSize(max, widthMeasureSpec), resolveSize(used, heightMeasureSpec));
+  }
+
+  @Override
+  protected void onLayout(boolean changed, int l, int t, int r, int b) {
+    final boolean horizontal = mOrientation == HORIZONTAL;
+    int offset = 0;
+    final int count = getChildCount();
+    for (int i=0; i<count; ++i) {
+      final View child = getChildAt(i);
+      if (child.getVisibility() == GONE)
+        continue;
+
+      final int width = child.getMeasuredWidth();
+      final int height = child.getMeasuredHeight();
+      if (horizontal) {
+        child.layout(offset, 0, offset + width, height);
+        offset += width;
+      } else {
+        child.layout(0, offset, width, offset + height);
+        offset += height;
+      }
+    }
+  }
+
+  @Override
+  protected ViewGroup.LayoutParams generateDefaultLayoutParams() {
+    if (mOrientation == HORIZONTAL)
+      return new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
+    return new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+  }
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright 2013 Steven Rudenko
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+package shared.ui.actionscontentview;
+
+/**
+ * JVM stand-in for resource ids generated from res/values of library. Resources can't be
+ * resolved on JVM, so views built with these ids get zero defaults and are configured by setters.
+ * @author steven
+ *
+ */
+public final class R {
+  public static final class attr {
+    public static final int spacing_type = 0x7f010000;
+    public static final int spacing = 0x7f010001;
+    public static final int actions_spacing = 0x7f010002;
+    public static final int actions_layout = 0x7f010003;
+    public static final int content_layout = 0x7f010004;
+    public static final int shadow_drawable = 0x7f010005;
+    public static final int shadow_width = 0x7f010006;
+    public static final int fade_type = 0x7f010007;
+    public static final int fade_max_value = 0x7f010008;
+    public static final int fling_duration = 0x7f010009;
+    public static final int settle_type = 0x7f01000a;
+    public static final int layout_freeze = 0x7f01000b;
+    public static final int skip_occluded_actions = 0x7f01000c;
+    public static final int defer_occluded_actions_layout = 0x7f01000d;
+    public static final int swiping_type = 0x7f01000e;
+    public static final int swiping_edge_width = 0x7f01000f;
+    public static final int swiping_enabled = 0x7f010010;
+    public static final int effects = 0x7f010011;
+    public static final int effect_actions = 0x7f010012;
+    public static final int effect_content = 0x7f010013;
+    public static final int effects_interpolator = 0x7f010014;
+    public static final int effects_baked = 0x7f010015;
+    public static final int movement_type = 0x7f010016;
+    public static final int touch_resampling = 0x7f010017;
+  }
+
+  public static final class dimen {
+    public static final int default_actionscontentview_spacing = 0x7f020000;
+    public static final int default_actionscontentview_actions_spacing = 0x7f020001;
+    public static final int default_actionscontentview_swiping_edge_width = 0x7f020002;
+  }
+
+  public static final class integer {
+    public static final int default_actionscontentview_fade_max_value = 0x7f030000;
+    public static final int default_actionscontentview_fling_duration = 0x7f030001;
+  }
+
+  public static final class styleable {
+    public static final int[] ActionsContentView = {
+      attr.spacing_type, attr.spacing, attr.actions_spacing, attr.actions_layout,
+      attr.content_layout, attr.shadow_drawable, attr.shadow_width, attr.fade_type,
+      attr.fade_max_value, attr.fling_duration, attr.settle_type, attr.layout_freeze,
+      attr.skip_occluded_actions, attr.defer_occluded_actions_layout, attr.swiping_type, attr.swiping_edge_width,
+      attr.swiping_enabled, attr.effects, attr.effect_actions, attr.effect_content,
+      attr.effects_interpolator, attr.effects_baked, attr.movement_type, attr.touch_resampling
+    };
+    public static final int ActionsContentView_spacing_type = 0;
+    public static final int ActionsContentView_spacing = 1;
+    public static final int ActionsContentView_actions_spacing = 2;
+    public static final int ActionsContentView_actions_layout = 3;
+    public static final int ActionsContentView_content_layout = 4;
+    public static final int ActionsContentView_shadow_drawable = 5;
+    public static final int ActionsContentView_shadow_width = 6;
+    public static final int ActionsContentView_fade_type = 7;
+    public static final int ActionsContentView_fade_max_value = 8;
+    public static final int ActionsContentView_fling_duration = 9;
+    public static final int ActionsContentView_settle_type = 10;
+    public static final int ActionsContentView_layout_freeze = 11;
+    public static final int ActionsContentView_skip_occluded_actions = 12;
+    public static final int ActionsContentView_defer_occluded_actions_layout = 13;
+    public static final int ActionsContentView_swiping_type = 14;
+    public static final int ActionsContentView_swiping_edge_width = 15;
+    public static final int ActionsContentView_swiping_enabled = 16;
+    public static final int ActionsContentView_effects = 17;
+    public static final int ActionsContentView_effect_actions = 18;
+    public static final int ActionsContentView_effect_content = 19;
+    public static final int ActionsContentView_effects_interpolator = 20;
+    public static final int ActionsContentView_effects_baked = 21;
+    public static final int ActionsContentView_movement_type = 22;
+    public static final int ActionsContentView_touch_resampling = 23;
+  }
+}